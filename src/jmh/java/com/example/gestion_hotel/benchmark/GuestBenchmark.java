@@ -0,0 +1,69 @@
+package com.example.gestion_hotel.benchmark;
+
+import com.example.gestion_hotel.entity.Guest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dhotel.backend=memory", "-Dcache.rooms.refreshSeconds=0"})
+@State(Scope.Thread)
+public class GuestBenchmark {
+    // Mezcla de datos válidos e inválidos, como llegan desde el formulario de alta
+    private static final Guest[] SAMPLES = {
+            new Guest("Ana García", "ana.garcia@correo.example", "+34600123456"),
+            new Guest("Luis Pérez", "luis_perez+reservas@sub.dominio.example", "600123456"),
+            new Guest("Marta Ruiz", "marta.ruiz@sin-dominio", "60012"),
+            new Guest("Jon Etxeberria", "jon etxeberria@correo.example", "+34 600 123 456"),
+    };
+
+    private int next;
+
+    // Los emails no se reutilizan entre iteraciones para no medir el rechazo por duplicado
+    @State(Scope.Thread)
+    public static class CreatedGuests {
+        private final List<Long> ids = new ArrayList<>();
+        private int sequence;
+
+        @TearDown(Level.Iteration)
+        public void removeCreated(HotelFixture hotel) throws Exception {
+            for (Long id : ids) {
+                hotel.guestService.deleteGuest(id);
+            }
+            ids.clear();
+        }
+    }
+
+    @Benchmark
+    public Guest createGuest(HotelFixture hotel, CreatedGuests created) throws Exception {
+        int n = created.sequence++;
+        Guest guest = hotel.guestService.createGuest("Huésped " + n, "bench" + n + "@hotel.example", "600" + (200000 + n));
+        created.ids.add(guest.getId());
+        return guest;
+    }
+
+    @Benchmark
+    public boolean validateEmail() {
+        return SAMPLES[next++ & (SAMPLES.length - 1)].validateEmail();
+    }
+
+    @Benchmark
+    public boolean validatePhone() {
+        return SAMPLES[next++ & (SAMPLES.length - 1)].validatePhone();
+    }
+}
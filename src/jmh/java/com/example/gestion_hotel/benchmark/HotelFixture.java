@@ -0,0 +1,93 @@
+package com.example.gestion_hotel.benchmark;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.service.RoomService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Hotel de prueba sobre el backend en memoria (hotel.backend=memory, que cada benchmark fija
+ * en los argumentos de su fork). Cada habitación tiene "history" reservas activas de dos
+ * noches cada cuatro días, la mitad ya pasadas y la otra mitad futuras.
+ */
+@State(Scope.Benchmark)
+public class HotelFixture {
+    static final int GUESTS = 1000;
+    static final int STAY_SPACING_DAYS = 4;
+
+    @Param({"50", "500"})
+    public int rooms;
+
+    @Param({"0", "20", "200"})
+    public int history;
+
+    GuestService guestService;
+    RoomService roomService;
+    ReservationService reservationService;
+
+    long[] guestIds;
+    long[] roomIds;
+    LocalDate today;
+    // Primer día sin reservas de historial en ninguna habitación
+    LocalDate firstFreeDay;
+
+    @Setup(Level.Trial)
+    public void populate() throws Exception {
+        if (!"memory".equals(System.getProperty("hotel.backend"))) {
+            throw new IllegalStateException("Los benchmarks deben ejecutarse con -Dhotel.backend=memory");
+        }
+        DaoFactory daos = DaoFactory.getInstance();
+        guestService = new GuestService();
+        roomService = new RoomService();
+        reservationService = new ReservationService();
+        today = LocalDate.now();
+
+        List<Guest> guests = new ArrayList<>(GUESTS);
+        for (int i = 0; i < GUESTS; i++) {
+            guests.add(new Guest("Huésped " + i, "huesped" + i + "@hotel.example", "600" + (100000 + i)));
+        }
+        guestIds = daos.guestDao().createAll(guests).stream().mapToLong(Guest::getId).toArray();
+
+        TipoHabitacion[] tipos = TipoHabitacion.values();
+        List<Room> roomList = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            roomList.add(new Room(String.valueOf(100 + i), tipos[i % tipos.length],
+                    BigDecimal.valueOf(50 + (i % 20) * 10L).setScale(2)));
+        }
+        roomIds = daos.roomDao().createAll(roomList).stream().mapToLong(Room::getId).toArray();
+
+        LocalDate firstStay = today.minusDays((long) (history / 2) * STAY_SPACING_DAYS);
+        List<Reservation> reservations = new ArrayList<>();
+        for (int r = 0; r < rooms; r++) {
+            for (int k = 0; k < history; k++) {
+                LocalDate checkIn = firstStay.plusDays((long) k * STAY_SPACING_DAYS);
+                Reservation reservation = new Reservation(guestIds[(r * history + k) % GUESTS], roomIds[r],
+                        checkIn, checkIn.plusDays(2), 1);
+                reservation.setMontoTotal(roomList.get(r).getPrecioPorNoche().multiply(BigDecimal.valueOf(2)));
+                reservations.add(reservation);
+            }
+        }
+        daos.reservationDao().createAll(reservations);
+        firstFreeDay = firstStay.plusDays((long) history * STAY_SPACING_DAYS);
+        if (firstFreeDay.isBefore(today)) {
+            firstFreeDay = today;
+        }
+
+        // Cargar cachés e índices fuera de la medición
+        roomService.findAvailableRooms(today, today.plusDays(1), 1);
+    }
+}
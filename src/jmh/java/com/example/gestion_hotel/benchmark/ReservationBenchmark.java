@@ -0,0 +1,57 @@
+package com.example.gestion_hotel.benchmark;
+
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.entity.Reservation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cada iteración reserva huecos libres nuevos y al terminar los borra, así el historial no crece
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dhotel.backend=memory", "-Dcache.rooms.refreshSeconds=0"})
+@State(Scope.Thread)
+public class ReservationBenchmark {
+    private final List<Long> created = new ArrayList<>();
+    private int next;
+
+    @Benchmark
+    public Reservation createReservation(HotelFixture hotel) throws Exception {
+        int i = next++;
+        int room = i % hotel.roomIds.length;
+        LocalDate checkIn = hotel.firstFreeDay.plusDays(1 + (long) (i / hotel.roomIds.length) * 3);
+        Reservation reservation = hotel.reservationService.createReservation(
+                hotel.guestIds[i % hotel.guestIds.length], hotel.roomIds[room], checkIn, checkIn.plusDays(2), 1);
+        created.add(reservation.getId());
+        return reservation;
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeCreated() throws Exception {
+        ReservationDao reservationDao = DaoFactory.getInstance().reservationDao();
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+        for (Long id : created) {
+            reservationDao.delete(id);
+            index.onReservationRemoved(id);
+        }
+        created.clear();
+        next = 0;
+    }
+}
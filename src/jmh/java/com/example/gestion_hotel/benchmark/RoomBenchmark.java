@@ -0,0 +1,61 @@
+package com.example.gestion_hotel.benchmark;
+
+import com.example.gestion_hotel.entity.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dhotel.backend=memory", "-Dcache.rooms.refreshSeconds=0"})
+@State(Scope.Thread)
+public class RoomBenchmark {
+    private static final int QUERIES = 1024;
+
+    private final LocalDate[] checkIns = new LocalDate[QUERIES];
+    private final LocalDate[] checkOuts = new LocalDate[QUERIES];
+    private final int[] numGuests = new int[QUERIES];
+    private final long[] roomIds = new long[QUERIES];
+    private int next;
+
+    // Estancias de 1 a 7 noches repartidas sobre la parte futura del historial
+    @Setup(Level.Trial)
+    public void prepareQueries(HotelFixture hotel) {
+        SplittableRandom random = new SplittableRandom(42);
+        int horizon = Math.max(30, hotel.history * HotelFixture.STAY_SPACING_DAYS / 2);
+        for (int i = 0; i < QUERIES; i++) {
+            checkIns[i] = hotel.today.plusDays(random.nextInt(horizon));
+            checkOuts[i] = checkIns[i].plusDays(1 + random.nextInt(7));
+            numGuests[i] = 1 + random.nextInt(4);
+            roomIds[i] = hotel.roomIds[random.nextInt(hotel.roomIds.length)];
+        }
+    }
+
+    @Benchmark
+    public List<Room> findAvailableRooms(HotelFixture hotel) throws Exception {
+        int i = next++ & (QUERIES - 1);
+        return hotel.roomService.findAvailableRooms(checkIns[i], checkOuts[i], numGuests[i]);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice(HotelFixture hotel) throws Exception {
+        int i = next++ & (QUERIES - 1);
+        return hotel.roomService.calculateTotalPrice(roomIds[i], checkIns[i], checkOuts[i]);
+    }
+}
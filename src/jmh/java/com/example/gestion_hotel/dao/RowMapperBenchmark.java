@@ -0,0 +1,176 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Mapeo de 100.000 filas por invocación: los mappers actuales (por posición, enums con
+ * EnumLookup) frente a los anteriores (por nombre de columna, Enum.valueOf), copiados aquí
+ * como referencia. El ResultSet es ArrayResultSet, sin proxies, para que lo medido sea el mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+    private static final int ROWS = 100_000;
+
+    private ArrayResultSet guests;
+    private ArrayResultSet rooms;
+    private ArrayResultSet reservations;
+
+    @Setup
+    public void setUp() {
+        TipoHabitacion[] tipos = TipoHabitacion.values();
+        EstadoReserva[] estados = EstadoReserva.values();
+        LocalDate firstCheckIn = LocalDate.of(2024, 1, 1);
+        LocalDateTime created = LocalDateTime.of(2023, 12, 1, 9, 0);
+
+        Object[][] guestRows = new Object[ROWS][];
+        Object[][] roomRows = new Object[ROWS][];
+        Object[][] reservationRows = new Object[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            long id = i + 1;
+            guestRows[i] = new Object[]{id, "Huésped " + i, "huesped" + i + "@correo.example",
+                    "+346" + (10_000_000 + i), Timestamp.valueOf(created.plusMinutes(i))};
+            roomRows[i] = new Object[]{id, String.valueOf(100 + i), tipos[i % tipos.length].name(),
+                    BigDecimal.valueOf(6_000 + i % 20_000, 2), 2 + i % 3, i % 7 != 0};
+            LocalDate checkIn = firstCheckIn.plusDays(i % 700);
+            reservationRows[i] = new Object[]{id, (long) (i % 5_000 + 1), (long) (i % 300 + 1),
+                    Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(1 + i % 6)), 1 + i % 4,
+                    BigDecimal.valueOf(12_000 + i % 90_000, 2), estados[i % estados.length].name(),
+                    Timestamp.valueOf(created.plusMinutes(i))};
+        }
+        guests = new ArrayResultSet(JdbcGuestDao.COLUMNS, guestRows);
+        rooms = new ArrayResultSet(JdbcRoomDao.COLUMNS, roomRows);
+        reservations = new ArrayResultSet(JdbcReservationDao.COLUMNS, reservationRows);
+    }
+
+    @Benchmark
+    public void guestsByPosition(Blackhole blackhole) throws SQLException {
+        guests.beforeFirst();
+        while (guests.next()) {
+            blackhole.consume(JdbcGuestDao.mapRow(guests));
+        }
+    }
+
+    @Benchmark
+    public void guestsByName(Blackhole blackhole) throws SQLException {
+        guests.beforeFirst();
+        while (guests.next()) {
+            blackhole.consume(mapGuestByName(guests));
+        }
+    }
+
+    @Benchmark
+    public void roomsByPosition(Blackhole blackhole) throws SQLException {
+        rooms.beforeFirst();
+        while (rooms.next()) {
+            blackhole.consume(JdbcRoomDao.mapRow(rooms));
+        }
+    }
+
+    @Benchmark
+    public void roomsByName(Blackhole blackhole) throws SQLException {
+        rooms.beforeFirst();
+        while (rooms.next()) {
+            blackhole.consume(mapRoomByName(rooms));
+        }
+    }
+
+    @Benchmark
+    public void reservationsByPosition(Blackhole blackhole) throws SQLException {
+        reservations.beforeFirst();
+        while (reservations.next()) {
+            blackhole.consume(JdbcReservationDao.mapRow(reservations));
+        }
+    }
+
+    @Benchmark
+    public void reservationsByName(Blackhole blackhole) throws SQLException {
+        reservations.beforeFirst();
+        while (reservations.next()) {
+            blackhole.consume(mapReservationByName(reservations));
+        }
+    }
+
+    // Mappers anteriores a las listas de columnas explícitas, sin cambios
+    private static Guest mapGuestByName(ResultSet rs) throws SQLException {
+        Guest guest = new Guest();
+        guest.setId(rs.getLong("id"));
+        guest.setNombre(rs.getString("nombre"));
+        guest.setEmail(rs.getString("email"));
+        guest.setTelefono(rs.getString("telefono"));
+
+        Timestamp timestamp = rs.getTimestamp("fecha_registro");
+        if (timestamp != null) {
+            guest.setFechaRegistro(timestamp.toLocalDateTime());
+        }
+
+        return guest;
+    }
+
+    private static Room mapRoomByName(ResultSet rs) throws SQLException {
+        Room room = new Room();
+        room.setId(rs.getLong("id"));
+        room.setNumero(rs.getString("numero"));
+        room.setTipo(TipoHabitacion.valueOf(rs.getString("tipo")));
+        room.setPrecioPorNoche(rs.getBigDecimal("precio_por_noche"));
+        room.setCapacidadMaxima(rs.getInt("capacidad_maxima"));
+        room.setDisponible(rs.getBoolean("disponible"));
+        return room;
+    }
+
+    private static Reservation mapReservationByName(ResultSet rs) throws SQLException {
+        Reservation reservation = new Reservation();
+        reservation.setId(rs.getLong("id"));
+        reservation.setGuestId(rs.getLong("guest_id"));
+        reservation.setRoomId(rs.getLong("room_id"));
+
+        Date checkInDate = rs.getDate("fecha_check_in");
+        if (checkInDate != null) {
+            reservation.setFechaCheckIn(checkInDate.toLocalDate());
+        }
+
+        Date checkOutDate = rs.getDate("fecha_check_out");
+        if (checkOutDate != null) {
+            reservation.setFechaCheckOut(checkOutDate.toLocalDate());
+        }
+
+        reservation.setNumeroHuespedes(rs.getInt("numero_huespedes"));
+        reservation.setMontoTotal(rs.getBigDecimal("monto_total"));
+        reservation.setEstado(EstadoReserva.valueOf(rs.getString("estado")));
+
+        Timestamp timestamp = rs.getTimestamp("fecha_creacion");
+        if (timestamp != null) {
+            reservation.setFechaCreacion(timestamp.toLocalDateTime());
+        }
+
+        return reservation;
+    }
+}
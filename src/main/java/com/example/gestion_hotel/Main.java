@@ -1,10 +1,64 @@
 package com.example.gestion_hotel;
 
-import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomCatalog;
+import com.example.gestion_hotel.cache.RoomTypeInventory;
+import com.example.gestion_hotel.service.ReservationArchiveJob;
+import com.example.gestion_hotel.service.ReservationCompletionJob;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.DatabaseConnection;
+import com.example.gestion_hotel.web.HotelHttpServer;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class Main {
-    public static void main(String[] args) {
-        ReservaControllerSimulado controller = new ReservaControllerSimulado();
+    private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+
+    public static void main(String[] args) throws IOException {
+        // El inventario se reconstruye en la primera consulta si aquí no hay base de datos
+        RoomTypeInventory inventory = RoomTypeInventory.getInstance();
+        try {
+            inventory.rebuild();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo cargar el inventario por tipo de habitación", e);
+        }
+        inventory.start();
+
+        RoomAvailabilityIndex availabilityIndex = RoomAvailabilityIndex.getInstance();
+        if (availabilityIndex.getMode() != RoomAvailabilityIndex.Mode.SQL) {
+            try {
+                availabilityIndex.reload();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "No se pudo cargar el índice de disponibilidad", e);
+            }
+            availabilityIndex.start();
+        }
+
+        ReservationCompletionJob completionJob = new ReservationCompletionJob();
+        if (AppConfig.getBoolean("completion.enabled", true)) {
+            completionJob.start();
+        }
+        ReservationArchiveJob archiveJob = new ReservationArchiveJob();
+        if (AppConfig.getBoolean("archive.enabled", true)) {
+            archiveJob.start();
+        }
+
+        // El servidor se abre al final, con el inventario y el índice ya cargados
+        HotelHttpServer server = new HotelHttpServer();
+        server.start();
 
+        // Parada ordenada: primero las peticiones en curso, después el pool de conexiones
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            completionJob.stop();
+            archiveJob.stop();
+            inventory.shutdown();
+            availabilityIndex.shutdown();
+            RoomCatalog.getInstance().shutdown();
+            DatabaseConnection.getInstance().shutdown();
+        }, "hotel-shutdown"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package com.example.gestion_hotel.bulk;
+
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.exception.DataAccessException;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.util.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/*
+ * Exporta huéspedes y reservas a CSV o JSON Lines escribiendo directamente desde el cursor
+ * de la base de datos, así que la memoria usada no depende del número de filas. Las columnas
+ * coinciden con las que acepta BulkImporter.
+ */
+public class BulkExporter {
+    private static final Logger LOGGER = Logger.getLogger(BulkExporter.class.getName());
+
+    private static final String[] GUEST_COLUMNS = {"id", "nombre", "email", "telefono", "fecha_registro"};
+    private static final String[] RESERVATION_COLUMNS = {"id", "guest_id", "room_id", "fecha_check_in",
+            "fecha_check_out", "numero_huespedes", "monto_total", "estado", "fecha_creacion"};
+
+    public enum Format { CSV, JSON_LINES }
+
+    private final GuestService guestService;
+    private final ReservationService reservationService;
+
+    public BulkExporter() {
+        this(new GuestService(), new ReservationService());
+    }
+
+    public BulkExporter(GuestService guestService, ReservationService reservationService) {
+        this.guestService = guestService;
+        this.reservationService = reservationService;
+    }
+
+    public long exportGuests(Writer out, Format format) throws ServiceException, IOException {
+        try (Stream<Guest> guests = guestService.streamAllGuests()) {
+            return write(out, format, GUEST_COLUMNS, guests.iterator(), guest -> new Object[]{
+                    guest.getId(), guest.getNombre(), guest.getEmail(), guest.getTelefono(), guest.getFechaRegistro()});
+        }
+    }
+
+    public long exportReservations(Writer out, Format format) throws ServiceException, IOException {
+        try (Stream<Reservation> reservations = reservationService.streamAllReservations()) {
+            return write(out, format, RESERVATION_COLUMNS, reservations.iterator(), r -> new Object[]{
+                    r.getId(), r.getGuestId(), r.getRoomId(), r.getFechaCheckIn(), r.getFechaCheckOut(),
+                    r.getNumeroHuespedes(), r.getMontoTotal(), r.getEstado(), r.getFechaCreacion()});
+        }
+    }
+
+    private interface RowValues<T> {
+        Object[] of(T item);
+    }
+
+    private static <T> long write(Writer out, Format format, String[] columns, Iterator<T> items,
+                                  RowValues<T> values) throws ServiceException, IOException {
+        long rows = 0;
+        try {
+            if (format == Format.CSV) {
+                out.write(String.join(",", columns));
+                out.write('\n');
+            }
+            while (items.hasNext()) {
+                Object[] row = values.of(items.next());
+                if (format == Format.CSV) {
+                    writeCsv(out, row);
+                } else {
+                    writeJson(out, columns, row);
+                }
+                rows++;
+            }
+            out.flush();
+        } catch (DataAccessException e) {
+            throw new ServiceException("Error al leer los datos durante la exportación", e.getCause());
+        }
+        return rows;
+    }
+
+    private static void writeCsv(Writer out, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(Csv.escape(row[i] == null ? null : row[i].toString()));
+        }
+        out.write('\n');
+    }
+
+    private static void writeJson(Writer out, String[] columns, Object[] row) throws IOException {
+        out.write('{');
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(Json.quote(columns[i]));
+            out.write(':');
+            Object value = row[i];
+            if (value == null) {
+                out.write("null");
+            } else if (value instanceof BigDecimal) {
+                out.write(((BigDecimal) value).toPlainString());
+            } else if (value instanceof Number) {
+                out.write(value.toString());
+            } else {
+                out.write(Json.quote(value.toString()));
+            }
+        }
+        out.write("}\n");
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Uso: BulkExporter <guests|reservations> <archivo.csv|archivo.jsonl>");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[1]);
+        Format format = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                ? Format.CSV : Format.JSON_LINES;
+        BulkExporter exporter = new BulkExporter();
+
+        long start = System.nanoTime();
+        long rows;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            rows = args[0].equalsIgnoreCase("guests")
+                    ? exporter.exportGuests(out, format)
+                    : exporter.exportReservations(out, format);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info(String.format("Exportadas %d filas a %s en %d ms", rows, file, millis));
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.gestion_hotel.bulk;
+
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.service.RoomService;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.Json;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/*
+ * Importación masiva en streaming desde CSV (con cabecera) o JSON Lines. El archivo se lee
+ * por bloques de tamaño fijo: cada bloque se valida en paralelo, se resuelven las
+ * verificaciones contra la base de datos con una consulta por bloque y se escribe por lotes.
+ * Tras cada bloque se guarda la última línea procesada en '<archivo>.checkpoint' para poder
+ * retomar la importación después de un fallo; las filas rechazadas se anotan en '<archivo>.rejected'.
+ */
+public class BulkImporter {
+    private static final Logger LOGGER = Logger.getLogger(BulkImporter.class.getName());
+
+    public enum EntityType { GUESTS, ROOMS, RESERVATIONS }
+
+    private enum Format { CSV, JSON_LINES }
+
+    private final GuestService guestService;
+    private final RoomService roomService;
+    private final ReservationService reservationService;
+    private final int chunkSize;
+
+    public BulkImporter() {
+        this(new GuestService(), new RoomService(), new ReservationService());
+    }
+
+    public BulkImporter(GuestService guestService, RoomService roomService, ReservationService reservationService) {
+        this.guestService = guestService;
+        this.roomService = roomService;
+        this.reservationService = reservationService;
+        // Un bloque de importación nunca supera un lote del DAO, así cada escritura es atómica
+        this.chunkSize = Math.min(AppConfig.getInt("import.chunkSize", 500), AppConfig.getInt("db.batch.size", 500));
+    }
+
+    public ImportReport importFile(Path file, EntityType type) throws IOException {
+        return importFile(file, handlerFor(type));
+    }
+
+    private RecordHandler<?> handlerFor(EntityType type) {
+        switch (type) {
+            case GUESTS: return new GuestRecordHandler(guestService);
+            case ROOMS: return new RoomRecordHandler(roomService);
+            default: return new ReservationRecordHandler(reservationService, guestService, roomService);
+        }
+    }
+
+    private <T> ImportReport importFile(Path file, RecordHandler<T> handler) throws IOException {
+        Format format = detectFormat(file);
+        Path checkpointFile = Paths.get(file + ".checkpoint");
+        Path rejectedFile = Paths.get(file + ".rejected");
+        long resumeAfter = readCheckpoint(checkpointFile);
+
+        ImportReport report = new ImportReport(file.toString());
+        report.resumedFrom(resumeAfter);
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter rejected = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+
+            List<String> header = null;
+            long lineNumber = 0;
+            if (format == Format.CSV) {
+                String headerLine = reader.readLine();
+                lineNumber++;
+                if (headerLine == null) {
+                    report.finished(System.nanoTime() - start);
+                    return report;
+                }
+                header = Csv.parseLine(headerLine.replace("\uFEFF", ""));
+            }
+
+            List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter || line.isBlank()) {
+                    continue;
+                }
+                report.rowRead();
+                chunk.add(new ImportRow<>(lineNumber, line));
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, handler, format, header, report, rejected);
+                    writeCheckpoint(checkpointFile, lineNumber);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, handler, format, header, report, rejected);
+            }
+        }
+
+        // Importación completa: el checkpoint ya no es necesario
+        Files.deleteIfExists(checkpointFile);
+        report.finished(System.nanoTime() - start);
+        LOGGER.info(report.toString());
+        return report;
+    }
+
+    private <T> void processChunk(List<ImportRow<T>> chunk, RecordHandler<T> handler, Format format,
+                                  List<String> header, ImportReport report, BufferedWriter rejected) throws IOException {
+        // Conversión y validación en paralelo (sin acceso a la base de datos)
+        chunk.parallelStream().forEach(row -> {
+            try {
+                row.entity = handler.parse(toFields(row.raw, format, header));
+            } catch (ServiceException e) {
+                row.reject(e.getMessage());
+            } catch (RuntimeException e) {
+                row.reject("Fila mal formada: " + e.getMessage());
+            }
+        });
+
+        List<ImportRow<T>> valid = new ArrayList<>(chunk.size());
+        try {
+            handler.resolve(chunk);
+            for (ImportRow<T> row : chunk) {
+                if (row.isValid()) {
+                    valid.add(row);
+                }
+            }
+            writeValid(valid, handler, report);
+        } catch (ServiceException e) {
+            throw new IOException("Error de base de datos al importar el bloque que termina en la línea "
+                    + chunk.get(chunk.size() - 1).line, e);
+        }
+
+        for (ImportRow<T> row : chunk) {
+            if (!row.isValid()) {
+                report.rejected(row.line, row.error);
+                rejected.write(row.line + "\t" + row.error + "\t" + row.raw);
+                rejected.newLine();
+            }
+        }
+        rejected.flush();
+    }
+
+    private <T> void writeValid(List<ImportRow<T>> rows, RecordHandler<T> handler, ImportReport report) throws ServiceException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<T> entities = new ArrayList<>(rows.size());
+        for (ImportRow<T> row : rows) {
+            entities.add(row.entity);
+        }
+
+        try {
+            handler.write(entities);
+            report.imported(entities.size());
+        } catch (ServiceException e) {
+            if (e.getCause() != null) {
+                throw e;
+            }
+            // Algún registro no pasó una regla de negocio: se reintenta fila a fila para aislarlo
+            for (ImportRow<T> row : rows) {
+                try {
+                    handler.write(List.of(row.entity));
+                    report.imported(1);
+                } catch (ServiceException rowError) {
+                    if (rowError.getCause() != null) {
+                        throw rowError;
+                    }
+                    row.reject(rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> toFields(String raw, Format format, List<String> header) {
+        if (format == Format.JSON_LINES) {
+            return Json.parseFlatObject(raw);
+        }
+        List<String> values = Csv.parseLine(raw);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("se esperaban " + header.size() + " columnas y hay " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i).trim(), values.get(i));
+        }
+        return fields;
+    }
+
+    private static Format detectFormat(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return Format.JSON_LINES;
+        }
+        throw new IllegalArgumentException("Formato de archivo no soportado: " + name);
+    }
+
+    private static long readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpointFile).trim());
+    }
+
+    private static void writeCheckpoint(Path checkpointFile, long line) throws IOException {
+        Path tmp = Paths.get(checkpointFile + ".tmp");
+        Files.writeString(tmp, Long.toString(line));
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: BulkImporter <guests|rooms|reservations> <archivo.csv|archivo.jsonl>");
+            System.exit(1);
+        }
+        EntityType type = EntityType.valueOf(args[0].toUpperCase(Locale.ROOT));
+        ImportReport report = new BulkImporter().importFile(Paths.get(args[1]), type);
+        System.out.println(report);
+        report.getRejections().forEach(System.out::println);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.gestion_hotel.bulk;
+
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.GuestService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+class GuestRecordHandler implements RecordHandler<Guest> {
+    private final GuestService guestService;
+
+    GuestRecordHandler(GuestService guestService) {
+        this.guestService = guestService;
+    }
+
+    @Override
+    public Guest parse(Map<String, String> fields) throws ServiceException {
+        Guest guest = new Guest(RecordHandler.required(fields, "nombre"),
+                RecordHandler.required(fields, "email"),
+                RecordHandler.required(fields, "telefono"));
+
+        String fechaRegistro = RecordHandler.optional(fields, "fecha_registro");
+        if (fechaRegistro != null) {
+            guest.setFechaRegistro(LocalDateTime.parse(fechaRegistro));
+        }
+
+        guestService.validateNewGuest(guest);
+        return guest;
+    }
+
+    @Override
+    public void resolve(List<ImportRow<Guest>> rows) throws ServiceException {
+        Set<String> seen = new HashSet<>();
+        List<String> emails = new ArrayList<>();
+        for (ImportRow<Guest> row : rows) {
+            if (!row.isValid()) {
+                continue;
+            }
+            if (!seen.add(row.entity.getEmail().toLowerCase(Locale.ROOT))) {
+                row.reject("El email está repetido en el archivo");
+            } else {
+                emails.add(row.entity.getEmail());
+            }
+        }
+
+        Set<String> existing = guestService.findExistingEmails(emails);
+        for (ImportRow<Guest> row : rows) {
+            if (row.isValid() && existing.contains(row.entity.getEmail().toLowerCase(Locale.ROOT))) {
+                row.reject("Ya existe un huésped registrado con este email");
+            }
+        }
+    }
+
+    @Override
+    public List<Guest> write(List<Guest> guests) throws ServiceException {
+        return guestService.createGuests(guests);
+    }
+}
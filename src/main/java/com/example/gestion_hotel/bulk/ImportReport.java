@@ -0,0 +1,63 @@
+package com.example.gestion_hotel.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ImportReport {
+    private static final int MAX_REJECTIONS_KEPT = 100;
+
+    private final String source;
+    private long resumedFromLine;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long elapsedNanos;
+    private final List<String> rejections = new ArrayList<>();
+
+    ImportReport(String source) {
+        this.source = source;
+    }
+
+    void resumedFrom(long line) {
+        this.resumedFromLine = line;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(long count) {
+        rowsImported += count;
+    }
+
+    // Solo se guardan los primeros rechazos; el detalle completo va al archivo .rejected
+    void rejected(long line, String reason) {
+        rowsRejected++;
+        if (rejections.size() < MAX_REJECTIONS_KEPT) {
+            rejections.add("Línea " + line + ": " + reason);
+        }
+    }
+
+    void finished(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getSource() { return source; }
+    public long getResumedFromLine() { return resumedFromLine; }
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsImported() { return rowsImported; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+    public List<String> getRejections() { return Collections.unmodifiableList(rejections); }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportReport{source='%s', desdeLinea=%d, leidas=%d, importadas=%d, rechazadas=%d, %d ms, %.1f filas/s}",
+                source, resumedFromLine, rowsRead, rowsImported, rowsRejected, getElapsedMillis(), getRowsPerSecond());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.gestion_hotel.bulk;
+
+// Una fila del archivo de entrada junto con su entidad o el motivo de rechazo
+final class ImportRow<T> {
+    final long line;
+    final String raw;
+    T entity;
+    String error;
+
+    ImportRow(long line, String raw) {
+        this.line = line;
+        this.raw = raw;
+    }
+
+    void reject(String reason) {
+        this.entity = null;
+        this.error = reason;
+    }
+
+    boolean isValid() {
+        return error == null;
+    }
+}
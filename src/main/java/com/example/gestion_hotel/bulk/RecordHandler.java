@@ -0,0 +1,31 @@
+package com.example.gestion_hotel.bulk;
+
+import com.example.gestion_hotel.exception.ServiceException;
+
+import java.util.List;
+import java.util.Map;
+
+// Conversión, validación y escritura de un tipo de entidad durante la importación masiva
+interface RecordHandler<T> {
+
+    // Se invoca en paralelo: no debe acceder a la base de datos
+    T parse(Map<String, String> fields) throws ServiceException;
+
+    // Verificaciones que necesitan la base de datos, una consulta por bloque
+    void resolve(List<ImportRow<T>> rows) throws ServiceException;
+
+    List<T> write(List<T> entities) throws ServiceException;
+
+    static String required(Map<String, String> fields, String name) throws ServiceException {
+        String value = fields.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new ServiceException("El campo '" + name + "' es obligatorio");
+        }
+        return value.trim();
+    }
+
+    static String optional(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
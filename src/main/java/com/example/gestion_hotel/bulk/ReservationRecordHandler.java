@@ -0,0 +1,79 @@
+package com.example.gestion_hotel.bulk;
+
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.service.RoomService;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ReservationRecordHandler implements RecordHandler<Reservation> {
+    private final ReservationService reservationService;
+    private final GuestService guestService;
+    private final RoomService roomService;
+
+    ReservationRecordHandler(ReservationService reservationService, GuestService guestService,
+                             RoomService roomService) {
+        this.reservationService = reservationService;
+        this.guestService = guestService;
+        this.roomService = roomService;
+    }
+
+    @Override
+    public Reservation parse(Map<String, String> fields) throws ServiceException {
+        Reservation reservation = new Reservation(
+                Long.valueOf(RecordHandler.required(fields, "guest_id")),
+                Long.valueOf(RecordHandler.required(fields, "room_id")),
+                LocalDate.parse(RecordHandler.required(fields, "fecha_check_in")),
+                LocalDate.parse(RecordHandler.required(fields, "fecha_check_out")),
+                Integer.valueOf(RecordHandler.required(fields, "numero_huespedes")));
+
+        reservationService.validateReservationInput(reservation.getGuestId(), reservation.getRoomId(),
+                reservation.getFechaCheckIn(), reservation.getFechaCheckOut(), reservation.getNumeroHuespedes());
+        return reservation;
+    }
+
+    @Override
+    public void resolve(List<ImportRow<Reservation>> rows) throws ServiceException {
+        Set<Long> guestIds = new HashSet<>();
+        Set<Long> roomIds = new HashSet<>();
+        for (ImportRow<Reservation> row : rows) {
+            if (row.isValid()) {
+                guestIds.add(row.entity.getGuestId());
+                roomIds.add(row.entity.getRoomId());
+            }
+        }
+
+        Set<Long> existingGuests = guestService.findExistingGuestIds(guestIds);
+        Map<Long, Room> rooms = roomService.findRoomsByIds(roomIds);
+
+        for (ImportRow<Reservation> row : rows) {
+            if (!row.isValid()) {
+                continue;
+            }
+            Reservation reservation = row.entity;
+            Room room = rooms.get(reservation.getRoomId());
+            if (!existingGuests.contains(reservation.getGuestId())) {
+                row.reject("No existe un huésped con ID: " + reservation.getGuestId());
+            } else if (room == null) {
+                row.reject("No existe una habitación con ID: " + reservation.getRoomId());
+            } else if (!room.puedeAlojar(reservation.getNumeroHuespedes())) {
+                row.reject("La habitación no tiene capacidad suficiente para "
+                        + reservation.getNumeroHuespedes() + " huéspedes");
+            } else if (!room.isAvailable()) {
+                row.reject("La habitación no está disponible en las fechas solicitadas");
+            }
+        }
+    }
+
+    @Override
+    public List<Reservation> write(List<Reservation> reservations) throws ServiceException {
+        return reservationService.createReservations(reservations);
+    }
+}
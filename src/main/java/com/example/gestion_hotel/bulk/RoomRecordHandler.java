@@ -0,0 +1,62 @@
+package com.example.gestion_hotel.bulk;
+
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.RoomService;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class RoomRecordHandler implements RecordHandler<Room> {
+    private final RoomService roomService;
+
+    RoomRecordHandler(RoomService roomService) {
+        this.roomService = roomService;
+    }
+
+    @Override
+    public Room parse(Map<String, String> fields) throws ServiceException {
+        String tipoValue = RecordHandler.required(fields, "tipo").toUpperCase();
+        TipoHabitacion tipo;
+        try {
+            tipo = TipoHabitacion.valueOf(tipoValue);
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Tipo de habitación desconocido: " + tipoValue);
+        }
+
+        String numero = RecordHandler.required(fields, "numero");
+        BigDecimal precio = new BigDecimal(RecordHandler.required(fields, "precio_por_noche"));
+        roomService.validateNewRoom(numero, tipo, precio);
+
+        Room room = new Room(numero, tipo, precio);
+        String capacidad = RecordHandler.optional(fields, "capacidad_maxima");
+        if (capacidad != null) {
+            room.setCapacidadMaxima(Integer.parseInt(capacidad));
+        }
+        String disponible = RecordHandler.optional(fields, "disponible");
+        if (disponible != null) {
+            room.setDisponible(Boolean.parseBoolean(disponible) || disponible.equals("1"));
+        }
+        return room;
+    }
+
+    @Override
+    public void resolve(List<ImportRow<Room>> rows) {
+        // La unicidad contra la base de datos la garantiza la restricción UNIQUE de 'numero'
+        Set<String> seen = new HashSet<>();
+        for (ImportRow<Room> row : rows) {
+            if (row.isValid() && !seen.add(row.entity.getNumero())) {
+                row.reject("El número de habitación está repetido en el archivo");
+            }
+        }
+    }
+
+    @Override
+    public List<Room> write(List<Room> rooms) throws ServiceException {
+        return roomService.createRooms(rooms);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Caché acotada de huéspedes indexada por ID y por email normalizado. Se divide en
+ * segmentos LRU con su propio lock para que los accesos concurrentes casi nunca compitan.
+ * Las entradas caducan tras el TTL configurado, lo que limita cuánto puede tardar en verse
+ * un cambio hecho desde otra instancia. Siempre se guardan y devuelven copias. Lo leído de la
+ * base de datos se guarda con putLoaded, que lo descarta si hubo alguna invalidación desde que
+ * empezó la lectura: así una lectura anterior a una escritura no deja en caché la versión vieja.
+ */
+public class GuestCache {
+    private static final int SEGMENTS = 16;
+
+    private static volatile GuestCache instance;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    GuestCache(boolean enabled, int maxSize, long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = Math.max(1, maxSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public static GuestCache getInstance() {
+        if (instance == null) {
+            synchronized (GuestCache.class) {
+                if (instance == null) {
+                    instance = new GuestCache(
+                            AppConfig.getBoolean("cache.guest.enabled", true),
+                            AppConfig.getInt("cache.guest.maxSize", 10000),
+                            AppConfig.getLong("cache.guest.ttlSeconds", 300));
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Guest getById(Long id) {
+        if (!enabled || id == null) {
+            return null;
+        }
+        Segment segment = segmentFor(id);
+        synchronized (segment) {
+            Entry entry = segment.get(id);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() < 0) {
+                segment.remove(id);
+                idByEmail.remove(entry.email, id);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return copyOf(entry.guest);
+        }
+    }
+
+    // Sin contar aciertos ni fallos: para decidir si una lectura necesitará la base de datos
+    public boolean contains(Long id) {
+        if (!enabled || id == null) {
+            return false;
+        }
+        Segment segment = segmentFor(id);
+        synchronized (segment) {
+            Entry entry = segment.get(id);
+            return entry != null && entry.expiresAt - System.nanoTime() >= 0;
+        }
+    }
+
+    public Guest getByEmail(String email) {
+        if (!enabled || email == null) {
+            return null;
+        }
+        String normalized = normalize(email);
+        Long id = idByEmail.get(normalized);
+        if (id == null) {
+            misses.increment();
+            return null;
+        }
+        Guest guest = getById(id);
+        // El índice de emails puede apuntar a una entrada que ya cambió de email
+        return guest != null && normalize(guest.getEmail()).equals(normalized) ? guest : null;
+    }
+
+    public void put(Guest guest) {
+        store(guest, -1);
+    }
+
+    // Tomar antes de leer de la base de datos y pasarlo a putLoaded
+    public long getInvalidationStamp() {
+        return invalidations.get();
+    }
+
+    public void putLoaded(Guest guest, long stamp) {
+        store(guest, stamp);
+    }
+
+    private void store(Guest guest, long stamp) {
+        if (!enabled || guest == null || guest.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(copyOf(guest), normalize(guest.getEmail()), System.nanoTime() + ttlNanos);
+        Segment segment = segmentFor(guest.getId());
+        synchronized (segment) {
+            if (stamp >= 0 && invalidations.get() != stamp) {
+                return;
+            }
+            Entry previous = segment.put(guest.getId(), entry);
+            if (previous != null && !previous.email.equals(entry.email)) {
+                idByEmail.remove(previous.email, guest.getId());
+            }
+            if (entry.email != null) {
+                idByEmail.put(entry.email, guest.getId());
+            }
+        }
+    }
+
+    public void invalidate(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        Segment segment = segmentFor(id);
+        synchronized (segment) {
+            invalidations.incrementAndGet();
+            Entry removed = segment.remove(id);
+            if (removed != null && removed.email != null) {
+                idByEmail.remove(removed.email, id);
+            }
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        idByEmail.clear();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getExpirations() { return expirations.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GuestCache{size=%d, hits=%d, misses=%d, evictions=%d, expirations=%d}",
+                size(), getHits(), getMisses(), getEvictions(), getExpirations());
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[(int) (id ^ (id >>> 32)) & (SEGMENTS - 1)];
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Guest copyOf(Guest guest) {
+        Guest copy = new Guest(guest.getNombre(), guest.getEmail(), guest.getTelefono());
+        copy.setId(guest.getId());
+        copy.setFechaRegistro(guest.getFechaRegistro());
+        return copy;
+    }
+
+    private static final class Entry {
+        private final Guest guest;
+        private final String email;
+        private final long expiresAt;
+
+        private Entry(Guest guest, String email, long expiresAt) {
+            this.guest = guest;
+            this.email = email;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // LinkedHashMap en orden de acceso: la entrada más antigua se descarta al superar el límite
+    private final class Segment extends LinkedHashMap<Long, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() <= maxSize) {
+                return false;
+            }
+            evictions.increment();
+            if (eldest.getValue().email != null) {
+                idByEmail.remove(eldest.getValue().email, eldest.getKey());
+            }
+            return true;
+        }
+    }
+}
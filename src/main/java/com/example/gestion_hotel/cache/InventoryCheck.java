@@ -0,0 +1,41 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.entity.TipoHabitacion;
+
+import java.time.LocalDate;
+
+// Resultado de comparar los contadores de RoomTypeInventory con un recálculo desde la base de datos
+public class InventoryCheck {
+    private final int checkedCells;
+    private final int driftedCells;
+    private final int maxDifference;
+    private final TipoHabitacion firstTipo;
+    private final LocalDate firstNight;
+    private final int firstExpected;
+    private final int firstActual;
+
+    InventoryCheck(int checkedCells, int driftedCells, int maxDifference, TipoHabitacion firstTipo,
+                   LocalDate firstNight, int firstExpected, int firstActual) {
+        this.checkedCells = checkedCells;
+        this.driftedCells = driftedCells;
+        this.maxDifference = maxDifference;
+        this.firstTipo = firstTipo;
+        this.firstNight = firstNight;
+        this.firstExpected = firstExpected;
+        this.firstActual = firstActual;
+    }
+
+    public boolean hasDrift() { return driftedCells > 0; }
+    public int getCheckedCells() { return checkedCells; }
+    public int getDriftedCells() { return driftedCells; }
+    public int getMaxDifference() { return maxDifference; }
+
+    @Override
+    public String toString() {
+        if (!hasDrift()) {
+            return String.format("InventoryCheck{celdas=%d, sin diferencias}", checkedCells);
+        }
+        return String.format("InventoryCheck{celdas=%d, distintas=%d, maxDiferencia=%d, primera=%s %s: esperado %d, contador %d}",
+                checkedCells, driftedCells, maxDifference, firstTipo, firstNight, firstExpected, firstActual);
+    }
+}
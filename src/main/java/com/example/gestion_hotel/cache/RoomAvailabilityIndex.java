@@ -0,0 +1,356 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Índice en memoria de las reservas ACTIVA por habitación. Cada habitación guarda sus
+ * intervalos ordenados por check-in junto con el máximo acumulado de check-out, de modo
+ * que saber si hay conflicto es una búsqueda binaria. Los intervalos son cerrados en
+ * ambos extremos, igual que los BETWEEN de RoomDao.findAvailableRooms. Los datos de las
+ * habitaciones salen de RoomCatalog. Cada carga construye mapas nuevos y los publica de una
+ * vez; una revisión periódica los compara con la base de datos (para recoger lo escrito por
+ * otras instancias, trabajos o SQL manual) y los reconstruye si no coinciden.
+ */
+public class RoomAvailabilityIndex {
+    private static final Logger LOGGER = Logger.getLogger(RoomAvailabilityIndex.class.getName());
+
+    public enum Mode {
+        INDEX,   // responde desde memoria
+        SQL,     // siempre consulta la base de datos
+        VERIFY   // consulta ambos, registra diferencias y devuelve el resultado SQL
+    }
+
+    private static volatile RoomAvailabilityIndex instance;
+
+    private final Mode mode;
+    private final RoomCatalog roomCatalog;
+    private final ReservationDao reservationDAO;
+    private final long checkIntervalMinutes;
+
+    // null hasta la primera carga; los cambios incrementales modifican el índice publicado
+    private volatile Index index;
+    private ScheduledExecutorService checker;
+
+    private RoomAvailabilityIndex() {
+        this.mode = Mode.valueOf(AppConfig.getString("availability.mode", "INDEX").toUpperCase());
+        this.roomCatalog = RoomCatalog.getInstance();
+        this.reservationDAO = DaoFactory.getInstance().reservationDao();
+        this.checkIntervalMinutes = AppConfig.getLong("availability.checkIntervalMinutes", 60);
+    }
+
+    public static RoomAvailabilityIndex getInstance() {
+        if (instance == null) {
+            synchronized (RoomAvailabilityIndex.class) {
+                if (instance == null) {
+                    instance = new RoomAvailabilityIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isLoaded() {
+        return index != null;
+    }
+
+    public void ensureLoaded() throws SQLException {
+        loaded();
+    }
+
+    public synchronized void reload() throws SQLException {
+        index = build();
+    }
+
+    // Compara el índice con las reservas ACTIVA de la base de datos; si difiere, lo reconstruye.
+    // Devuelve cuántas reservas no coincidían
+    public synchronized int checkAndRepair() throws SQLException {
+        Index current = index;
+        Index expected = build();
+        index = expected;
+        if (current == null) {
+            return 0;
+        }
+        int drifted = 0;
+        for (Booking booking : expected.bookings.values()) {
+            if (!booking.equals(current.bookings.get(booking.reservationId))) {
+                drifted++;
+            }
+        }
+        for (Long reservationId : current.bookings.keySet()) {
+            if (!expected.bookings.containsKey(reservationId)) {
+                drifted++;
+            }
+        }
+        if (drifted > 0) {
+            LOGGER.warning("Índice de disponibilidad desincronizado (" + drifted + " reservas distintas), se reconstruye");
+        }
+        return drifted;
+    }
+
+    public synchronized void start() {
+        if (checker != null || checkIntervalMinutes <= 0) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "availability-index-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkScheduled, checkIntervalMinutes, checkIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+
+    private void checkScheduled() {
+        try {
+            checkAndRepair();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo revisar el índice de disponibilidad", e);
+        }
+    }
+
+    private Index loaded() throws SQLException {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    reload();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    // Se llama con el monitor tomado: las reservas confirmadas durante la consulta se aplican después
+    private Index build() throws SQLException {
+        List<Reservation> active = reservationDAO.findActiveReservations();
+
+        Index built = new Index();
+        Map<Long, List<Booking>> byRoom = new HashMap<>();
+        for (Reservation reservation : active) {
+            Booking booking = Booking.of(reservation);
+            built.bookings.put(booking.reservationId, booking);
+            byRoom.computeIfAbsent(booking.roomId, k -> new ArrayList<>()).add(booking);
+        }
+        byRoom.forEach((roomId, list) -> built.intervalsByRoom.put(roomId, RoomIntervals.of(list)));
+        return built;
+    }
+
+    public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) throws SQLException {
+        Map<Long, RoomIntervals> intervalsByRoom = loaded().intervalsByRoom;
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+
+        List<Room> result = new ArrayList<>();
+        for (Room room : roomCatalog.snapshot().byPrice()) {
+            if (!room.isAvailable() || room.getCapacidadMaxima() < numGuests) {
+                continue;
+            }
+            RoomIntervals intervals = intervalsByRoom.get(room.getId());
+            if (intervals == null || !intervals.overlaps(from, to)) {
+                result.add(RoomCatalog.copyOf(room));
+            }
+        }
+        return result;
+    }
+
+    // Mantener el índice sincronizado tras escribir en la base de datos
+    public synchronized void onReservationSaved(Reservation reservation) {
+        Index current = index;
+        if (current == null || reservation.getId() == null) {
+            return;
+        }
+        current.removeBooking(reservation.getId());
+        if (reservation.getEstado() == EstadoReserva.ACTIVA) {
+            Booking booking = Booking.of(reservation);
+            current.bookings.put(booking.reservationId, booking);
+            current.intervalsByRoom.compute(booking.roomId,
+                    (id, intervals) -> intervals == null ? RoomIntervals.of(List.of(booking)) : intervals.with(booking));
+        }
+    }
+
+    // Quita las reservas con salida anterior a 'before' (ya completadas); devuelve cuántas quitó
+    public synchronized int onCheckedOutBefore(LocalDate before) {
+        Index current = index;
+        if (current == null) {
+            return 0;
+        }
+        long day = before.toEpochDay();
+        int removed = 0;
+        for (Map.Entry<Long, RoomIntervals> entry : current.intervalsByRoom.entrySet()) {
+            RoomIntervals intervals = entry.getValue();
+            RoomIntervals remaining = intervals.withoutEndedBefore(day);
+            if (remaining != intervals) {
+                removed += intervals.size() - (remaining == null ? 0 : remaining.size());
+                if (remaining == null) {
+                    current.intervalsByRoom.remove(entry.getKey());
+                } else {
+                    entry.setValue(remaining);
+                }
+            }
+        }
+        current.bookings.values().removeIf(b -> b.end < day);
+        return removed;
+    }
+
+    public synchronized void onReservationRemoved(Long reservationId) {
+        Index current = index;
+        if (current != null) {
+            current.removeBooking(reservationId);
+        }
+    }
+
+    // Las lecturas no toman el monitor: cada habitación se reemplaza por un RoomIntervals inmutable
+    private static final class Index {
+        private final Map<Long, RoomIntervals> intervalsByRoom = new ConcurrentHashMap<>();
+        private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+
+        private void removeBooking(Long reservationId) {
+            Booking previous = bookings.remove(reservationId);
+            if (previous != null) {
+                intervalsByRoom.computeIfPresent(previous.roomId, (id, current) -> current.without(reservationId));
+            }
+        }
+    }
+
+    private static final class Booking {
+        private final long reservationId;
+        private final long roomId;
+        private final long start;
+        private final long end;
+
+        private Booking(long reservationId, long roomId, long start, long end) {
+            this.reservationId = reservationId;
+            this.roomId = roomId;
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Booking of(Reservation reservation) {
+            return new Booking(reservation.getId(), reservation.getRoomId(),
+                    reservation.getFechaCheckIn().toEpochDay(), reservation.getFechaCheckOut().toEpochDay());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Booking)) {
+                return false;
+            }
+            Booking other = (Booking) o;
+            return reservationId == other.reservationId && roomId == other.roomId
+                    && start == other.start && end == other.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(reservationId, roomId, start, end);
+        }
+    }
+
+    // Intervalos inmutables de una habitación; cada cambio crea una nueva instancia
+    private static final class RoomIntervals {
+        private final Booking[] bookings;
+        private final long[] starts;
+        private final long[] maxEnds;
+
+        private RoomIntervals(Booking[] bookings) {
+            Arrays.sort(bookings, Comparator.comparingLong((Booking b) -> b.start));
+            this.bookings = bookings;
+            this.starts = new long[bookings.length];
+            this.maxEnds = new long[bookings.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < bookings.length; i++) {
+                starts[i] = bookings[i].start;
+                maxEnd = Math.max(maxEnd, bookings[i].end);
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        private static RoomIntervals of(List<Booking> bookings) {
+            return new RoomIntervals(bookings.toArray(new Booking[0]));
+        }
+
+        private RoomIntervals with(Booking booking) {
+            Booking[] copy = Arrays.copyOf(bookings, bookings.length + 1);
+            copy[bookings.length] = booking;
+            return new RoomIntervals(copy);
+        }
+
+        private RoomIntervals without(long reservationId) {
+            Booking[] remaining = Arrays.stream(bookings)
+                    .filter(b -> b.reservationId != reservationId)
+                    .toArray(Booking[]::new);
+            return remaining.length == 0 ? null : new RoomIntervals(remaining);
+        }
+
+        private RoomIntervals withoutEndedBefore(long day) {
+            Booking[] remaining = Arrays.stream(bookings)
+                    .filter(b -> b.end >= day)
+                    .toArray(Booking[]::new);
+            if (remaining.length == bookings.length) {
+                return this;
+            }
+            return remaining.length == 0 ? null : new RoomIntervals(remaining);
+        }
+
+        private int size() {
+            return bookings.length;
+        }
+
+        // Hay conflicto si alguna reserva empieza hasta 'to' y termina desde 'from' (extremos incluidos)
+        private boolean overlaps(long from, long to) {
+            int idx = lastStartAtOrBefore(to);
+            return idx >= 0 && maxEnds[idx] >= from;
+        }
+
+        private int lastStartAtOrBefore(long day) {
+            int low = 0;
+            int high = starts.length - 1;
+            int result = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    result = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return result;
+        }
+    }
+}
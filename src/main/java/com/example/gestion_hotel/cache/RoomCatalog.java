@@ -0,0 +1,233 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.RoomDao;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.SqlCollation;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Catálogo de habitaciones en memoria. Cada versión es una instantánea inmutable que se
+ * reemplaza de forma atómica al crear, modificar o eliminar habitaciones, así que las
+ * lecturas no bloquean ni reservan memoria. Para converger con cambios hechos desde otra
+ * instancia se compara periódicamente el CHECKSUM TABLE de rooms y se recarga si cambió.
+ */
+public class RoomCatalog {
+    private static final Logger LOGGER = Logger.getLogger(RoomCatalog.class.getName());
+
+    // Mismo orden que ORDER BY numero, id en MySQL
+    private static final Comparator<Room> NUMBER_ORDER = Comparator
+            .comparing(Room::getNumero, SqlCollation.ORDER)
+            .thenComparing(Room::getId);
+    private static final Comparator<Room> PRICE_ORDER = Comparator
+            .comparing(Room::getPrecioPorNoche)
+            .thenComparing(Room::getId);
+
+    private static volatile RoomCatalog instance;
+
+    private final RoomDao roomDAO;
+    private final long refreshIntervalSeconds;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private volatile Long lastChecksum;
+    private ScheduledExecutorService refresher;
+
+    private RoomCatalog() {
+        this.roomDAO = DaoFactory.getInstance().roomDao();
+        this.refreshIntervalSeconds = AppConfig.getLong("cache.rooms.refreshSeconds", 30);
+    }
+
+    public static RoomCatalog getInstance() {
+        if (instance == null) {
+            synchronized (RoomCatalog.class) {
+                if (instance == null) {
+                    instance = new RoomCatalog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Las habitaciones de la instantánea son compartidas: quien las lee no debe modificarlas
+    public Snapshot snapshot() throws SQLException {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : load();
+    }
+
+    public boolean isLoaded() {
+        return current.get() != null;
+    }
+
+    // Consulta solo la instantánea publicada, sin cargarla
+    public boolean contains(Long roomId) {
+        Snapshot snapshot = current.get();
+        return snapshot != null && snapshot.get(roomId) != null;
+    }
+
+    public synchronized void refresh() throws SQLException {
+        Snapshot before = current.get();
+        Long checksum = roomDAO.checksum();
+        List<Room> rooms = roomDAO.findAll();
+        Snapshot loaded = Snapshot.of(before == null ? 1 : before.version + 1, rooms.toArray(new Room[0]));
+
+        // Si entretanto hubo una escritura local se descarta la carga y se reintenta en la próxima revisión
+        if (current.compareAndSet(before, loaded)) {
+            lastChecksum = checksum;
+        } else {
+            lastChecksum = null;
+        }
+    }
+
+    public void onRoomSaved(Room room) {
+        if (room.getId() == null) {
+            return;
+        }
+        Room copy = copyOf(room);
+        update(snapshot -> snapshot.with(copy));
+    }
+
+    public void onRoomRemoved(Long roomId) {
+        update(snapshot -> snapshot.without(roomId));
+    }
+
+    public synchronized void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    private synchronized Snapshot load() throws SQLException {
+        if (current.get() == null) {
+            refresh();
+            startRefresher();
+        }
+        return current.get();
+    }
+
+    private void update(UnaryOperator<Snapshot> change) {
+        Snapshot snapshot;
+        do {
+            snapshot = current.get();
+            if (snapshot == null) {
+                return;
+            }
+        } while (!current.compareAndSet(snapshot, change.apply(snapshot)));
+    }
+
+    private void startRefresher() {
+        if (refresher != null || refreshIntervalSeconds <= 0) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "room-catalog-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshIfChanged,
+                refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void refreshIfChanged() {
+        try {
+            Long checksum = roomDAO.checksum();
+            if (checksum == null || !checksum.equals(lastChecksum)) {
+                refresh();
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo comprobar el catálogo de habitaciones", e);
+        }
+    }
+
+    public static Room copyOf(Room room) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setNumero(room.getNumero());
+        copy.setTipo(room.getTipo());
+        copy.setPrecioPorNoche(room.getPrecioPorNoche());
+        copy.setCapacidadMaxima(room.getCapacidadMaxima());
+        copy.setDisponible(room.isAvailable());
+        return copy;
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final Room[] byNumero;
+        private final Room[] byPrice;
+        private final Map<Long, Room> byId;
+
+        private Snapshot(long version, Room[] byNumero, Room[] byPrice, Map<Long, Room> byId) {
+            this.version = version;
+            this.byNumero = byNumero;
+            this.byPrice = byPrice;
+            this.byId = byId;
+        }
+
+        private static Snapshot of(long version, Room[] rooms) {
+            Room[] byNumero = rooms.clone();
+            Arrays.sort(byNumero, NUMBER_ORDER);
+            Room[] byPrice = rooms.clone();
+            Arrays.sort(byPrice, PRICE_ORDER);
+            Map<Long, Room> byId = new HashMap<>(rooms.length * 2);
+            for (Room room : rooms) {
+                byId.put(room.getId(), room);
+            }
+            return new Snapshot(version, byNumero, byPrice, byId);
+        }
+
+        private Snapshot with(Room room) {
+            List<Room> rooms = new ArrayList<>(byNumero.length + 1);
+            for (Room r : byNumero) {
+                if (!r.getId().equals(room.getId())) {
+                    rooms.add(r);
+                }
+            }
+            rooms.add(room);
+            return of(version + 1, rooms.toArray(new Room[0]));
+        }
+
+        private Snapshot without(Long roomId) {
+            if (!byId.containsKey(roomId)) {
+                return this;
+            }
+            Room[] rooms = Arrays.stream(byNumero)
+                    .filter(r -> !r.getId().equals(roomId))
+                    .toArray(Room[]::new);
+            return of(version + 1, rooms);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public Room get(Long id) {
+            return byId.get(id);
+        }
+
+        public int size() {
+            return byNumero.length;
+        }
+
+        public Room getByNumberOrder(int index) {
+            return byNumero[index];
+        }
+
+        Room[] byPrice() {
+            return byPrice;
+        }
+    }
+}
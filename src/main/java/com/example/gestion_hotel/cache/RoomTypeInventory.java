@@ -0,0 +1,356 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Inventario por tipo de habitación: para cada tipo y cada noche desde la última reconstrucción
+ * hasta inventory.horizonDays, cuántas habitaciones tienen una reserva ACTIVA (con los extremos
+ * incluidos, como findAvailableRooms). Consultar lo que queda libre es leer un contador.
+ * Cada reserva aplicada se recuerda por ID, así que volver a aplicar la misma reserva no
+ * cuenta dos veces. Los contadores no se modifican en sitio: cada cambio copia los arrays de
+ * los tipos afectados y publica un estado nuevo de una vez, así que una lectura ve la reserva
+ * entera o nada de ella. Una revisión periódica recalcula los contadores desde la base de datos y
+ * los reconstruye si no coinciden (también renueva el horizonte).
+ */
+public class RoomTypeInventory {
+    private static final Logger LOGGER = Logger.getLogger(RoomTypeInventory.class.getName());
+    private static final TipoHabitacion[] TIPOS = TipoHabitacion.values();
+
+    private static volatile RoomTypeInventory instance;
+
+    private final ReservationDao reservationDAO;
+    private final RoomCatalog roomCatalog;
+    private final int horizonDays;
+    private final long checkIntervalMinutes;
+
+    private volatile State state;
+    private volatile Totals totals;
+    private ScheduledExecutorService checker;
+
+    private RoomTypeInventory() {
+        this.reservationDAO = DaoFactory.getInstance().reservationDao();
+        this.roomCatalog = RoomCatalog.getInstance();
+        this.horizonDays = AppConfig.getInt("inventory.horizonDays", 730);
+        this.checkIntervalMinutes = AppConfig.getLong("inventory.checkIntervalMinutes", 60);
+    }
+
+    public static RoomTypeInventory getInstance() {
+        if (instance == null) {
+            synchronized (RoomTypeInventory.class) {
+                if (instance == null) {
+                    instance = new RoomTypeInventory();
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Habitaciones de ese tipo libres esa noche (nunca negativo)
+    public int getRemaining(TipoHabitacion tipo, LocalDate night) throws SQLException {
+        return Math.max(0, getTotal(tipo) - getBooked(tipo, night));
+    }
+
+    // Mínimo de habitaciones libres de ese tipo en todas las noches de [from, to]
+    public int getMinRemaining(TipoHabitacion tipo, LocalDate from, LocalDate to) throws SQLException {
+        State current = loaded();
+        int total = getTotal(tipo);
+        int[] booked = current.booked[tipo.ordinal()];
+        int maxBooked = 0;
+        for (int day = current.indexOf(from), last = current.indexOf(to); day <= last; day++) {
+            maxBooked = Math.max(maxBooked, booked[day]);
+        }
+        return Math.max(0, total - maxBooked);
+    }
+
+    public int getBooked(TipoHabitacion tipo, LocalDate night) throws SQLException {
+        State current = loaded();
+        return current.booked[tipo.ordinal()][current.indexOf(night)];
+    }
+
+    // Habitaciones de ese tipo marcadas como disponibles en el catálogo
+    public int getTotal(TipoHabitacion tipo) throws SQLException {
+        RoomCatalog.Snapshot snapshot = roomCatalog.snapshot();
+        Totals current = totals;
+        if (current == null || current.catalogVersion != snapshot.getVersion()) {
+            current = Totals.of(snapshot);
+            totals = current;
+        }
+        return current.byType[tipo.ordinal()];
+    }
+
+    public LocalDate getLastNight() throws SQLException {
+        State current = loaded();
+        return LocalDate.ofEpochDay(current.baseDay + current.horizon - 1);
+    }
+
+    public synchronized void rebuild() throws SQLException {
+        state = build(LocalDate.now().toEpochDay());
+    }
+
+    // Compara las noches desde hoy con un recálculo completo; si hay diferencias, reconstruye
+    public synchronized InventoryCheck checkAndRepair() throws SQLException {
+        State current = state;
+        if (current == null) {
+            rebuild();
+            return new InventoryCheck(0, 0, 0, null, null, 0, 0);
+        }
+
+        State expected = build(current.baseDay);
+        int firstDay = (int) Math.max(0, LocalDate.now().toEpochDay() - current.baseDay);
+        int checked = 0;
+        int drifted = 0;
+        int maxDifference = 0;
+        TipoHabitacion firstTipo = null;
+        int firstNight = 0;
+        int firstExpected = 0;
+        int firstActual = 0;
+        for (TipoHabitacion tipo : TIPOS) {
+            int[] actualCounts = current.booked[tipo.ordinal()];
+            int[] expectedCounts = expected.booked[tipo.ordinal()];
+            for (int day = firstDay; day < current.horizon; day++) {
+                checked++;
+                int difference = Math.abs(actualCounts[day] - expectedCounts[day]);
+                if (difference != 0) {
+                    if (drifted++ == 0) {
+                        firstTipo = tipo;
+                        firstNight = day;
+                        firstExpected = expectedCounts[day];
+                        firstActual = actualCounts[day];
+                    }
+                    maxDifference = Math.max(maxDifference, difference);
+                }
+            }
+        }
+
+        InventoryCheck check = new InventoryCheck(checked, drifted, maxDifference, firstTipo,
+                LocalDate.ofEpochDay(current.baseDay + firstNight), firstExpected, firstActual);
+        if (check.hasDrift()) {
+            LOGGER.warning("Inventario por tipo desincronizado, se reconstruye: " + check);
+        }
+        // También sin diferencias, para que el horizonte avance con los días
+        state = build(LocalDate.now().toEpochDay());
+        return check;
+    }
+
+    public synchronized void onReservationSaved(Reservation reservation) {
+        State current = state;
+        if (current == null || reservation.getId() == null) {
+            return;
+        }
+        State next = current.copy();
+        Stay previous = next.stays.remove(reservation.getId());
+        if (previous != null) {
+            next.apply(previous, -1);
+        }
+        if (reservation.getEstado() == EstadoReserva.ACTIVA) {
+            Stay stay = stayOf(reservation);
+            if (stay != null) {
+                next.stays.put(reservation.getId(), stay);
+                next.apply(stay, 1);
+            }
+        }
+        state = next;
+    }
+
+    // Quita las estancias con salida anterior a 'before' (ya completadas); devuelve cuántas quitó
+    public synchronized int onCheckedOutBefore(LocalDate before) {
+        State current = state;
+        if (current == null) {
+            return 0;
+        }
+        long day = before.toEpochDay();
+        State next = null;
+        int removed = 0;
+        for (Map.Entry<Long, Stay> entry : current.stays.entrySet()) {
+            if (entry.getValue().lastDay < day) {
+                if (next == null) {
+                    next = current.copy();
+                }
+                next.apply(entry.getValue(), -1);
+                removed++;
+            }
+        }
+        if (next != null) {
+            next.stays.values().removeIf(stay -> stay.lastDay < day);
+            state = next;
+        }
+        return removed;
+    }
+
+    public synchronized void onReservationRemoved(Long reservationId) {
+        State current = state;
+        if (current != null && current.stays.containsKey(reservationId)) {
+            State next = current.copy();
+            next.apply(next.stays.remove(reservationId), -1);
+            state = next;
+        }
+    }
+
+    public synchronized void start() {
+        if (checker != null || checkIntervalMinutes <= 0) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "room-type-inventory-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkScheduled, checkIntervalMinutes, checkIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+
+    private void checkScheduled() {
+        try {
+            checkAndRepair();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "No se pudo revisar el inventario por tipo de habitación", e);
+        }
+    }
+
+    private State loaded() throws SQLException {
+        State current = state;
+        if (current == null) {
+            synchronized (this) {
+                if (state == null) {
+                    rebuild();
+                }
+                current = state;
+            }
+        }
+        return current;
+    }
+
+    // Se llama con el monitor tomado: las reservas confirmadas durante la consulta se aplican después
+    private State build(long baseDay) throws SQLException {
+        State built = new State(baseDay, horizonDays);
+        List<Reservation> active = reservationDAO.findActiveReservations();
+        for (Reservation reservation : active) {
+            Stay stay = stayOf(reservation);
+            if (stay != null) {
+                built.stays.put(reservation.getId(), stay);
+                built.apply(stay, 1);
+            }
+        }
+        return built;
+    }
+
+    private Stay stayOf(Reservation reservation) {
+        RoomCatalog.Snapshot snapshot;
+        try {
+            snapshot = roomCatalog.snapshot();
+        } catch (SQLException e) {
+            return null;
+        }
+        Room room = snapshot.get(reservation.getRoomId());
+        if (room == null) {
+            return null;
+        }
+        return new Stay(room.getTipo(), reservation.getFechaCheckIn().toEpochDay(),
+                reservation.getFechaCheckOut().toEpochDay());
+    }
+
+    private static final class Stay {
+        private final TipoHabitacion tipo;
+        private final long firstDay;
+        private final long lastDay;
+
+        private Stay(TipoHabitacion tipo, long firstDay, long lastDay) {
+            this.tipo = tipo;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+        }
+    }
+
+    private static final class State {
+        private final long baseDay;
+        private final int horizon;
+        private final int[][] booked;
+        // Solo se modifica con el monitor tomado y antes de publicar el estado; las lecturas no lo usan
+        private final Map<Long, Stay> stays;
+        private final boolean[] copied = new boolean[TIPOS.length];
+
+        private State(long baseDay, int horizon) {
+            this(baseDay, horizon, new int[TIPOS.length][horizon], new HashMap<>());
+            Arrays.fill(copied, true);
+        }
+
+        private State(long baseDay, int horizon, int[][] booked, Map<Long, Stay> stays) {
+            this.baseDay = baseDay;
+            this.horizon = horizon;
+            this.booked = booked;
+            this.stays = stays;
+        }
+
+        // Comparte los arrays hasta que apply los copia; el mapa de estancias pasa al nuevo estado
+        private State copy() {
+            return new State(baseDay, horizon, booked.clone(), stays);
+        }
+
+        private void apply(Stay stay, int delta) {
+            int tipo = stay.tipo.ordinal();
+            if (!copied[tipo]) {
+                booked[tipo] = booked[tipo].clone();
+                copied[tipo] = true;
+            }
+            int[] counts = booked[tipo];
+            long from = Math.max(stay.firstDay, baseDay);
+            long to = Math.min(stay.lastDay, baseDay + horizon - 1);
+            for (long day = from; day <= to; day++) {
+                counts[(int) (day - baseDay)] += delta;
+            }
+        }
+
+        private int indexOf(LocalDate night) {
+            long index = night.toEpochDay() - baseDay;
+            if (index < 0 || index >= horizon) {
+                throw new IllegalArgumentException("La noche " + night + " está fuera del inventario ("
+                        + LocalDate.ofEpochDay(baseDay) + " a " + LocalDate.ofEpochDay(baseDay + horizon - 1) + ")");
+            }
+            return (int) index;
+        }
+    }
+
+    private static final class Totals {
+        private final long catalogVersion;
+        private final int[] byType = new int[TIPOS.length];
+
+        private Totals(long catalogVersion) {
+            this.catalogVersion = catalogVersion;
+        }
+
+        private static Totals of(RoomCatalog.Snapshot snapshot) {
+            Totals totals = new Totals(snapshot.getVersion());
+            for (int i = 0; i < snapshot.size(); i++) {
+                Room room = snapshot.getByNumberOrder(i);
+                if (room.isAvailable()) {
+                    totals.byType[room.getTipo().ordinal()]++;
+                }
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.dao.memory.InMemoryDatabase;
+import com.example.gestion_hotel.dao.memory.InMemoryGuestDao;
+import com.example.gestion_hotel.dao.memory.InMemoryReservationDao;
+import com.example.gestion_hotel.dao.memory.InMemoryRoomDao;
+import com.example.gestion_hotel.metrics.MetricsRegistry;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.util.Locale;
+
+/*
+ * Elige la implementación de los DAO según hotel.backend: "jdbc" (MySQL, por defecto) o
+ * "memory" (todo en memoria, sin base de datos). Los DAO de memoria comparten una misma
+ * InMemoryDatabase para que las claves foráneas y los índices sean coherentes entre sí.
+ * Cada DAO se entrega envuelto por MetricsRegistry para medir sus métodos.
+ */
+public final class DaoFactory {
+    private static volatile DaoFactory instance;
+
+    private final GuestDao guestDao;
+    private final RoomDao roomDao;
+    private final ReservationDao reservationDao;
+
+    private DaoFactory(String backend) {
+        GuestDao guests;
+        RoomDao rooms;
+        ReservationDao reservations;
+        switch (backend.trim().toLowerCase(Locale.ROOT)) {
+            case "jdbc":
+                guests = new JdbcGuestDao();
+                rooms = new JdbcRoomDao();
+                reservations = new JdbcReservationDao();
+                break;
+            case "memory":
+                InMemoryDatabase database = new InMemoryDatabase();
+                guests = new InMemoryGuestDao(database);
+                rooms = new InMemoryRoomDao(database);
+                reservations = new InMemoryReservationDao(database);
+                break;
+            default:
+                throw new IllegalStateException("Backend de datos desconocido: " + backend);
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.guestDao = metrics.instrument(GuestDao.class, guests);
+        this.roomDao = metrics.instrument(RoomDao.class, rooms);
+        this.reservationDao = metrics.instrument(ReservationDao.class, reservations);
+    }
+
+    public static DaoFactory getInstance() {
+        if (instance == null) {
+            synchronized (DaoFactory.class) {
+                if (instance == null) {
+                    instance = new DaoFactory(AppConfig.getString("hotel.backend", "jdbc"));
+                }
+            }
+        }
+        return instance;
+    }
+
+    public GuestDao guestDao() {
+        return guestDao;
+    }
+
+    public RoomDao roomDao() {
+        return roomDao;
+    }
+
+    public ReservationDao reservationDao() {
+        return reservationDao;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.gestion_hotel.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Tabla precalculada para decodificar columnas de tipo enum sin Enum.valueOf por fila
+final class EnumLookup<E extends Enum<E>> {
+    private static final int TABLE_SIZE = 128;
+
+    private final Class<E> type;
+    private final Object[][] byFirstChar = new Object[TABLE_SIZE][];
+
+    private EnumLookup(Class<E> type) {
+        this.type = type;
+        List<List<E>> buckets = new ArrayList<>(TABLE_SIZE);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            buckets.add(new ArrayList<>(1));
+        }
+        for (E constant : type.getEnumConstants()) {
+            buckets.get(constant.name().charAt(0) & (TABLE_SIZE - 1)).add(constant);
+        }
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            byFirstChar[i] = buckets.get(i).toArray();
+        }
+    }
+
+    static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return new EnumLookup<>(type);
+    }
+
+    E decode(String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        if (!value.isEmpty()) {
+            for (Object candidate : byFirstChar[value.charAt(0) & (TABLE_SIZE - 1)]) {
+                E constant = type.cast(candidate);
+                if (constant.name().equals(value)) {
+                    return constant;
+                }
+            }
+        }
+        throw new SQLException("Valor desconocido para " + type.getSimpleName() + ": " + value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.DatabaseConnection;
+import com.example.gestion_hotel.util.TransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Utilidades comunes para inserciones/actualizaciones por lotes y consultas IN (...)
+final class JdbcBatch {
+    static final int BATCH_SIZE = AppConfig.getInt("db.batch.size", 500);
+
+    private JdbcBatch() {}
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface IdSetter<T> {
+        void setId(T item, long id);
+    }
+
+    // Cada bloque se confirma en su propia transacción salvo que ya haya una en curso
+    static <T> List<T> insert(DatabaseConnection dbConnection, String sql, List<T> items,
+                              Binder<T> binder, IdSetter<T> idSetter, String entityName) throws SQLException {
+        for (List<T> chunk : chunks(items, BATCH_SIZE)) {
+            TransactionManager.execute(() -> {
+                try (Connection conn = dbConnection.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                    for (T item : chunk) {
+                        binder.bind(stmt, item);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    // MySQL devuelve las claves generadas en el mismo orden del lote
+                    int index = 0;
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        while (generatedKeys.next() && index < chunk.size()) {
+                            idSetter.setId(chunk.get(index++), generatedKeys.getLong(1));
+                        }
+                    }
+                    if (index != chunk.size()) {
+                        throw new SQLException("Error al crear " + entityName + " por lotes: se esperaban "
+                                + chunk.size() + " IDs generados y se obtuvieron " + index);
+                    }
+                }
+                return null;
+            });
+        }
+        return items;
+    }
+
+    static <T> List<T> update(DatabaseConnection dbConnection, String sql, List<T> items,
+                              Binder<T> binder, String entityName) throws SQLException {
+        for (List<T> chunk : chunks(items, BATCH_SIZE)) {
+            TransactionManager.execute(() -> {
+                try (Connection conn = dbConnection.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    for (T item : chunk) {
+                        binder.bind(stmt, item);
+                        stmt.addBatch();
+                    }
+                    int[] counts = stmt.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            throw new SQLException("Error al actualizar " + entityName
+                                    + " por lotes, no existe el registro: " + chunk.get(i));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        return items;
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    static <T> List<List<T>> chunks(Collection<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> current = new ArrayList<>(Math.min(size, items.size()));
+        for (T item : items) {
+            current.add(item);
+            if (current.size() == size) {
+                chunks.add(current);
+                current = new ArrayList<>(size);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.GuestSummary;
+import com.example.gestion_hotel.util.DatabaseConnection;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class JdbcGuestDao implements GuestDao {
+    private final DatabaseConnection dbConnection;
+
+    public JdbcGuestDao() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    // Orden fijo de columnas: los mappers leen por posición
+    static final String COLUMNS = "id, nombre, email, telefono, fecha_registro";
+    static final String SUMMARY_COLUMNS = "id, nombre";
+
+    private static final String INSERT_SQL = "INSERT INTO guests (nombre, email, telefono, fecha_registro) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE guests SET nombre = ?, email = ?, telefono = ? WHERE id = ?";
+
+    @Override
+    public Guest create(Guest guest) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            bindInsert(stmt, guest);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Error al crear el huésped, no se insertaron filas.");
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    guest.setId(generatedKeys.getLong(1));
+                } else {
+                    throw new SQLException("Error al crear el huésped, no se generó ID.");
+                }
+            }
+        }
+        return guest;
+    }
+
+    @Override
+    public Optional<Guest> findById(Long id) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM guests WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapRow(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Guest> findByEmail(String email) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM guests WHERE email = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapRow(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Guest> findAll() throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM guests ORDER BY nombre";
+        List<Guest> guests = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                guests.add(mapRow(rs));
+            }
+        }
+        return guests;
+    }
+
+    // Paginación por cursor sobre (nombre, id): el coste no depende de la posición de la página
+    @Override
+    public List<Guest> findPage(String afterNombre, Long afterId, int limit) throws SQLException {
+        String sql = afterId == null
+                ? "SELECT " + COLUMNS + " FROM guests ORDER BY nombre, id LIMIT ?"
+                : "SELECT " + COLUMNS + " FROM guests WHERE nombre > ? OR (nombre = ? AND id > ?) ORDER BY nombre, id LIMIT ?";
+        List<Guest> guests = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                stmt.setString(index++, afterNombre);
+                stmt.setString(index++, afterNombre);
+                stmt.setLong(index++, afterId);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    guests.add(mapRow(rs));
+                }
+            }
+        }
+        return guests;
+    }
+
+    // Proyección reducida (id y nombre) para listas de selección
+    @Override
+    public List<GuestSummary> findAllSummaries() throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM guests ORDER BY nombre, id";
+        List<GuestSummary> guests = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                guests.add(mapSummary(rs));
+            }
+        }
+        return guests;
+    }
+
+    // El Stream debe cerrarse (try-with-resources) para liberar la conexión
+    @Override
+    public Stream<Guest> streamAll() throws SQLException {
+        return JdbcStreams.stream(dbConnection, "SELECT " + COLUMNS + " FROM guests ORDER BY id", JdbcGuestDao::mapRow);
+    }
+
+    @Override
+    public List<Guest> createAll(List<Guest> guests) throws SQLException {
+        return JdbcBatch.insert(dbConnection, INSERT_SQL, guests, JdbcGuestDao::bindInsert, Guest::setId, "huéspedes");
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) throws SQLException {
+        Set<String> existing = new HashSet<>();
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (List<String> chunk : JdbcBatch.chunks(emails, JdbcBatch.BATCH_SIZE)) {
+                String sql = "SELECT email FROM guests WHERE email IN (" + JdbcBatch.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) throws SQLException {
+        Set<Long> existing = new HashSet<>();
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (List<Long> chunk : JdbcBatch.chunks(ids, JdbcBatch.BATCH_SIZE)) {
+                String sql = "SELECT id FROM guests WHERE id IN (" + JdbcBatch.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public Guest update(Guest guest) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+
+            bindUpdate(stmt, guest);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Error al actualizar el huésped, no existe el ID: " + guest.getId());
+            }
+        }
+        return guest;
+    }
+
+    @Override
+    public List<Guest> updateAll(List<Guest> guests) throws SQLException {
+        return JdbcBatch.update(dbConnection, UPDATE_SQL, guests, JdbcGuestDao::bindUpdate, "huéspedes");
+    }
+
+    @Override
+    public boolean delete(Long id) throws SQLException {
+        String sql = "DELETE FROM guests WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Guest guest) throws SQLException {
+        stmt.setString(1, guest.getNombre());
+        stmt.setString(2, guest.getEmail());
+        stmt.setString(3, guest.getTelefono());
+        stmt.setTimestamp(4, Timestamp.valueOf(guest.getFechaRegistro()));
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Guest guest) throws SQLException {
+        stmt.setString(1, guest.getNombre());
+        stmt.setString(2, guest.getEmail());
+        stmt.setString(3, guest.getTelefono());
+        stmt.setLong(4, guest.getId());
+    }
+
+    static Guest mapRow(ResultSet rs) throws SQLException {
+        Guest guest = new Guest();
+        guest.setId(rs.getLong(1));
+        guest.setNombre(rs.getString(2));
+        guest.setEmail(rs.getString(3));
+        guest.setTelefono(rs.getString(4));
+
+        Timestamp timestamp = rs.getTimestamp(5);
+        if (timestamp != null) {
+            guest.setFechaRegistro(timestamp.toLocalDateTime());
+        }
+
+        return guest;
+    }
+
+    static GuestSummary mapSummary(ResultSet rs) throws SQLException {
+        return new GuestSummary(rs.getLong(1), rs.getString(2));
+    }
+}
@@ -0,0 +1,471 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.util.DatabaseConnection;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class JdbcReservationDao implements ReservationDao {
+
+    private final DatabaseConnection dbConnection;
+
+    public JdbcReservationDao() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    // Orden fijo de columnas: los mappers leen por posición
+    static final String COLUMNS = "id, guest_id, room_id, fecha_check_in, fecha_check_out, numero_huespedes, monto_total, estado, fecha_creacion";
+
+    private static final EnumLookup<EstadoReserva> ESTADOS = EnumLookup.of(EstadoReserva.class);
+
+    private static final String INSERT_SQL = "INSERT INTO reservations (guest_id, room_id, fecha_check_in, fecha_check_out, numero_huespedes, monto_total, estado, fecha_creacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE reservations SET fecha_check_in = ?, fecha_check_out = ?, numero_huespedes = ?, monto_total = ?, estado = ? WHERE id = ?";
+    private static final String ARCHIVABLE_SQL = "SELECT id FROM reservations WHERE estado IN ('COMPLETADA', 'CANCELADA') AND fecha_check_out < ? ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String COMPLETE_SQL = "UPDATE reservations SET estado = 'COMPLETADA' WHERE estado = 'ACTIVA' AND fecha_check_out < ? ORDER BY fecha_check_out, id LIMIT ?";
+
+    @Override
+    public Reservation create(Reservation reservation) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            bindInsert(stmt, reservation);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Error al crear la reserva, no se insertaron filas.");
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    reservation.setId(generatedKeys.getLong(1));
+                } else {
+                    throw new SQLException("Error al crear la reserva, no se generó ID.");
+                }
+            }
+        }
+        return reservation;
+    }
+
+    @Override
+    public Optional<Reservation> findById(Long id) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM reservations WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapRow(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Reservation> findByGuestId(Long guestId) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM reservations WHERE guest_id = ? ORDER BY fecha_creacion DESC";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, guestId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRow(rs));
+                }
+            }
+        }
+        return reservations;
+    }
+
+    @Override
+    public List<Reservation> findByGuestIdWithArchive(Long guestId) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM reservations WHERE guest_id = ?"
+                + " UNION ALL SELECT " + COLUMNS + " FROM reservations_archive WHERE guest_id = ?"
+                + " ORDER BY fecha_creacion DESC, id DESC";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, guestId);
+            stmt.setLong(2, guestId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRow(rs));
+                }
+            }
+        }
+        return reservations;
+    }
+
+    @Override
+    public List<Reservation> findByRoomId(Long roomId) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM reservations WHERE room_id = ? ORDER BY fecha_check_in";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, roomId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRow(rs));
+                }
+            }
+        }
+        return reservations;
+    }
+
+    @Override
+    public List<Reservation> findActiveReservations() throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM reservations WHERE estado = 'ACTIVA' ORDER BY fecha_check_in";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                reservations.add(mapRow(rs));
+            }
+        }
+        return reservations;
+    }
+
+    // El Stream debe cerrarse (try-with-resources) para liberar la conexión
+    @Override
+    public Stream<Reservation> streamAll() throws SQLException {
+        return JdbcStreams.stream(dbConnection, "SELECT " + COLUMNS + " FROM reservations ORDER BY id", JdbcReservationDao::mapRow);
+    }
+
+    // Paginación por cursor sobre (fecha_creacion, id) en orden descendente
+    @Override
+    public List<Reservation> findByGuestIdPage(Long guestId, LocalDateTime beforeFechaCreacion, Long beforeId,
+                                               int limit) throws SQLException {
+        String sql = beforeId == null
+                ? "SELECT " + COLUMNS + " FROM reservations WHERE guest_id = ? ORDER BY fecha_creacion DESC, id DESC LIMIT ?"
+                : "SELECT " + COLUMNS + " FROM reservations WHERE guest_id = ? AND (fecha_creacion < ? OR (fecha_creacion = ? AND id < ?)) ORDER BY fecha_creacion DESC, id DESC LIMIT ?";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            stmt.setLong(index++, guestId);
+            if (beforeId != null) {
+                stmt.setTimestamp(index++, Timestamp.valueOf(beforeFechaCreacion));
+                stmt.setTimestamp(index++, Timestamp.valueOf(beforeFechaCreacion));
+                stmt.setLong(index++, beforeId);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRow(rs));
+                }
+            }
+        }
+        return reservations;
+    }
+
+    // Paginación por cursor sobre (fecha_check_in, id)
+    @Override
+    public List<Reservation> findActivePage(LocalDate afterCheckIn, Long afterId, int limit) throws SQLException {
+        String sql = afterId == null
+                ? "SELECT " + COLUMNS + " FROM reservations WHERE estado = 'ACTIVA' ORDER BY fecha_check_in, id LIMIT ?"
+                : "SELECT " + COLUMNS + " FROM reservations WHERE estado = 'ACTIVA' AND (fecha_check_in > ? OR (fecha_check_in = ? AND id > ?)) ORDER BY fecha_check_in, id LIMIT ?";
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                stmt.setDate(index++, Date.valueOf(afterCheckIn));
+                stmt.setDate(index++, Date.valueOf(afterCheckIn));
+                stmt.setLong(index++, afterId);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapRow(rs));
+                }
+            }
+        }
+        return reservations;
+    }
+
+    // Carga la reserva bloqueando su fila hasta el fin de la transacción en curso
+    @Override
+    public Optional<Reservation> findByIdForUpdate(Long id) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM reservations WHERE id = ? FOR UPDATE";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (conn.getAutoCommit()) {
+                throw new SQLException("findByIdForUpdate requiere una transacción activa");
+            }
+
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapRow(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Bloquea la fila de la habitación hasta el fin de la transacción en curso
+    @Override
+    public boolean lockRoomForUpdate(Long roomId) throws SQLException {
+        String sql = "SELECT id FROM rooms WHERE id = ? FOR UPDATE";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (conn.getAutoCommit()) {
+                throw new SQLException("lockRoomForUpdate requiere una transacción activa");
+            }
+
+            stmt.setLong(1, roomId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public boolean existsOverlappingReservation(Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                                Long excludeReservationId) throws SQLException {
+        // Mismo criterio de solapamiento (extremos incluidos) que RoomDao.findAvailableRooms
+        String sql = """
+            SELECT id FROM reservations
+            WHERE room_id = ?
+            AND estado = 'ACTIVA'
+            AND fecha_check_in <= ?
+            AND fecha_check_out >= ?
+            AND id <> ?
+            LIMIT 1
+            """;
+
+        try (Connection conn = dbConnection.getConnection()) {
+            // Dentro de una transacción se lee la última versión confirmada y no la
+            // instantánea tomada en la primera lectura, que podría ser anterior al bloqueo
+            String query = conn.getAutoCommit() ? sql : sql + "FOR SHARE";
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setLong(1, roomId);
+                stmt.setDate(2, Date.valueOf(checkOut));
+                stmt.setDate(3, Date.valueOf(checkIn));
+                stmt.setLong(4, excludeReservationId != null ? excludeReservationId : 0L);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Reservation> createAll(List<Reservation> reservations) throws SQLException {
+        return JdbcBatch.insert(dbConnection, INSERT_SQL, reservations, JdbcReservationDao::bindInsert,
+                Reservation::setId, "reservas");
+    }
+
+    @Override
+    public Reservation update(Reservation reservation) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+
+            bindUpdate(stmt, reservation);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Error al actualizar la reserva, no existe el ID: " + reservation.getId());
+            }
+        }
+        return reservation;
+    }
+
+    @Override
+    public List<Reservation> updateAll(List<Reservation> reservations) throws SQLException {
+        return JdbcBatch.update(dbConnection, UPDATE_SQL, reservations, JdbcReservationDao::bindUpdate, "reservas");
+    }
+
+    // Bloquea varias habitaciones en orden de ID para evitar interbloqueos
+    @Override
+    public void lockRoomsForUpdate(Collection<Long> roomIds) throws SQLException {
+        List<Long> sortedIds = roomIds.stream().distinct().sorted().toList();
+
+        try (Connection conn = dbConnection.getConnection()) {
+            if (conn.getAutoCommit()) {
+                throw new SQLException("lockRoomsForUpdate requiere una transacción activa");
+            }
+            for (List<Long> chunk : JdbcBatch.chunks(sortedIds, JdbcBatch.BATCH_SIZE)) {
+                String sql = "SELECT id FROM rooms WHERE id IN (" + JdbcBatch.placeholders(chunk.size()) + ") ORDER BY id FOR UPDATE";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            // Solo interesa el bloqueo
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Reservas ACTIVA de las habitaciones indicadas que se solapan con [from, to]
+    @Override
+    public List<Reservation> findActiveOverlapping(Collection<Long> roomIds, LocalDate from, LocalDate to) throws SQLException {
+        List<Reservation> reservations = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (List<Long> chunk : JdbcBatch.chunks(roomIds, JdbcBatch.BATCH_SIZE)) {
+                String sql = "SELECT " + COLUMNS + " FROM reservations WHERE estado = 'ACTIVA' AND fecha_check_in <= ? AND fecha_check_out >= ? AND room_id IN ("
+                        + JdbcBatch.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setDate(1, Date.valueOf(to));
+                    stmt.setDate(2, Date.valueOf(from));
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 3, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            reservations.add(mapRow(rs));
+                        }
+                    }
+                }
+            }
+        }
+        return reservations;
+    }
+
+    // Fuera de una transacción cada llamada confirma por sí sola, así los bloqueos duran un solo bloque
+    @Override
+    public int completeCheckedOutBefore(LocalDate before, int limit) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COMPLETE_SQL)) {
+            stmt.setDate(1, Date.valueOf(before));
+            stmt.setInt(2, limit);
+            return stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public int archiveCheckedOutBefore(LocalDate before, int limit) throws SQLException {
+        try (Connection conn = dbConnection.getConnection()) {
+            if (conn.getAutoCommit()) {
+                throw new SQLException("archiveCheckedOutBefore requiere una transacción activa");
+            }
+
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(ARCHIVABLE_SQL)) {
+                stmt.setDate(1, Date.valueOf(before));
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            String placeholders = JdbcBatch.placeholders(ids.size());
+            String copySql = "INSERT INTO reservations_archive (" + COLUMNS + ") SELECT " + COLUMNS
+                    + " FROM reservations WHERE id IN (" + placeholders + ")";
+            String deleteSql = "DELETE FROM reservations WHERE id IN (" + placeholders + ")";
+            try (PreparedStatement copy = conn.prepareStatement(copySql);
+                 PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                for (int i = 0; i < ids.size(); i++) {
+                    copy.setLong(i + 1, ids.get(i));
+                    delete.setLong(i + 1, ids.get(i));
+                }
+                int copied = copy.executeUpdate();
+                int deleted = delete.executeUpdate();
+                if (copied != ids.size() || deleted != ids.size()) {
+                    throw new SQLException("Archivado incompleto: " + ids.size() + " seleccionadas, "
+                            + copied + " copiadas, " + deleted + " borradas");
+                }
+            }
+            return ids.size();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) throws SQLException {
+        String sql = "DELETE FROM reservations WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Reservation reservation) throws SQLException {
+        stmt.setLong(1, reservation.getGuestId());
+        stmt.setLong(2, reservation.getRoomId());
+        stmt.setDate(3, Date.valueOf(reservation.getFechaCheckIn()));
+        stmt.setDate(4, Date.valueOf(reservation.getFechaCheckOut()));
+        stmt.setInt(5, reservation.getNumeroHuespedes());
+        stmt.setBigDecimal(6, reservation.getMontoTotal());
+        stmt.setString(7, reservation.getEstado().name());
+        stmt.setTimestamp(8, Timestamp.valueOf(reservation.getFechaCreacion()));
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Reservation reservation) throws SQLException {
+        stmt.setDate(1, Date.valueOf(reservation.getFechaCheckIn()));
+        stmt.setDate(2, Date.valueOf(reservation.getFechaCheckOut()));
+        stmt.setInt(3, reservation.getNumeroHuespedes());
+        stmt.setBigDecimal(4, reservation.getMontoTotal());
+        stmt.setString(5, reservation.getEstado().name());
+        stmt.setLong(6, reservation.getId());
+    }
+
+    static Reservation mapRow(ResultSet rs) throws SQLException {
+        Reservation reservation = new Reservation();
+        reservation.setId(rs.getLong(1));
+        reservation.setGuestId(rs.getLong(2));
+        reservation.setRoomId(rs.getLong(3));
+
+        Date checkInDate = rs.getDate(4);
+        if (checkInDate != null) {
+            reservation.setFechaCheckIn(checkInDate.toLocalDate());
+        }
+
+        Date checkOutDate = rs.getDate(5);
+        if (checkOutDate != null) {
+            reservation.setFechaCheckOut(checkOutDate.toLocalDate());
+        }
+
+        reservation.setNumeroHuespedes(rs.getInt(6));
+        reservation.setMontoTotal(rs.getBigDecimal(7));
+        reservation.setEstado(ESTADOS.decode(rs.getString(8)));
+
+        Timestamp timestamp = rs.getTimestamp(9);
+        if (timestamp != null) {
+            reservation.setFechaCreacion(timestamp.toLocalDateTime());
+        }
+
+        return reservation;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.RoomStay;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.util.DatabaseConnection;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class JdbcRoomDao implements RoomDao {
+    private final DatabaseConnection dbConnection;
+
+    public JdbcRoomDao() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    // Orden fijo de columnas: los mappers leen por posición
+    static final String COLUMNS = "id, numero, tipo, precio_por_noche, capacidad_maxima, disponible";
+
+    private static final EnumLookup<TipoHabitacion> TIPOS = EnumLookup.of(TipoHabitacion.class);
+
+    private static final String INSERT_SQL = "INSERT INTO rooms (numero, tipo, precio_por_noche, capacidad_maxima, disponible) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE rooms SET numero = ?, tipo = ?, precio_por_noche = ?, capacidad_maxima = ?, disponible = ? WHERE id = ?";
+
+    @Override
+    public Room create(Room room) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            bindInsert(stmt, room);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Error al crear la habitación, no se insertaron filas.");
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    room.setId(generatedKeys.getLong(1));
+                } else {
+                    throw new SQLException("Error al crear la habitación, no se generó ID.");
+                }
+            }
+        }
+        return room;
+    }
+
+    @Override
+    public Optional<Room> findById(Long id) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM rooms WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapRow(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) throws SQLException {
+        String sql = """
+            SELECT r.id, r.numero, r.tipo, r.precio_por_noche, r.capacidad_maxima, r.disponible FROM rooms r
+            WHERE r.disponible = true
+            AND r.capacidad_maxima >= ?
+            AND r.id NOT IN (
+                SELECT res.room_id FROM reservations res
+                WHERE res.estado = 'ACTIVA'
+                AND ((res.fecha_check_in BETWEEN ? AND ?)
+                OR (res.fecha_check_out BETWEEN ? AND ?)
+                OR (res.fecha_check_in <= ? AND res.fecha_check_out >= ?))
+            )
+            ORDER BY r.precio_por_noche
+            """;
+
+        List<Room> availableRooms = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, numGuests);
+            stmt.setDate(2, Date.valueOf(checkIn));
+            stmt.setDate(3, Date.valueOf(checkOut));
+            stmt.setDate(4, Date.valueOf(checkIn));
+            stmt.setDate(5, Date.valueOf(checkOut));
+            stmt.setDate(6, Date.valueOf(checkIn));
+            stmt.setDate(7, Date.valueOf(checkOut));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    availableRooms.add(mapRow(rs));
+                }
+            }
+        }
+        return availableRooms;
+    }
+
+    @Override
+    public List<RoomStay> findActiveStays(LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT room_id, fecha_check_in, fecha_check_out FROM reservations"
+                + " WHERE estado = 'ACTIVA' AND fecha_check_in <= ? AND fecha_check_out >= ?";
+        List<RoomStay> stays = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(to));
+            stmt.setDate(2, Date.valueOf(from));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    stays.add(new RoomStay(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getDate(3).toLocalDate()));
+                }
+            }
+        }
+        return stays;
+    }
+
+    @Override
+    public List<Room> findAll() throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM rooms ORDER BY numero";
+        List<Room> rooms = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                rooms.add(mapRow(rs));
+            }
+        }
+        return rooms;
+    }
+
+    // Suma de verificación de la tabla, para detectar cambios hechos desde otras instancias
+    @Override
+    public Long checksum() throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("CHECKSUM TABLE rooms")) {
+
+            if (rs.next()) {
+                long checksum = rs.getLong("Checksum");
+                return rs.wasNull() ? null : checksum;
+            }
+        }
+        return null;
+    }
+
+    // Paginación por cursor sobre (numero, id)
+    @Override
+    public List<Room> findPage(String afterNumero, Long afterId, int limit) throws SQLException {
+        String sql = afterId == null
+                ? "SELECT " + COLUMNS + " FROM rooms ORDER BY numero, id LIMIT ?"
+                : "SELECT " + COLUMNS + " FROM rooms WHERE numero > ? OR (numero = ? AND id > ?) ORDER BY numero, id LIMIT ?";
+        List<Room> rooms = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId != null) {
+                stmt.setString(index++, afterNumero);
+                stmt.setString(index++, afterNumero);
+                stmt.setLong(index++, afterId);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rooms.add(mapRow(rs));
+                }
+            }
+        }
+        return rooms;
+    }
+
+    @Override
+    public List<Room> createAll(List<Room> rooms) throws SQLException {
+        return JdbcBatch.insert(dbConnection, INSERT_SQL, rooms, JdbcRoomDao::bindInsert, Room::setId, "habitaciones");
+    }
+
+    @Override
+    public List<Room> findByIds(Collection<Long> ids) throws SQLException {
+        List<Room> rooms = new ArrayList<>();
+
+        try (Connection conn = dbConnection.getConnection()) {
+            for (List<Long> chunk : JdbcBatch.chunks(ids, JdbcBatch.BATCH_SIZE)) {
+                String sql = "SELECT " + COLUMNS + " FROM rooms WHERE id IN (" + JdbcBatch.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            rooms.add(mapRow(rs));
+                        }
+                    }
+                }
+            }
+        }
+        return rooms;
+    }
+
+    @Override
+    public Room update(Room room) throws SQLException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+
+            bindUpdate(stmt, room);
+
+            int rowsAffected = stmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new SQLException("Error al actualizar la habitación, no existe el ID: " + room.getId());
+            }
+        }
+        return room;
+    }
+
+    @Override
+    public List<Room> updateAll(List<Room> rooms) throws SQLException {
+        return JdbcBatch.update(dbConnection, UPDATE_SQL, rooms, JdbcRoomDao::bindUpdate, "habitaciones");
+    }
+
+    @Override
+    public boolean delete(Long id) throws SQLException {
+        String sql = "DELETE FROM rooms WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Room room) throws SQLException {
+        stmt.setString(1, room.getNumero());
+        stmt.setString(2, room.getTipo().name());
+        stmt.setBigDecimal(3, room.getPrecioPorNoche());
+        stmt.setInt(4, room.getCapacidadMaxima());
+        stmt.setBoolean(5, room.getDisponible());
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, Room room) throws SQLException {
+        bindInsert(stmt, room);
+        stmt.setLong(6, room.getId());
+    }
+
+    static Room mapRow(ResultSet rs) throws SQLException {
+        Room room = new Room();
+        room.setId(rs.getLong(1));
+        room.setNumero(rs.getString(2));
+        room.setTipo(TIPOS.decode(rs.getString(3)));
+        room.setPrecioPorNoche(rs.getBigDecimal(4));
+        room.setCapacidadMaxima(rs.getInt(5));
+        room.setDisponible(rs.getBoolean(6));
+        return room;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.gestion_hotel.dao;
+
+import com.example.gestion_hotel.exception.DataAccessException;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.DatabaseConnection;
+import com.example.gestion_hotel.util.TransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Recorre un resultado fila a fila sin cargarlo en memoria. Con el fetch size por defecto
+ * (Integer.MIN_VALUE) el driver de MySQL usa un resultado en streaming; la conexión queda
+ * ocupada hasta cerrar el Stream, que la devuelve al pool.
+ */
+final class JdbcStreams {
+    private static final int FETCH_SIZE = AppConfig.getInt("export.fetchSize", Integer.MIN_VALUE);
+
+    private JdbcStreams() {}
+
+    static <T> Stream<T> stream(DatabaseConnection dbConnection, String sql, RowMapper<T> mapper) throws SQLException {
+        if (TransactionManager.isActive()) {
+            throw new SQLException("Las consultas en streaming no pueden ejecutarse dentro de una transacción");
+        }
+
+        Connection conn = dbConnection.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs;
+        try {
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(FETCH_SIZE);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeAll(null, stmt, conn, e);
+            throw e;
+        }
+
+        PreparedStatement statement = stmt;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error al leer el resultado en streaming", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            SQLException error = closeAll(rs, statement, conn, null);
+            if (error != null) {
+                throw new DataAccessException("Error al cerrar el resultado en streaming", error);
+            }
+        });
+    }
+
+    private static SQLException closeAll(ResultSet rs, PreparedStatement stmt, Connection conn, SQLException primary) {
+        SQLException error = primary;
+        for (AutoCloseable resource : new AutoCloseable[]{rs, stmt, conn}) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (error == null) {
+                    error = e instanceof SQLException ? (SQLException) e : new SQLException(e);
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        return primary == null ? error : null;
+    }
+}
@@ -1,174 +1,67 @@
 package com.example.gestion_hotel.dao;
 
-import com.example.gestion_hotel.entity.EstadoReserva;
 import com.example.gestion_hotel.entity.Reservation;
-import com.example.gestion_hotel.util.DatabaseConnection;
-import java.sql.*;
-import java.util.ArrayList;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ReservationDao {
+
+    Reservation create(Reservation reservation) throws SQLException;
+
+    Optional<Reservation> findById(Long id) throws SQLException;
+
+    List<Reservation> findByGuestId(Long guestId) throws SQLException;
+
+    // Historial completo: reservas vigentes más las archivadas, leídas juntas en una sola consulta
+    List<Reservation> findByGuestIdWithArchive(Long guestId) throws SQLException;
+
+    List<Reservation> findByRoomId(Long roomId) throws SQLException;
+
+    List<Reservation> findActiveReservations() throws SQLException;
+
+    // El Stream debe cerrarse (try-with-resources) para liberar sus recursos
+    Stream<Reservation> streamAll() throws SQLException;
+
+    // Paginación por cursor sobre (fecha_creacion, id) en orden descendente
+    List<Reservation> findByGuestIdPage(Long guestId, LocalDateTime beforeFechaCreacion, Long beforeId,
+                                        int limit) throws SQLException;
+
+    // Paginación por cursor sobre (fecha_check_in, id)
+    List<Reservation> findActivePage(LocalDate afterCheckIn, Long afterId, int limit) throws SQLException;
+
+    // Carga la reserva bloqueando su fila hasta el fin de la transacción en curso
+    Optional<Reservation> findByIdForUpdate(Long id) throws SQLException;
+
+    // Bloquea la habitación hasta el fin de la transacción en curso
+    boolean lockRoomForUpdate(Long roomId) throws SQLException;
+
+    boolean existsOverlappingReservation(Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                         Long excludeReservationId) throws SQLException;
+
+    List<Reservation> createAll(List<Reservation> reservations) throws SQLException;
+
+    Reservation update(Reservation reservation) throws SQLException;
+
+    List<Reservation> updateAll(List<Reservation> reservations) throws SQLException;
+
+    // Bloquea varias habitaciones en orden de ID para evitar interbloqueos
+    void lockRoomsForUpdate(Collection<Long> roomIds) throws SQLException;
+
+    // Reservas ACTIVA de las habitaciones indicadas que se solapan con [from, to]
+    List<Reservation> findActiveOverlapping(Collection<Long> roomIds, LocalDate from, LocalDate to) throws SQLException;
+
+    // Pasa a COMPLETADA como mucho 'limit' reservas ACTIVA con salida anterior a 'before'; devuelve cuántas cambió
+    int completeCheckedOutBefore(LocalDate before, int limit) throws SQLException;
+
+    // Mueve a reservations_archive como mucho 'limit' reservas COMPLETADA o CANCELADA con salida
+    // anterior a 'before'; requiere una transacción activa para que copiar y borrar sea atómico
+    int archiveCheckedOutBefore(LocalDate before, int limit) throws SQLException;
 
-public class ReservationDao {
-
-    private final DatabaseConnection dbConnection;
-
-    public ReservationDao() {
-        this.dbConnection = DatabaseConnection.getInstance();
-    }
-
-    public Reservation create(Reservation reservation) throws SQLException {
-        String sql = "INSERT INTO reservations (guest_id, room_id, fecha_check_in, fecha_check_out, numero_huespedes, monto_total, estado, fecha_creacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setLong(1, reservation.getGuestId());
-            stmt.setLong(2, reservation.getRoomId());
-            stmt.setDate(3, Date.valueOf(reservation.getFechaCheckIn()));
-            stmt.setDate(4, Date.valueOf(reservation.getFechaCheckOut()));
-            stmt.setInt(5, reservation.getNumeroHuespedes());
-            stmt.setBigDecimal(6, reservation.getMontoTotal());
-            stmt.setString(7, reservation.getEstado().name());
-            stmt.setTimestamp(8, Timestamp.valueOf(reservation.getFechaCreacion()));
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Error al crear la reserva, no se insertaron filas.");
-            }
-
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    reservation.setId(generatedKeys.getLong(1));
-                } else {
-                    throw new SQLException("Error al crear la reserva, no se generó ID.");
-                }
-            }
-        }
-        return reservation;
-    }
-
-    public Optional<Reservation> findById(Long id) throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE id = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setLong(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToReservation(rs));
-                }
-            }
-        }
-        return Optional.empty();
-    }
-
-    public List<Reservation> findByGuestId(Long guestId) throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE guest_id = ? ORDER BY fecha_creacion DESC";
-        List<Reservation> reservations = new ArrayList<>();
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setLong(1, guestId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reservations.add(mapResultSetToReservation(rs));
-                }
-            }
-        }
-        return reservations;
-    }
-
-    public List<Reservation> findByRoomId(Long roomId) throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE room_id = ? ORDER BY fecha_check_in";
-        List<Reservation> reservations = new ArrayList<>();
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setLong(1, roomId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reservations.add(mapResultSetToReservation(rs));
-                }
-            }
-        }
-        return reservations;
-    }
-
-    public List<Reservation> findActiveReservations() throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE estado = 'ACTIVA' ORDER BY fecha_check_in";
-        List<Reservation> reservations = new ArrayList<>();
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                reservations.add(mapResultSetToReservation(rs));
-            }
-        }
-        return reservations;
-    }
-
-    public Reservation update(Reservation reservation) throws SQLException {
-        String sql = "UPDATE reservations SET fecha_check_in = ?, fecha_check_out = ?, numero_huespedes = ?, monto_total = ?, estado = ? WHERE id = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setDate(1, Date.valueOf(reservation.getFechaCheckIn()));
-            stmt.setDate(2, Date.valueOf(reservation.getFechaCheckOut()));
-            stmt.setInt(3, reservation.getNumeroHuespedes());
-            stmt.setBigDecimal(4, reservation.getMontoTotal());
-            stmt.setString(5, reservation.getEstado().name());
-            stmt.setLong(6, reservation.getId());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Error al actualizar la reserva, no existe el ID: " + reservation.getId());
-            }
-        }
-        return reservation;
-    }
-
-    public boolean delete(Long id) throws SQLException {
-        String sql = "DELETE FROM reservations WHERE id = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setLong(1, id);
-            return stmt.executeUpdate() > 0;
-        }
-    }
-
-    private Reservation mapResultSetToReservation(ResultSet rs) throws SQLException {
-        Reservation reservation = new Reservation();
-        reservation.setId(rs.getLong("id"));
-        reservation.setGuestId(rs.getLong("guest_id"));
-        reservation.setRoomId(rs.getLong("room_id"));
-
-        Date checkInDate = rs.getDate("fecha_check_in");
-        if (checkInDate != null) {
-            reservation.setFechaCheckIn(checkInDate.toLocalDate());
-        }
-
-        Date checkOutDate = rs.getDate("fecha_check_out");
-        if (checkOutDate != null) {
-            reservation.setFechaCheckOut(checkOutDate.toLocalDate());
-        }
-
-        reservation.setNumeroHuespedes(rs.getInt("numero_huespedes"));
-        reservation.setMontoTotal(rs.getBigDecimal("monto_total"));
-        reservation.setEstado(EstadoReserva.valueOf(rs.getString("estado")));
-
-        Timestamp timestamp = rs.getTimestamp("fecha_creacion");
-        if (timestamp != null) {
-            reservation.setFechaCreacion(timestamp.toLocalDateTime());
-        }
-
-        return reservation;
-    }
+    boolean delete(Long id) throws SQLException;
 }
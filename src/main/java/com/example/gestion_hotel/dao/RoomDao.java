@@ -1,158 +1,41 @@
 package com.example.gestion_hotel.dao;
 
 import com.example.gestion_hotel.entity.Room;
-import com.example.gestion_hotel.entity.TipoHabitacion;
-import com.example.gestion_hotel.util.DatabaseConnection;
+import com.example.gestion_hotel.entity.RoomStay;
 
-import java.sql.*;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public class RoomDao {
-    private final DatabaseConnection dbConnection;
+public interface RoomDao {
 
-    public RoomDao() {
-        this.dbConnection = DatabaseConnection.getInstance();
-    }
+    Room create(Room room) throws SQLException;
 
-    public Room create(Room room) throws SQLException {
-        String sql = "INSERT INTO rooms (numero, tipo, precio_por_noche, capacidad_maxima, disponible) VALUES (?, ?, ?, ?, ?)";
+    Optional<Room> findById(Long id) throws SQLException;
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    // Habitaciones libres entre ambas fechas (extremos incluidos), ordenadas por precio
+    List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) throws SQLException;
 
-            stmt.setString(1, room.getNumero());
-            stmt.setString(2, room.getTipo().name());
-            stmt.setBigDecimal(3, room.getPrecioPorNoche());
-            stmt.setInt(4, room.getCapacidadMaxima());
-            stmt.setBoolean(5, room.getDisponible());
+    // Habitación y fechas de las reservas ACTIVA que se solapan con [from, to], en una sola consulta
+    List<RoomStay> findActiveStays(LocalDate from, LocalDate to) throws SQLException;
 
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Error al crear la habitación, no se insertaron filas.");
-            }
+    List<Room> findAll() throws SQLException;
 
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    room.setId(generatedKeys.getLong(1));
-                } else {
-                    throw new SQLException("Error al crear la habitación, no se generó ID.");
-                }
-            }
-        }
-        return room;
-    }
+    // Valor que cambia cuando cambia el contenido de la tabla, para detectar cambios de otras instancias
+    Long checksum() throws SQLException;
 
-    public Optional<Room> findById(Long id) throws SQLException {
-        String sql = "SELECT * FROM rooms WHERE id = ?";
+    // Paginación por cursor sobre (numero, id)
+    List<Room> findPage(String afterNumero, Long afterId, int limit) throws SQLException;
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    List<Room> createAll(List<Room> rooms) throws SQLException;
 
-            stmt.setLong(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToRoom(rs));
-                }
-            }
-        }
-        return Optional.empty();
-    }
+    List<Room> findByIds(Collection<Long> ids) throws SQLException;
 
-    public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) throws SQLException {
-        String sql = """
-            SELECT r.* FROM rooms r 
-            WHERE r.disponible = true 
-            AND r.capacidad_maxima >= ? 
-            AND r.id NOT IN (
-                SELECT res.room_id FROM reservations res 
-                WHERE res.estado = 'ACTIVA' 
-                AND ((res.fecha_check_in BETWEEN ? AND ?) 
-                OR (res.fecha_check_out BETWEEN ? AND ?)
-                OR (res.fecha_check_in <= ? AND res.fecha_check_out >= ?))
-            )
-            ORDER BY r.precio_por_noche
-            """;
+    Room update(Room room) throws SQLException;
 
-        List<Room> availableRooms = new ArrayList<>();
+    List<Room> updateAll(List<Room> rooms) throws SQLException;
 
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, numGuests);
-            stmt.setDate(2, Date.valueOf(checkIn));
-            stmt.setDate(3, Date.valueOf(checkOut));
-            stmt.setDate(4, Date.valueOf(checkIn));
-            stmt.setDate(5, Date.valueOf(checkOut));
-            stmt.setDate(6, Date.valueOf(checkIn));
-            stmt.setDate(7, Date.valueOf(checkOut));
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    availableRooms.add(mapResultSetToRoom(rs));
-                }
-            }
-        }
-        return availableRooms;
-    }
-
-    public List<Room> findAll() throws SQLException {
-        String sql = "SELECT * FROM rooms ORDER BY numero";
-        List<Room> rooms = new ArrayList<>();
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                rooms.add(mapResultSetToRoom(rs));
-            }
-        }
-        return rooms;
-    }
-
-    public Room update(Room room) throws SQLException {
-        String sql = "UPDATE rooms SET numero = ?, tipo = ?, precio_por_noche = ?, capacidad_maxima = ?, disponible = ? WHERE id = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, room.getNumero());
-            stmt.setString(2, room.getTipo().name());
-            stmt.setBigDecimal(3, room.getPrecioPorNoche());
-            stmt.setInt(4, room.getCapacidadMaxima());
-            stmt.setBoolean(5, room.getDisponible());
-            stmt.setLong(6, room.getId());
-
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                throw new SQLException("Error al actualizar la habitación, no existe el ID: " + room.getId());
-            }
-        }
-        return room;
-    }
-
-    public boolean delete(Long id) throws SQLException {
-        String sql = "DELETE FROM rooms WHERE id = ?";
-
-        try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setLong(1, id);
-            return stmt.executeUpdate() > 0;
-        }
-    }
-
-    private Room mapResultSetToRoom(ResultSet rs) throws SQLException {
-        Room room = new Room();
-        room.setId(rs.getLong("id"));
-        room.setNumero(rs.getString("numero"));
-        room.setTipo(TipoHabitacion.valueOf(rs.getString("tipo")));
-        room.setPrecioPorNoche(rs.getBigDecimal("precio_por_noche"));
-        room.setCapacidadMaxima(rs.getInt("capacidad_maxima"));
-        room.setDisponible(rs.getBoolean("disponible"));
-        return room;
-    }
+    boolean delete(Long id) throws SQLException;
 }
@@ -0,0 +1,304 @@
+package com.example.gestion_hotel.dao.memory;
+
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.util.SqlCollation;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Almacenamiento en memoria compartido por los DAO InMemory*. Las tablas están indexadas por
+ * ID con claves long primitivas y mantienen los mismos índices secundarios que la base de
+ * datos (email, room_id, guest_id, estado). Las cadenas se ordenan sin distinguir mayúsculas
+ * ni acentos, como la intercalación por defecto de MySQL. Se guardan y devuelven copias.
+ * No hay rollback: las escrituras son visibles en cuanto terminan.
+ */
+public final class InMemoryDatabase {
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    final LongHashMap<Guest> guests = new LongHashMap<>();
+    final Map<String, Long> guestIdByEmail = new HashMap<>();
+    final TreeMap<TextKey, Guest> guestsByNombre = new TreeMap<>();
+    private long guestSequence;
+
+    final LongHashMap<Room> rooms = new LongHashMap<>();
+    final Map<String, Long> roomIdByNumero = new HashMap<>();
+    final TreeMap<TextKey, Room> roomsByNumero = new TreeMap<>();
+    private long roomSequence;
+    long roomsVersion;
+
+    final LongHashMap<Reservation> reservations = new LongHashMap<>();
+    final LongHashMap<LongHashMap<Reservation>> reservationsByRoom = new LongHashMap<>();
+    final LongHashMap<LongHashMap<Reservation>> reservationsByGuest = new LongHashMap<>();
+    final Map<EstadoReserva, LongHashMap<Reservation>> reservationsByEstado = new EnumMap<>(EstadoReserva.class);
+    final TreeMap<DateKey, Reservation> activeByCheckIn = new TreeMap<>();
+    private long reservationSequence;
+
+    // Equivalente en memoria de los bloqueos de fila de la base de datos (ver InMemoryReservationDao)
+    private final Map<Long, ReentrantLock> roomLocks = new ConcurrentHashMap<>();
+
+    final LongHashMap<Reservation> archivedReservations = new LongHashMap<>();
+    final LongHashMap<LongHashMap<Reservation>> archivedByGuest = new LongHashMap<>();
+
+    public InMemoryDatabase() {
+        for (EstadoReserva estado : EstadoReserva.values()) {
+            reservationsByEstado.put(estado, new LongHashMap<>());
+        }
+    }
+
+    // Clave de ordenación (texto normalizado, id) equivalente a ORDER BY columna, id
+    record TextKey(String text, long id) implements Comparable<TextKey> {
+        @Override
+        public int compareTo(TextKey other) {
+            int cmp = text.compareTo(other.text);
+            return cmp != 0 ? cmp : Long.compare(id, other.id);
+        }
+    }
+
+    record DateKey(LocalDate date, long id) implements Comparable<DateKey> {
+        @Override
+        public int compareTo(DateKey other) {
+            int cmp = date.compareTo(other.date);
+            return cmp != 0 ? cmp : Long.compare(id, other.id);
+        }
+    }
+
+    // Nunca se pide con 'lock' tomado: quien lo tiene puede estar esperando el lock de escritura
+    ReentrantLock roomLock(long roomId) {
+        return roomLocks.computeIfAbsent(roomId, id -> new ReentrantLock());
+    }
+
+    static String collate(String value) {
+        return SqlCollation.key(value);
+    }
+
+    // Huéspedes
+
+    Guest insertGuest(Guest guest) throws SQLException {
+        String email = collate(guest.getEmail());
+        if (guestIdByEmail.containsKey(email)) {
+            throw duplicate(guest.getEmail(), "guests.email");
+        }
+        guest.setId(++guestSequence);
+        storeGuest(copyOf(guest));
+        return guest;
+    }
+
+    boolean replaceGuest(Guest guest) throws SQLException {
+        Guest previous = guests.get(guest.getId());
+        if (previous == null) {
+            return false;
+        }
+        Long owner = guestIdByEmail.get(collate(guest.getEmail()));
+        if (owner != null && owner != guest.getId().longValue()) {
+            throw duplicate(guest.getEmail(), "guests.email");
+        }
+        // La fecha de registro no se modifica al actualizar, igual que en JdbcGuestDao
+        Guest stored = copyOf(guest);
+        stored.setFechaRegistro(previous.getFechaRegistro());
+        unstoreGuest(previous);
+        storeGuest(stored);
+        return true;
+    }
+
+    Guest deleteGuest(long id) {
+        Guest previous = guests.get(id);
+        if (previous != null) {
+            unstoreGuest(previous);
+        }
+        return previous;
+    }
+
+    private void storeGuest(Guest guest) {
+        guests.put(guest.getId(), guest);
+        guestIdByEmail.put(collate(guest.getEmail()), guest.getId());
+        guestsByNombre.put(new TextKey(collate(guest.getNombre()), guest.getId()), guest);
+    }
+
+    private void unstoreGuest(Guest guest) {
+        guests.remove(guest.getId());
+        guestIdByEmail.remove(collate(guest.getEmail()), guest.getId());
+        guestsByNombre.remove(new TextKey(collate(guest.getNombre()), guest.getId()));
+    }
+
+    // Habitaciones
+
+    Room insertRoom(Room room) throws SQLException {
+        if (roomIdByNumero.containsKey(collate(room.getNumero()))) {
+            throw duplicate(room.getNumero(), "rooms.numero");
+        }
+        room.setId(++roomSequence);
+        storeRoom(copyOf(room));
+        roomsVersion++;
+        return room;
+    }
+
+    boolean replaceRoom(Room room) throws SQLException {
+        Room previous = rooms.get(room.getId());
+        if (previous == null) {
+            return false;
+        }
+        Long owner = roomIdByNumero.get(collate(room.getNumero()));
+        if (owner != null && owner != room.getId().longValue()) {
+            throw duplicate(room.getNumero(), "rooms.numero");
+        }
+        unstoreRoom(previous);
+        storeRoom(copyOf(room));
+        roomsVersion++;
+        return true;
+    }
+
+    Room deleteRoom(long id) {
+        Room previous = rooms.get(id);
+        if (previous != null) {
+            unstoreRoom(previous);
+            roomsVersion++;
+        }
+        return previous;
+    }
+
+    private void storeRoom(Room room) {
+        rooms.put(room.getId(), room);
+        roomIdByNumero.put(collate(room.getNumero()), room.getId());
+        roomsByNumero.put(new TextKey(collate(room.getNumero()), room.getId()), room);
+    }
+
+    private void unstoreRoom(Room room) {
+        rooms.remove(room.getId());
+        roomIdByNumero.remove(collate(room.getNumero()), room.getId());
+        roomsByNumero.remove(new TextKey(collate(room.getNumero()), room.getId()));
+    }
+
+    // Reservas
+
+    Reservation insertReservation(Reservation reservation) throws SQLException {
+        if (!guests.containsKey(reservation.getGuestId()) || !rooms.containsKey(reservation.getRoomId())) {
+            throw new SQLException("Cannot add or update a child row: a foreign key constraint fails (reservations)",
+                    "23000", 1452);
+        }
+        reservation.setId(++reservationSequence);
+        storeReservation(copyOf(reservation));
+        return reservation;
+    }
+
+    // Como el UPDATE de JdbcReservationDao: guest_id, room_id y fecha_creacion no cambian
+    boolean replaceReservation(Reservation reservation) {
+        Reservation previous = reservations.get(reservation.getId());
+        if (previous == null) {
+            return false;
+        }
+        Reservation stored = copyOf(reservation);
+        stored.setGuestId(previous.getGuestId());
+        stored.setRoomId(previous.getRoomId());
+        stored.setFechaCreacion(previous.getFechaCreacion());
+        unstoreReservation(previous);
+        storeReservation(stored);
+        return true;
+    }
+
+    Reservation deleteReservation(long id) {
+        Reservation previous = reservations.get(id);
+        if (previous != null) {
+            unstoreReservation(previous);
+        }
+        return previous;
+    }
+
+    // Como el INSERT ... SELECT más DELETE de JdbcReservationDao.archiveCheckedOutBefore
+    void archiveReservation(long id) {
+        Reservation reservation = deleteReservation(id);
+        if (reservation != null) {
+            archivedReservations.put(id, reservation);
+            index(archivedByGuest, reservation.getGuestId()).put(id, reservation);
+        }
+    }
+
+    private void storeReservation(Reservation reservation) {
+        long id = reservation.getId();
+        reservations.put(id, reservation);
+        index(reservationsByRoom, reservation.getRoomId()).put(id, reservation);
+        index(reservationsByGuest, reservation.getGuestId()).put(id, reservation);
+        reservationsByEstado.get(reservation.getEstado()).put(id, reservation);
+        if (reservation.getEstado() == EstadoReserva.ACTIVA) {
+            activeByCheckIn.put(new DateKey(reservation.getFechaCheckIn(), id), reservation);
+        }
+    }
+
+    private void unstoreReservation(Reservation reservation) {
+        long id = reservation.getId();
+        reservations.remove(id);
+        unindex(reservationsByRoom, reservation.getRoomId(), id);
+        unindex(reservationsByGuest, reservation.getGuestId(), id);
+        reservationsByEstado.get(reservation.getEstado()).remove(id);
+        if (reservation.getEstado() == EstadoReserva.ACTIVA) {
+            activeByCheckIn.remove(new DateKey(reservation.getFechaCheckIn(), id));
+        }
+    }
+
+    private static LongHashMap<Reservation> index(LongHashMap<LongHashMap<Reservation>> index, long key) {
+        LongHashMap<Reservation> bucket = index.get(key);
+        if (bucket == null) {
+            bucket = new LongHashMap<>();
+            index.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    private static void unindex(LongHashMap<LongHashMap<Reservation>> index, long key, long id) {
+        LongHashMap<Reservation> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static SQLException duplicate(String value, String key) {
+        return new SQLException("Duplicate entry '" + value + "' for key '" + key + "'", "23000", 1062);
+    }
+
+    // Copias
+
+    static Guest copyOf(Guest guest) {
+        Guest copy = new Guest(guest.getNombre(), guest.getEmail(), guest.getTelefono());
+        copy.setId(guest.getId());
+        copy.setFechaRegistro(guest.getFechaRegistro());
+        return copy;
+    }
+
+    static Room copyOf(Room room) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setNumero(room.getNumero());
+        copy.setTipo(room.getTipo());
+        copy.setPrecioPorNoche(room.getPrecioPorNoche());
+        copy.setCapacidadMaxima(room.getCapacidadMaxima());
+        copy.setDisponible(room.isAvailable());
+        return copy;
+    }
+
+    static Reservation copyOf(Reservation reservation) {
+        Reservation copy = new Reservation();
+        copy.setId(reservation.getId());
+        copy.setGuestId(reservation.getGuestId());
+        copy.setRoomId(reservation.getRoomId());
+        copy.setFechaCheckIn(reservation.getFechaCheckIn());
+        copy.setFechaCheckOut(reservation.getFechaCheckOut());
+        copy.setNumeroHuespedes(reservation.getNumeroHuespedes());
+        copy.setMontoTotal(reservation.getMontoTotal());
+        copy.setEstado(reservation.getEstado());
+        copy.setFechaCreacion(reservation.getFechaCreacion());
+        return copy;
+    }
+}
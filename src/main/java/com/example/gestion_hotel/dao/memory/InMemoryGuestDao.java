@@ -0,0 +1,226 @@
+package com.example.gestion_hotel.dao.memory;
+
+import com.example.gestion_hotel.dao.GuestDao;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.GuestSummary;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+public class InMemoryGuestDao implements GuestDao {
+    private final InMemoryDatabase db;
+
+    public InMemoryGuestDao(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public Guest create(Guest guest) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            return db.insertGuest(guest);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Guest> findById(Long id) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Guest guest = db.guests.get(id);
+            return guest == null ? Optional.empty() : Optional.of(InMemoryDatabase.copyOf(guest));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Guest> findByEmail(String email) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Long id = db.guestIdByEmail.get(InMemoryDatabase.collate(email));
+            return id == null ? Optional.empty() : Optional.of(InMemoryDatabase.copyOf(db.guests.get(id)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Guest> findAll() throws SQLException {
+        return copies(db.guestsByNombre, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Guest> findPage(String afterNombre, Long afterId, int limit) throws SQLException {
+        if (afterId == null) {
+            return copies(db.guestsByNombre, limit);
+        }
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            InMemoryDatabase.TextKey after = new InMemoryDatabase.TextKey(InMemoryDatabase.collate(afterNombre), afterId);
+            return copies(db.guestsByNombre.tailMap(after, false), limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<GuestSummary> findAllSummaries() throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<GuestSummary> summaries = new ArrayList<>(db.guests.size());
+            for (Guest guest : db.guestsByNombre.values()) {
+                summaries.add(new GuestSummary(guest.getId(), guest.getNombre()));
+            }
+            return summaries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Guest> streamAll() throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Guest> all = db.guests.values();
+            all.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            return all.stream().map(InMemoryDatabase::copyOf);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Guest> createAll(List<Guest> guests) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            // Se comprueba todo antes de insertar para que el lote falle sin efectos parciales
+            Set<String> emails = new HashSet<>();
+            for (Guest guest : guests) {
+                String email = InMemoryDatabase.collate(guest.getEmail());
+                if (!emails.add(email) || db.guestIdByEmail.containsKey(email)) {
+                    throw new SQLException("Duplicate entry '" + guest.getEmail() + "' for key 'guests.email'", "23000", 1062);
+                }
+            }
+            for (Guest guest : guests) {
+                db.insertGuest(guest);
+            }
+            return guests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Set<String> existing = new HashSet<>();
+            for (String email : emails) {
+                Long id = db.guestIdByEmail.get(InMemoryDatabase.collate(email));
+                if (id != null) {
+                    existing.add(db.guests.get(id).getEmail().toLowerCase(Locale.ROOT));
+                }
+            }
+            return existing;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Set<Long> existing = new HashSet<>();
+            for (Long id : ids) {
+                if (db.guests.containsKey(id)) {
+                    existing.add(id);
+                }
+            }
+            return existing;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Guest update(Guest guest) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            if (!db.replaceGuest(guest)) {
+                throw new SQLException("Error al actualizar el huésped, no existe el ID: " + guest.getId());
+            }
+            return guest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Guest> updateAll(List<Guest> guests) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            for (Guest guest : guests) {
+                if (!db.guests.containsKey(guest.getId())) {
+                    throw new SQLException("Error al actualizar huéspedes por lotes, no existe el registro: " + guest);
+                }
+            }
+            for (Guest guest : guests) {
+                db.replaceGuest(guest);
+            }
+            return guests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            return db.deleteGuest(id) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Guest> copies(Map<?, Guest> ordered, int limit) {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Guest> result = new ArrayList<>(Math.min(limit, ordered.size()));
+            for (Guest guest : ordered.values()) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(InMemoryDatabase.copyOf(guest));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
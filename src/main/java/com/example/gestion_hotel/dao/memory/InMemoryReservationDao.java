@@ -0,0 +1,385 @@
+package com.example.gestion_hotel.dao.memory;
+
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.util.TransactionManager;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/*
+ * Cada operación es atómica bajo el lock de la base de datos. Los SELECT ... FOR UPDATE se
+ * sustituyen por un lock por habitación (también para bloquear una reserva, la de su habitación)
+ * que se mantiene hasta el fin de la transacción en curso, o solo durante la llamada si no hay
+ * ninguna. Completar reservas toma los mismos locks, así que no puede colarse entre la lectura
+ * y la escritura de una modificación o una cancelación.
+ */
+public class InMemoryReservationDao implements ReservationDao {
+    private static final Comparator<Reservation> BY_ID = Comparator.comparing(Reservation::getId);
+    private static final Comparator<Reservation> BY_CHECK_IN = Comparator
+            .comparing(Reservation::getFechaCheckIn)
+            .thenComparing(Reservation::getId);
+    private static final Comparator<Reservation> BY_CREATION_DESC = Comparator
+            .comparing(Reservation::getFechaCreacion)
+            .thenComparing(Reservation::getId)
+            .reversed();
+
+    private final InMemoryDatabase db;
+
+    public InMemoryReservationDao(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public Reservation create(Reservation reservation) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            return db.insertReservation(reservation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Reservation> findById(Long id) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Reservation reservation = db.reservations.get(id);
+            return reservation == null ? Optional.empty() : Optional.of(InMemoryDatabase.copyOf(reservation));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Reservation> findByGuestId(Long guestId) throws SQLException {
+        return select(db.reservationsByGuest.get(guestId), r -> true, BY_CREATION_DESC, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Reservation> findByGuestIdWithArchive(Long guestId) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Reservation> result = select(db.reservationsByGuest.get(guestId), r -> true, BY_CREATION_DESC, Integer.MAX_VALUE);
+            result.addAll(select(db.archivedByGuest.get(guestId), r -> true, BY_CREATION_DESC, Integer.MAX_VALUE));
+            result.sort(BY_CREATION_DESC);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Reservation> findByRoomId(Long roomId) throws SQLException {
+        return select(db.reservationsByRoom.get(roomId), r -> true, BY_CHECK_IN, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Reservation> findActiveReservations() throws SQLException {
+        return findActivePage(null, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Stream<Reservation> streamAll() throws SQLException {
+        return select(db.reservations, r -> true, BY_ID, Integer.MAX_VALUE).stream();
+    }
+
+    @Override
+    public List<Reservation> findByGuestIdPage(Long guestId, LocalDateTime beforeFechaCreacion, Long beforeId,
+                                               int limit) throws SQLException {
+        Predicate<Reservation> before = beforeId == null ? r -> true : r -> {
+            int cmp = r.getFechaCreacion().compareTo(beforeFechaCreacion);
+            return cmp < 0 || (cmp == 0 && r.getId() < beforeId);
+        };
+        return select(db.reservationsByGuest.get(guestId), before, BY_CREATION_DESC, limit);
+    }
+
+    @Override
+    public List<Reservation> findActivePage(LocalDate afterCheckIn, Long afterId, int limit) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Collection<Reservation> active = afterId == null
+                    ? db.activeByCheckIn.values()
+                    : db.activeByCheckIn.tailMap(new InMemoryDatabase.DateKey(afterCheckIn, afterId), false).values();
+            List<Reservation> result = new ArrayList<>(Math.min(limit, active.size()));
+            for (Reservation reservation : active) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(InMemoryDatabase.copyOf(reservation));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Reservation> findByIdForUpdate(Long id) throws SQLException {
+        Optional<Reservation> found = findById(id);
+        if (!found.isPresent()) {
+            return found;
+        }
+        // La habitación de una reserva no cambia: se relee ya con el lock para ver la última versión
+        lockRoom(found.get().getRoomId());
+        return findById(id);
+    }
+
+    @Override
+    public boolean lockRoomForUpdate(Long roomId) throws SQLException {
+        lockRoom(roomId);
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            return db.rooms.containsKey(roomId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean existsOverlappingReservation(Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                                Long excludeReservationId) throws SQLException {
+        long exclude = excludeReservationId != null ? excludeReservationId : 0L;
+        return !select(db.reservationsByRoom.get(roomId),
+                r -> r.getId() != exclude && overlapsActive(r, checkIn, checkOut), BY_ID, 1).isEmpty();
+    }
+
+    @Override
+    public List<Reservation> createAll(List<Reservation> reservations) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            for (Reservation reservation : reservations) {
+                if (!db.guests.containsKey(reservation.getGuestId()) || !db.rooms.containsKey(reservation.getRoomId())) {
+                    throw new SQLException("Cannot add or update a child row: a foreign key constraint fails (reservations)",
+                            "23000", 1452);
+                }
+            }
+            for (Reservation reservation : reservations) {
+                db.insertReservation(reservation);
+            }
+            return reservations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Reservation update(Reservation reservation) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            if (!db.replaceReservation(reservation)) {
+                throw new SQLException("Error al actualizar la reserva, no existe el ID: " + reservation.getId());
+            }
+            return reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Reservation> updateAll(List<Reservation> reservations) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            for (Reservation reservation : reservations) {
+                if (!db.reservations.containsKey(reservation.getId())) {
+                    throw new SQLException("Error al actualizar reservas por lotes, no existe el registro: " + reservation);
+                }
+            }
+            for (Reservation reservation : reservations) {
+                db.replaceReservation(reservation);
+            }
+            return reservations;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void lockRoomsForUpdate(Collection<Long> roomIds) throws SQLException {
+        for (Long roomId : new TreeSet<>(roomIds)) {
+            lockRoom(roomId);
+        }
+    }
+
+    private void lockRoom(long roomId) {
+        ReentrantLock roomLock = db.roomLock(roomId);
+        if (roomLock.isHeldByCurrentThread() && TransactionManager.isActive()) {
+            return;
+        }
+        roomLock.lock();
+        if (!TransactionManager.afterCompletion(roomLock::unlock)) {
+            roomLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Reservation> findActiveOverlapping(Collection<Long> roomIds, LocalDate from, LocalDate to) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Reservation> result = new ArrayList<>();
+            for (Long roomId : new HashSet<>(roomIds)) {
+                result.addAll(select(db.reservationsByRoom.get(roomId), r -> overlapsActive(r, from, to),
+                        BY_ID, Integer.MAX_VALUE));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int completeCheckedOutBefore(LocalDate before, int limit) throws SQLException {
+        // Los locks de habitación se toman sin el de la base de datos y en orden de ID, como lockRoomsForUpdate
+        Set<Long> roomIds = new TreeSet<>();
+        Lock readLock = db.lock.readLock();
+        readLock.lock();
+        try {
+            for (Reservation reservation : expired(before, limit)) {
+                roomIds.add(reservation.getRoomId());
+            }
+        } finally {
+            readLock.unlock();
+        }
+        if (roomIds.isEmpty()) {
+            return 0;
+        }
+
+        List<ReentrantLock> roomLocks = new ArrayList<>(roomIds.size());
+        try {
+            for (Long roomId : roomIds) {
+                ReentrantLock roomLock = db.roomLock(roomId);
+                roomLock.lock();
+                roomLocks.add(roomLock);
+            }
+            Lock writeLock = db.lock.writeLock();
+            writeLock.lock();
+            try {
+                // Se vuelve a seleccionar: una modificación pudo cambiar las fechas mientras se esperaban los locks
+                int completed = 0;
+                for (Reservation reservation : expired(before, limit)) {
+                    if (roomIds.contains(reservation.getRoomId())) {
+                        Reservation copy = InMemoryDatabase.copyOf(reservation);
+                        copy.setEstado(EstadoReserva.COMPLETADA);
+                        db.replaceReservation(copy);
+                        completed++;
+                    }
+                }
+                return completed;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            for (int i = roomLocks.size() - 1; i >= 0; i--) {
+                roomLocks.get(i).unlock();
+            }
+        }
+    }
+
+    // Como mucho 'limit' reservas ACTIVA con salida anterior a 'before', por fecha de salida e ID
+    private List<Reservation> expired(LocalDate before, int limit) {
+        // Las que terminan antes de 'before' también empiezan antes
+        List<Reservation> expired = new ArrayList<>();
+        for (Reservation reservation : db.activeByCheckIn
+                .headMap(new InMemoryDatabase.DateKey(before, Long.MIN_VALUE), false).values()) {
+            if (reservation.getFechaCheckOut().isBefore(before)) {
+                expired.add(reservation);
+            }
+        }
+        expired.sort(Comparator.comparing(Reservation::getFechaCheckOut).thenComparing(Reservation::getId));
+        return expired.subList(0, Math.min(limit, expired.size()));
+    }
+
+    // Sin rollback en memoria: el movimiento de cada bloque es atómico por el lock de escritura
+    @Override
+    public int archiveCheckedOutBefore(LocalDate before, int limit) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            List<Reservation> archivable = new ArrayList<>();
+            for (EstadoReserva estado : new EstadoReserva[]{EstadoReserva.COMPLETADA, EstadoReserva.CANCELADA}) {
+                db.reservationsByEstado.get(estado).forEachValue(r -> {
+                    if (r.getFechaCheckOut().isBefore(before)) {
+                        archivable.add(r);
+                    }
+                });
+            }
+            archivable.sort(BY_ID);
+            List<Reservation> chunk = archivable.subList(0, Math.min(limit, archivable.size()));
+            for (Reservation reservation : chunk) {
+                db.archiveReservation(reservation.getId());
+            }
+            return chunk.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            return db.deleteReservation(id) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Mismo solapamiento que el SQL: extremos incluidos
+    private static boolean overlapsActive(Reservation r, LocalDate from, LocalDate to) {
+        return r.getEstado() == EstadoReserva.ACTIVA
+                && !r.getFechaCheckIn().isAfter(to) && !r.getFechaCheckOut().isBefore(from);
+    }
+
+    // Filtra, ordena y limita las reservas de un índice, devolviendo copias
+    private List<Reservation> select(LongHashMap<Reservation> source, Predicate<Reservation> filter,
+                                     Comparator<Reservation> order, int limit) {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            if (source == null) {
+                return new ArrayList<>();
+            }
+            List<Reservation> matches = new ArrayList<>();
+            source.forEachValue(r -> {
+                if (filter.test(r)) {
+                    matches.add(r);
+                }
+            });
+            matches.sort(order);
+            List<Reservation> result = new ArrayList<>(Math.min(limit, matches.size()));
+            for (Reservation reservation : matches) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(InMemoryDatabase.copyOf(reservation));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.gestion_hotel.dao.memory;
+
+import com.example.gestion_hotel.dao.RoomDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.RoomStay;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+public class InMemoryRoomDao implements RoomDao {
+    private static final Comparator<Room> PRICE_ORDER = Comparator
+            .comparing(Room::getPrecioPorNoche)
+            .thenComparing(Room::getId);
+
+    private final InMemoryDatabase db;
+
+    public InMemoryRoomDao(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    @Override
+    public Room create(Room room) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            return db.insertRoom(room);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Room> findById(Long id) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            Room room = db.rooms.get(id);
+            return room == null ? Optional.empty() : Optional.of(InMemoryDatabase.copyOf(room));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Mismo criterio que la consulta SQL: intervalos cerrados y solo reservas ACTIVA
+    @Override
+    public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Room> available = new ArrayList<>();
+            db.rooms.forEachValue(room -> {
+                if (room.isAvailable() && room.getCapacidadMaxima() >= numGuests
+                        && !hasActiveOverlap(room.getId(), checkIn, checkOut)) {
+                    available.add(InMemoryDatabase.copyOf(room));
+                }
+            });
+            available.sort(PRICE_ORDER);
+            return available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<RoomStay> findActiveStays(LocalDate from, LocalDate to) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<RoomStay> stays = new ArrayList<>();
+            for (Reservation r : db.activeByCheckIn.headMap(new InMemoryDatabase.DateKey(to, Long.MAX_VALUE), true).values()) {
+                if (!r.getFechaCheckOut().isBefore(from)) {
+                    stays.add(new RoomStay(r.getRoomId(), r.getFechaCheckIn(), r.getFechaCheckOut()));
+                }
+            }
+            return stays;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean hasActiveOverlap(long roomId, LocalDate checkIn, LocalDate checkOut) {
+        LongHashMap<Reservation> byRoom = db.reservationsByRoom.get(roomId);
+        if (byRoom == null) {
+            return false;
+        }
+        for (Reservation r : byRoom.values()) {
+            if (r.getEstado() == EstadoReserva.ACTIVA
+                    && !r.getFechaCheckIn().isAfter(checkOut) && !r.getFechaCheckOut().isBefore(checkIn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Room> findAll() throws SQLException {
+        return copies(db.roomsByNumero, Integer.MAX_VALUE);
+    }
+
+    // Contador de cambios de la tabla; cumple el mismo papel que CHECKSUM TABLE
+    @Override
+    public Long checksum() throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            return db.roomsVersion;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Room> findPage(String afterNumero, Long afterId, int limit) throws SQLException {
+        if (afterId == null) {
+            return copies(db.roomsByNumero, limit);
+        }
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            InMemoryDatabase.TextKey after = new InMemoryDatabase.TextKey(InMemoryDatabase.collate(afterNumero), afterId);
+            return copies(db.roomsByNumero.tailMap(after, false), limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Room> createAll(List<Room> rooms) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            Set<String> numeros = new HashSet<>();
+            for (Room room : rooms) {
+                String numero = InMemoryDatabase.collate(room.getNumero());
+                if (!numeros.add(numero) || db.roomIdByNumero.containsKey(numero)) {
+                    throw new SQLException("Duplicate entry '" + room.getNumero() + "' for key 'rooms.numero'", "23000", 1062);
+                }
+            }
+            for (Room room : rooms) {
+                db.insertRoom(room);
+            }
+            return rooms;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Room> findByIds(Collection<Long> ids) throws SQLException {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Room> found = new ArrayList<>();
+            for (Long id : new HashSet<>(ids)) {
+                Room room = db.rooms.get(id);
+                if (room != null) {
+                    found.add(InMemoryDatabase.copyOf(room));
+                }
+            }
+            return found;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Room update(Room room) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            if (!db.replaceRoom(room)) {
+                throw new SQLException("Error al actualizar la habitación, no existe el ID: " + room.getId());
+            }
+            return room;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Room> updateAll(List<Room> rooms) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            for (Room room : rooms) {
+                if (!db.rooms.containsKey(room.getId())) {
+                    throw new SQLException("Error al actualizar habitaciones por lotes, no existe el registro: " + room);
+                }
+            }
+            for (Room room : rooms) {
+                db.replaceRoom(room);
+            }
+            return rooms;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) throws SQLException {
+        Lock lock = db.lock.writeLock();
+        lock.lock();
+        try {
+            return db.deleteRoom(id) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Room> copies(Map<?, Room> ordered, int limit) {
+        Lock lock = db.lock.readLock();
+        lock.lock();
+        try {
+            List<Room> result = new ArrayList<>(Math.min(limit, ordered.size()));
+            for (Room room : ordered.values()) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(InMemoryDatabase.copyOf(room));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.gestion_hotel.entity;
+
+// Vista reducida de un huésped (solo ID y nombre), para listados de selección
+public class GuestSummary {
+    private final Long id;
+    private final String nombre;
+
+    public GuestSummary(Long id, String nombre) {
+        this.id = id;
+        this.nombre = nombre;
+    }
+
+    public Long getId() { return id; }
+    public String getNombre() { return nombre; }
+
+    @Override
+    public String toString() {
+        return String.format("GuestSummary{id=%d, nombre='%s'}", id, nombre);
+    }
+}
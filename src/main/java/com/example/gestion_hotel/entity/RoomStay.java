@@ -0,0 +1,25 @@
+package com.example.gestion_hotel.entity;
+
+import java.time.LocalDate;
+
+// Vista reducida de una reserva ACTIVA (habitación y fechas), para calcular ocupación
+public class RoomStay {
+    private final Long roomId;
+    private final LocalDate fechaCheckIn;
+    private final LocalDate fechaCheckOut;
+
+    public RoomStay(Long roomId, LocalDate fechaCheckIn, LocalDate fechaCheckOut) {
+        this.roomId = roomId;
+        this.fechaCheckIn = fechaCheckIn;
+        this.fechaCheckOut = fechaCheckOut;
+    }
+
+    public Long getRoomId() { return roomId; }
+    public LocalDate getFechaCheckIn() { return fechaCheckIn; }
+    public LocalDate getFechaCheckOut() { return fechaCheckOut; }
+
+    @Override
+    public String toString() {
+        return String.format("RoomStay{room=%d, %s to %s}", roomId, fechaCheckIn, fechaCheckOut);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.gestion_hotel.exception;
+
+import java.sql.SQLException;
+
+// Envuelve una SQLException donde no se pueden lanzar excepciones comprobadas (p. ej. dentro de un Stream)
+public class DataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
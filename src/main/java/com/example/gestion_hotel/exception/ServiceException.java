@@ -1,6 +1,8 @@
 package com.example.gestion_hotel.exception;
 
 public class ServiceException extends Exception {
+    private static final long serialVersionUID = 1L;
+
     public ServiceException(String message) {
         super(message);
     }
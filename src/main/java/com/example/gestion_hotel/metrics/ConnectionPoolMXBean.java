@@ -0,0 +1,19 @@
+package com.example.gestion_hotel.metrics;
+
+public interface ConnectionPoolMXBean {
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getMaxSize();
+
+    int getThreadsAwaitingConnection();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    long getStatementCacheEvictions();
+}
@@ -0,0 +1,191 @@
+package com.example.gestion_hotel.metrics;
+
+import com.example.gestion_hotel.util.AppConfig;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/*
+ * Registro de métricas de acceso a datos. instrument() envuelve un DAO en un proxy que mide
+ * cada método; todo se publica como MXBeans bajo el dominio com.example.gestion_hotel y se
+ * puede volcar como texto con dump(). Con metrics.enabled=false los DAO se usan sin envolver.
+ */
+public final class MetricsRegistry implements MetricsRegistryMXBean {
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+    private static final String DOMAIN = "com.example.gestion_hotel";
+
+    private static volatile MetricsRegistry instance;
+
+    private final boolean enabled;
+    private final boolean jmxEnabled;
+    private final Map<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+
+    private MetricsRegistry() {
+        this.enabled = AppConfig.getBoolean("metrics.enabled", true);
+        this.jmxEnabled = AppConfig.getBoolean("metrics.jmx.enabled", true);
+        register(this, "type=Metrics");
+    }
+
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T instrument(Class<T> type, T target) {
+        if (!enabled) {
+            return target;
+        }
+        String daoName = type.getSimpleName();
+        Map<Method, OperationMetrics> byMethod = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            byMethod.put(method, operation(daoName, method.getName()));
+        }
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new TimingHandler(target, byMethod));
+    }
+
+    public void registerPool(ConnectionPoolMXBean pool, OperationMetrics acquire) {
+        if (!enabled) {
+            return;
+        }
+        register(pool, "type=ConnectionPool");
+        if (operations.putIfAbsent(acquire.getName(), acquire) == null) {
+            register(acquire, "type=ConnectionPool,operation=getConnection");
+        }
+    }
+
+    public Collection<OperationMetrics> getOperations() {
+        return operations.values();
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-48s %10s %8s %12s %10s %10s %10s %10s %10s%n",
+                "operación", "llamadas", "errores", "filas", "media(µs)", "p50(µs)", "p95(µs)", "p99(µs)", "max(µs)"));
+        for (OperationMetrics metrics : operations.values()) {
+            LatencyHistogram.Snapshot snapshot = metrics.snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            out.append(String.format("%-48s %10d %8d %12d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    metrics.getName(), snapshot.getCount(), metrics.getErrors(), metrics.getRows(),
+                    snapshot.getMean() / 1000.0,
+                    snapshot.getPercentile(0.50) / 1000.0,
+                    snapshot.getPercentile(0.95) / 1000.0,
+                    snapshot.getPercentile(0.99) / 1000.0,
+                    snapshot.getMax() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+
+    private OperationMetrics operation(String daoName, String methodName) {
+        return operations.computeIfAbsent(daoName + "." + methodName, name -> {
+            OperationMetrics metrics = new OperationMetrics(name);
+            register(metrics, "type=Dao,dao=" + daoName + ",method=" + methodName);
+            return metrics;
+        });
+    }
+
+    private void register(Object mbean, String properties) {
+        if (!jmxEnabled) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "No se pudo registrar el MBean " + properties, e);
+        }
+    }
+
+    // Filas devueltas: tamaño de las colecciones, 0 o 1 para Optional y entidades, 0 para contadores y booleanos
+    private static long rowsOf(Object result) {
+        if (result == null || result instanceof Boolean || result instanceof Number) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    private static final class TimingHandler implements InvocationHandler {
+        private final Object target;
+        private final Map<Method, OperationMetrics> byMethod;
+
+        private TimingHandler(Object target, Map<Method, OperationMetrics> byMethod) {
+            this.target = target;
+            this.byMethod = byMethod;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            OperationMetrics metrics = byMethod.get(method);
+            if (metrics == null) {
+                // equals, hashCode y toString
+                if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                }
+                return method.invoke(target, args);
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                metrics.recordFailure(System.nanoTime() - start);
+                throw e.getCause();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            // En un Stream solo se mide la apertura; las filas se cuentan según se consumen
+            if (result instanceof Stream<?> stream) {
+                metrics.recordSuccess(elapsed, 0);
+                return stream.peek(row -> metrics.addRows(1));
+            }
+            metrics.recordSuccess(elapsed, rowsOf(result));
+            return result;
+        }
+    }
+}
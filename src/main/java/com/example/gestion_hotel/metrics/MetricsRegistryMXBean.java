@@ -0,0 +1,8 @@
+package com.example.gestion_hotel.metrics;
+
+public interface MetricsRegistryMXBean {
+    // Tabla de texto con todas las operaciones medidas
+    String dump();
+
+    void reset();
+}
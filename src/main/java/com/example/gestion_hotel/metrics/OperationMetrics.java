@@ -0,0 +1,70 @@
+package com.example.gestion_hotel.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencia, llamadas, errores y filas devueltas de una operación (un método de DAO, obtener una conexión...)
+public final class OperationMetrics implements OperationMetricsMXBean {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public void recordSuccess(long nanos, long rowCount) {
+        latency.record(nanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    public void recordFailure(long nanos) {
+        latency.record(nanos);
+        errors.increment();
+    }
+
+    // Para resultados que se leen después de la llamada (Streams)
+    public void addRows(long rowCount) {
+        rows.add(rowCount);
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return latency.snapshot();
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public long getCalls() { return latency.getCount(); }
+
+    @Override
+    public long getErrors() { return errors.sum(); }
+
+    @Override
+    public long getRows() { return rows.sum(); }
+
+    @Override
+    public double getMeanMicros() { return latency.snapshot().getMean() / 1000.0; }
+
+    @Override
+    public double getP50Micros() { return latency.snapshot().getPercentile(0.50) / 1000.0; }
+
+    @Override
+    public double getP95Micros() { return latency.snapshot().getPercentile(0.95) / 1000.0; }
+
+    @Override
+    public double getP99Micros() { return latency.snapshot().getPercentile(0.99) / 1000.0; }
+
+    @Override
+    public double getMaxMicros() { return latency.snapshot().getMax() / 1000.0; }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+    }
+}
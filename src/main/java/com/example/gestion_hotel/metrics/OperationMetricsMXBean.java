@@ -0,0 +1,24 @@
+package com.example.gestion_hotel.metrics;
+
+// Latencias en microsegundos
+public interface OperationMetricsMXBean {
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getRows();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP95Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,83 @@
+package com.example.gestion_hotel.pricing;
+
+import java.math.BigDecimal;
+
+/*
+ * Importe como entero de unidades mínimas más la escala decimal (1234 con escala 2 = 12.34).
+ * Las operaciones son aritmética de long con comprobación de desbordamiento; la conversión a
+ * BigDecimal solo se hace al devolver el resultado. Conserva la escala del importe original,
+ * así que toBigDecimal() da exactamente lo mismo que la cuenta equivalente con BigDecimal.
+ */
+public final class Money {
+    private final long minorUnits;
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    public static Money ofMinor(long minorUnits, int scale) {
+        return new Money(minorUnits, scale);
+    }
+
+    // ArithmeticException si el importe no cabe en un long
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.unscaledValue().longValueExact(), amount.scale());
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), scale);
+    }
+
+    public Money plus(Money other) {
+        if (other.scale == scale) {
+            return new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+        }
+        int target = Math.max(scale, other.scale);
+        return new Money(Math.addExact(rescaled(minorUnits, scale, target), rescaled(other.minorUnits, other.scale, target)),
+                target);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    static long rescaled(long minorUnits, int from, int to) {
+        long result = minorUnits;
+        for (int i = from; i < to; i++) {
+            result = Math.multiplyExact(result, 10L);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && scale == other.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
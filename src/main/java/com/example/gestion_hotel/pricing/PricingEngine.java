@@ -0,0 +1,157 @@
+package com.example.gestion_hotel.pricing;
+
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Cálculo de precios de estancias: cada noche vale un porcentaje del precio por noche de la
+ * habitación, o una tarifa fija, según RateRules. Las reglas se precalculan por tipo y noche
+ * desde hoy hasta pricing.horizonMonths (RateTable), de modo que cotizar una estancia son dos
+ * restas de sumas acumuladas y una multiplicación de long; el redondeo (HALF_UP, a la escala
+ * del precio) se hace una vez por estancia. El precio de cada habitación se convierte a Money
+ * una sola vez y se guarda junto al BigDecimal del que sale. Con la tabla calculada, cotizar
+ * no crea más objeto que el BigDecimal del resultado. Si algo no cabe en un long, la misma
+ * cuenta se hace con BigDecimal.
+ */
+public class PricingEngine {
+    private static volatile PricingEngine instance;
+
+    private final Map<Long, NightlyRate> rates = new ConcurrentHashMap<>();
+    private final RateRules rules;
+    private final int horizonMonths;
+    private volatile DatedTable table;
+
+    PricingEngine(RateRules rules, int horizonMonths) {
+        this.rules = rules;
+        this.horizonMonths = horizonMonths;
+    }
+
+    public static PricingEngine getInstance() {
+        if (instance == null) {
+            synchronized (PricingEngine.class) {
+                if (instance == null) {
+                    instance = new PricingEngine(RateRules.fromConfig(),
+                            AppConfig.getInt("pricing.horizonMonths", 18));
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Precio de las noches entre checkIn y checkOut (la noche de salida no se cobra)
+    public BigDecimal quote(Room room, LocalDate checkIn, LocalDate checkOut) {
+        long fromDay = checkIn.toEpochDay();
+        long toDay = checkOut.toEpochDay();
+        long basisPoints;
+        long overrides = 0;
+        int overrideScale = 0;
+        TipoHabitacion tipo = room.getTipo();
+        if (tipo == null) {
+            basisPoints = (toDay - fromDay) * RateRules.FULL_RATE;
+        } else {
+            RateTable current = currentTable();
+            basisPoints = current.basisPoints(tipo, fromDay, toDay);
+            overrides = current.overrides(tipo, fromDay, toDay);
+            overrideScale = current.getOverrideScale();
+        }
+
+        Money price = nightlyRate(room);
+        if (price != null) {
+            try {
+                int scale = price.getScale();
+                long total = Math.addExact(Math.multiplyExact(price.getMinorUnits(), basisPoints), RateRules.FULL_RATE / 2)
+                        / RateRules.FULL_RATE;
+                if (overrides != 0) {
+                    // Las dos partes se llevan a la mayor de las escalas, como Money.plus
+                    int target = Math.max(scale, overrideScale);
+                    total = Math.addExact(Money.rescaled(total, scale, target), Money.rescaled(overrides, overrideScale, target));
+                    scale = target;
+                }
+                return BigDecimal.valueOf(total, scale);
+            } catch (ArithmeticException e) {
+                // Desbordamiento: se repite la cuenta con BigDecimal
+            }
+        }
+        BigDecimal precio = room.getPrecioPorNoche();
+        BigDecimal total = precio.multiply(BigDecimal.valueOf(basisPoints))
+                .movePointLeft(RateRules.RATE_SCALE)
+                .setScale(precio.scale(), RoundingMode.HALF_UP);
+        return overrides != 0 ? total.add(BigDecimal.valueOf(overrides, overrideScale)) : total;
+    }
+
+    public void forget(Long roomId) {
+        rates.remove(roomId);
+    }
+
+    private Money nightlyRate(Room room) {
+        BigDecimal precio = room.getPrecioPorNoche();
+        if (room.getId() == null) {
+            return toMoney(precio);
+        }
+        NightlyRate cached = rates.get(room.getId());
+        if (cached != null && cached.source == precio) {
+            return cached.money;
+        }
+        Money money = toMoney(precio);
+        rates.put(room.getId(), new NightlyRate(precio, money));
+        return money;
+    }
+
+    // La tabla empieza siempre hoy; al cambiar de día se vuelve a calcular. Se compara la hora
+    // con el fin del día de la tabla para no crear un LocalDate en cada cotización
+    private RateTable currentTable() {
+        DatedTable current = table;
+        if (current == null || System.currentTimeMillis() >= current.validUntilMillis) {
+            synchronized (this) {
+                current = table;
+                if (current == null || System.currentTimeMillis() >= current.validUntilMillis) {
+                    LocalDate today = LocalDate.now();
+                    long validUntil = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    // Si la zona horaria cambió puede seguir siendo el mismo día: solo se renueva el límite
+                    RateTable rates = current != null && current.table.getFirstDay() == today.toEpochDay()
+                            ? current.table
+                            : RateTable.build(rules, today, today.plusMonths(horizonMonths));
+                    current = new DatedTable(rates, validUntil);
+                    table = current;
+                }
+            }
+        }
+        return current.table;
+    }
+
+    private static Money toMoney(BigDecimal amount) {
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static final class DatedTable {
+        private final RateTable table;
+        private final long validUntilMillis;
+
+        private DatedTable(RateTable table, long validUntilMillis) {
+            this.table = table;
+            this.validUntilMillis = validUntilMillis;
+        }
+    }
+
+    private static final class NightlyRate {
+        private final BigDecimal source;
+        private final Money money;
+
+        private NightlyRate(BigDecimal source, Money money) {
+            this.source = source;
+            this.money = money;
+        }
+    }
+}
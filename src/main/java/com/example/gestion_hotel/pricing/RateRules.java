@@ -0,0 +1,258 @@
+package com.example.gestion_hotel.pricing;
+
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/*
+ * Reglas de tarifa leídas de hotel.properties (prefijo pricing.). Cada noche se cobra un
+ * porcentaje del precio por noche de la habitación: el de la temporada que la cubre (la más
+ * corta si hay varias) multiplicado por el de fin de semana. Una tarifa fija (override) para
+ * un tipo y unas fechas sustituye a todo lo anterior. Sin reglas, todas las noches valen el 100%.
+ */
+public final class RateRules {
+    // Las tarifas son fracciones del precio con RATE_SCALE decimales: FULL_RATE es el 100%
+    static final int RATE_SCALE = 4;
+    static final int FULL_RATE = BigDecimal.ONE.movePointRight(RATE_SCALE).intValueExact();
+
+    private final Set<DayOfWeek> weekendDays;
+    private final int[] weekendBasisPoints;
+    private final List<Season> seasons;
+    private final List<RateOverride> overrides;
+    private final int overrideScale;
+
+    private RateRules(Set<DayOfWeek> weekendDays, int[] weekendBasisPoints, List<Season> seasons,
+                      List<RateOverride> overrides, int overrideScale) {
+        this.weekendDays = weekendDays;
+        this.weekendBasisPoints = weekendBasisPoints;
+        this.seasons = seasons;
+        this.overrides = overrides;
+        this.overrideScale = overrideScale;
+    }
+
+    public static RateRules fromConfig() {
+        return parse(AppConfig.getWithPrefix("pricing."));
+    }
+
+    static RateRules parse(Properties config) {
+        Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+        String days = config.getProperty("weekend.days", "FRIDAY,SATURDAY");
+        for (String day : days.split(",")) {
+            if (!day.isBlank()) {
+                weekendDays.add(parseEnum(DayOfWeek.class, day.trim(), "pricing.weekend.days"));
+            }
+        }
+
+        int defaultWeekend = parsePercent(config.getProperty("weekend.percent", "100"), "pricing.weekend.percent");
+        int[] weekendBasisPoints = new int[TipoHabitacion.values().length];
+        for (TipoHabitacion tipo : TipoHabitacion.values()) {
+            String key = "weekend.percent." + tipo.name();
+            String value = config.getProperty(key);
+            weekendBasisPoints[tipo.ordinal()] = value == null ? defaultWeekend : parsePercent(value, "pricing." + key);
+        }
+
+        List<Season> seasons = new ArrayList<>();
+        List<String[]> rawOverrides = new ArrayList<>();
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith("season.")) {
+                seasons.add(parseSeason(key, config.getProperty(key)));
+            } else if (key.startsWith("override.")) {
+                rawOverrides.add(new String[]{key, config.getProperty(key)});
+            }
+        }
+        seasons.sort(Comparator.comparingInt((Season s) -> s.length).thenComparing(s -> s.name));
+
+        List<RateOverride> parsed = new ArrayList<>();
+        int overrideScale = 0;
+        for (String[] raw : rawOverrides) {
+            RateOverride override = parseOverride(raw[0], raw[1]);
+            parsed.add(override);
+            overrideScale = Math.max(overrideScale, override.amount.scale());
+        }
+        // Todas las tarifas fijas a la misma escala para poder sumarlas como long
+        List<RateOverride> overrides = new ArrayList<>(parsed.size());
+        for (RateOverride override : parsed) {
+            overrides.add(override.withScale(overrideScale));
+        }
+        // Si dos tarifas fijas coinciden, gana la de nombre menor
+        overrides.sort(Comparator.comparing(o -> o.name));
+
+        return new RateRules(weekendDays, weekendBasisPoints, List.copyOf(seasons), List.copyOf(overrides), overrideScale);
+    }
+
+    // Porcentaje de la noche en puntos básicos; solo cuenta si overrideMinorUnits devuelve -1
+    int basisPoints(TipoHabitacion tipo, LocalDate night) {
+        int season = FULL_RATE;
+        MonthDay day = MonthDay.from(night);
+        for (Season s : seasons) {
+            if (s.covers(day) && s.appliesTo(tipo)) {
+                season = s.basisPoints;
+                break;
+            }
+        }
+        if (!weekendDays.contains(night.getDayOfWeek())) {
+            return season;
+        }
+        long combined = (long) season * weekendBasisPoints[tipo.ordinal()];
+        return (int) ((combined + FULL_RATE / 2) / FULL_RATE);
+    }
+
+    // Tarifa fija de esa noche en unidades mínimas (escala getOverrideScale), o -1 si no hay
+    long overrideMinorUnits(TipoHabitacion tipo, LocalDate night) {
+        for (RateOverride o : overrides) {
+            if (o.tipo == tipo && !night.isBefore(o.from) && !night.isAfter(o.to)) {
+                return o.minorUnits;
+            }
+        }
+        return -1;
+    }
+
+    int getOverrideScale() {
+        return overrideScale;
+    }
+
+    private static Season parseSeason(String key, String value) {
+        // MM-dd..MM-dd:porcentaje[:TIPO,TIPO]
+        String[] parts = value.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw invalid(key, value);
+        }
+        String[] range = parts[0].split("\\.\\.");
+        if (range.length != 2) {
+            throw invalid(key, value);
+        }
+        MonthDay from;
+        MonthDay to;
+        try {
+            from = MonthDay.parse("--" + range[0].trim());
+            to = MonthDay.parse("--" + range[1].trim());
+        } catch (DateTimeParseException e) {
+            throw invalid(key, value);
+        }
+        Set<TipoHabitacion> tipos = parts.length == 3 ? parseTipos(parts[2], "pricing." + key) : EnumSet.allOf(TipoHabitacion.class);
+        return new Season(key.substring("season.".length()), from, to, parsePercent(parts[1], "pricing." + key), tipos);
+    }
+
+    private static RateOverride parseOverride(String key, String value) {
+        // yyyy-MM-dd..yyyy-MM-dd:TIPO:importe
+        String[] parts = value.split(":");
+        String[] range = parts[0].split("\\.\\.");
+        if (parts.length != 3 || range.length != 2) {
+            throw invalid(key, value);
+        }
+        try {
+            LocalDate from = LocalDate.parse(range[0].trim());
+            LocalDate to = LocalDate.parse(range[1].trim());
+            BigDecimal amount = new BigDecimal(parts[2].trim());
+            if (to.isBefore(from) || amount.signum() < 0) {
+                throw invalid(key, value);
+            }
+            return new RateOverride(key.substring("override.".length()), from, to,
+                    parseEnum(TipoHabitacion.class, parts[1].trim(), "pricing." + key), amount.setScale(Math.max(0, amount.scale())), 0);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw invalid(key, value);
+        }
+    }
+
+    private static Set<TipoHabitacion> parseTipos(String value, String key) {
+        Set<TipoHabitacion> tipos = EnumSet.noneOf(TipoHabitacion.class);
+        for (String tipo : value.split(",")) {
+            tipos.add(parseEnum(TipoHabitacion.class, tipo.trim(), key));
+        }
+        return tipos;
+    }
+
+    private static int parsePercent(String value, String key) {
+        try {
+            BigDecimal percent = new BigDecimal(value.trim());
+            if (percent.signum() < 0) {
+                throw invalid(key, value);
+            }
+            return percent.movePointRight(RATE_SCALE - 2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw invalid(key, value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String key) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw invalid(key, value);
+        }
+    }
+
+    private static IllegalStateException invalid(String key, String value) {
+        String fullKey = key.startsWith("pricing.") ? key : "pricing." + key;
+        return new IllegalStateException("Valor no válido para " + fullKey + ": " + value);
+    }
+
+    private static final class Season {
+        private final String name;
+        private final MonthDay from;
+        private final MonthDay to;
+        private final int basisPoints;
+        private final Set<TipoHabitacion> tipos;
+        private final int length;
+
+        private Season(String name, MonthDay from, MonthDay to, int basisPoints, Set<TipoHabitacion> tipos) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+            this.basisPoints = basisPoints;
+            this.tipos = tipos;
+            // Longitud aproximada en un año no bisiesto, solo para decidir qué temporada es más específica
+            int start = from.atYear(2001).getDayOfYear();
+            int end = to.atYear(2001).getDayOfYear();
+            this.length = end >= start ? end - start + 1 : 365 - start + end + 1;
+        }
+
+        // Las temporadas se repiten cada año y pueden cruzar el fin de año (12-20..01-06)
+        private boolean covers(MonthDay day) {
+            if (!from.isAfter(to)) {
+                return !day.isBefore(from) && !day.isAfter(to);
+            }
+            return !day.isBefore(from) || !day.isAfter(to);
+        }
+
+        private boolean appliesTo(TipoHabitacion tipo) {
+            return tipos.contains(tipo);
+        }
+    }
+
+    private static final class RateOverride {
+        private final String name;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final TipoHabitacion tipo;
+        private final BigDecimal amount;
+        private final long minorUnits;
+
+        private RateOverride(String name, LocalDate from, LocalDate to, TipoHabitacion tipo, BigDecimal amount,
+                         long minorUnits) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+            this.tipo = tipo;
+            this.amount = amount;
+            this.minorUnits = minorUnits;
+        }
+
+        private RateOverride withScale(int scale) {
+            BigDecimal scaled = amount.setScale(scale);
+            return new RateOverride(name, from, to, tipo, scaled, Money.of(scaled).getMinorUnits());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.gestion_hotel.pricing;
+
+import com.example.gestion_hotel.entity.TipoHabitacion;
+
+import java.time.LocalDate;
+
+/*
+ * Reglas de tarifa precalculadas noche a noche para una ventana de fechas. Por cada tipo se
+ * guardan sumas acumuladas del porcentaje (en puntos básicos, 0 en noches con tarifa fija) y
+ * de las tarifas fijas, así que sumar cualquier estancia dentro de la ventana son dos restas.
+ */
+final class RateTable {
+    private final RateRules rules;
+    private final long firstDay;
+    private final int days;
+    private final long[][] basisPointsPrefix;
+    private final long[][] overridePrefix;
+
+    private RateTable(RateRules rules, long firstDay, int days) {
+        this.rules = rules;
+        this.firstDay = firstDay;
+        this.days = days;
+        int types = TipoHabitacion.values().length;
+        this.basisPointsPrefix = new long[types][days + 1];
+        this.overridePrefix = new long[types][days + 1];
+    }
+
+    static RateTable build(RateRules rules, LocalDate from, LocalDate until) {
+        long firstDay = from.toEpochDay();
+        RateTable table = new RateTable(rules, firstDay, (int) (until.toEpochDay() - firstDay));
+        for (TipoHabitacion tipo : TipoHabitacion.values()) {
+            long[] basisPoints = table.basisPointsPrefix[tipo.ordinal()];
+            long[] overrides = table.overridePrefix[tipo.ordinal()];
+            for (int day = 0; day < table.days; day++) {
+                LocalDate night = LocalDate.ofEpochDay(firstDay + day);
+                long override = rules.overrideMinorUnits(tipo, night);
+                basisPoints[day + 1] = basisPoints[day] + (override < 0 ? rules.basisPoints(tipo, night) : 0);
+                overrides[day + 1] = overrides[day] + Math.max(override, 0);
+            }
+        }
+        return table;
+    }
+
+    long getFirstDay() {
+        return firstDay;
+    }
+
+    // Puntos básicos a aplicar al precio de la habitación en las noches [fromDay, toDay).
+    // Fuera de la ventana se recorre noche a noche con las reglas
+    long basisPoints(TipoHabitacion tipo, long fromDay, long toDay) {
+        if (covers(fromDay, toDay)) {
+            long[] prefix = basisPointsPrefix[tipo.ordinal()];
+            return prefix[(int) (toDay - firstDay)] - prefix[(int) (fromDay - firstDay)];
+        }
+        long basisPoints = 0;
+        for (long day = fromDay; day < toDay; day++) {
+            LocalDate night = LocalDate.ofEpochDay(day);
+            if (rules.overrideMinorUnits(tipo, night) < 0) {
+                basisPoints += rules.basisPoints(tipo, night);
+            }
+        }
+        return basisPoints;
+    }
+
+    // Suma de las tarifas fijas de las noches [fromDay, toDay), en la escala de getOverrideScale
+    long overrides(TipoHabitacion tipo, long fromDay, long toDay) {
+        if (covers(fromDay, toDay)) {
+            long[] prefix = overridePrefix[tipo.ordinal()];
+            return prefix[(int) (toDay - firstDay)] - prefix[(int) (fromDay - firstDay)];
+        }
+        long overrides = 0;
+        for (long day = fromDay; day < toDay; day++) {
+            overrides = Math.addExact(overrides, Math.max(rules.overrideMinorUnits(tipo, LocalDate.ofEpochDay(day)), 0));
+        }
+        return overrides;
+    }
+
+    private boolean covers(long fromDay, long toDay) {
+        return fromDay >= firstDay && toDay <= firstDay + days;
+    }
+
+    int getOverrideScale() {
+        return rules.getOverrideScale();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.gestion_hotel.service;
+
+import java.time.LocalDate;
+
+public class ArchiveReport {
+    private final LocalDate checkedOutBefore;
+    private final long rowsArchived;
+    private final int chunks;
+    private final long elapsedNanos;
+
+    ArchiveReport(LocalDate checkedOutBefore, long rowsArchived, int chunks, long elapsedNanos) {
+        this.checkedOutBefore = checkedOutBefore;
+        this.rowsArchived = rowsArchived;
+        this.chunks = chunks;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LocalDate getCheckedOutBefore() { return checkedOutBefore; }
+    public long getRowsArchived() { return rowsArchived; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    @Override
+    public String toString() {
+        return String.format("ArchiveReport{salidaAntesDe=%s, archivadas=%d, bloques=%d, %d ms}",
+                checkedOutBefore, rowsArchived, chunks, getElapsedMillis());
+    }
+}
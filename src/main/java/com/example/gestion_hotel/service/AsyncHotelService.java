@@ -0,0 +1,177 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.GuestCache;
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomCatalog;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/*
+ * Fachada asíncrona sobre los servicios. Cada llamada corre en su propio hilo virtual y las
+ * consultas independientes se lanzan a la vez. Un semáforo limita cuántas llamadas acceden a
+ * la base de datos simultáneamente (por defecto, el tamaño del pool), porque el driver de MySQL
+ * fija el hilo virtual a su hilo portador mientras espera la red. Las lecturas que resuelven
+ * las cachés o el índice de disponibilidad no toman permiso. Los errores llegan como
+ * CompletionException cuya causa es la ServiceException original.
+ */
+public class AsyncHotelService implements AutoCloseable {
+    private final GuestService guestService;
+    private final RoomService roomService;
+    private final ReservationService reservationService;
+    private final GuestCache guestCache;
+    private final RoomCatalog roomCatalog;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final ExecutorService executor;
+    private final Semaphore dbPermits;
+
+    public AsyncHotelService() {
+        this(new GuestService(), new RoomService(), new ReservationService());
+    }
+
+    public AsyncHotelService(GuestService guestService, RoomService roomService,
+                             ReservationService reservationService) {
+        this.guestService = guestService;
+        this.roomService = roomService;
+        this.reservationService = reservationService;
+        this.guestCache = GuestCache.getInstance();
+        this.roomCatalog = RoomCatalog.getInstance();
+        this.availabilityIndex = RoomAvailabilityIndex.getInstance();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.dbPermits = new Semaphore(AppConfig.getInt("async.maxConcurrentDb",
+                AppConfig.getInt("db.pool.maxSize", 10)), true);
+    }
+
+    @FunctionalInterface
+    private interface ServiceCall<T> {
+        T call() throws ServiceException;
+    }
+
+    public CompletableFuture<Reservation> createReservation(Long guestId, Long roomId, LocalDate checkIn,
+                                                            LocalDate checkOut, Integer numGuests) {
+        try {
+            reservationService.validateReservationInput(guestId, roomId, checkIn, checkOut, numGuests);
+        } catch (ServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // Huésped y habitación se consultan en paralelo y se pasan a la parte serializada por
+        // habitación, que ya no los vuelve a buscar
+        CompletableFuture<Optional<Guest>> guest = findGuestById(guestId);
+        CompletableFuture<Optional<Room>> room = findRoomById(roomId);
+
+        return guest.thenCombine(room, (g, r) -> {
+            if (!g.isPresent()) {
+                throw new CompletionException(new ServiceException("No existe un huésped con ID: " + guestId));
+            }
+            if (!r.isPresent()) {
+                throw new CompletionException(new ServiceException("No existe una habitación con ID: " + roomId));
+            }
+            return submit(() -> reservationService.createReservation(g.get(), r.get(), checkIn, checkOut, numGuests));
+        }).thenCompose(created -> created);
+    }
+
+    public CompletableFuture<Reservation> updateReservation(Long reservationId, LocalDate newCheckIn,
+                                                            LocalDate newCheckOut, Integer newNumGuests) {
+        return submit(() -> reservationService.updateReservation(reservationId, newCheckIn, newCheckOut, newNumGuests));
+    }
+
+    public CompletableFuture<Boolean> cancelReservation(Long reservationId) {
+        return submit(() -> reservationService.cancelReservation(reservationId));
+    }
+
+    public CompletableFuture<Optional<Reservation>> findReservationById(Long id) {
+        return submit(() -> reservationService.findReservationById(id));
+    }
+
+    public CompletableFuture<List<Reservation>> findReservationsByGuest(Long guestId) {
+        return submit(() -> reservationService.findReservationsByGuest(guestId));
+    }
+
+    public CompletableFuture<List<Reservation>> findReservationsByGuest(Long guestId, boolean includeArchived) {
+        return submit(() -> reservationService.findReservationsByGuest(guestId, includeArchived));
+    }
+
+    public CompletableFuture<Guest> createGuest(String nombre, String email, String telefono) {
+        return submit(() -> guestService.createGuest(nombre, email, telefono));
+    }
+
+    public CompletableFuture<Optional<Guest>> findGuestById(Long id) {
+        return submit(!guestCache.contains(id), () -> guestService.findGuestById(id));
+    }
+
+    public CompletableFuture<Optional<Guest>> findGuestByEmail(String email) {
+        return submit(() -> guestService.findGuestByEmail(email));
+    }
+
+    public CompletableFuture<Optional<Room>> findRoomById(Long id) {
+        return submit(!roomCatalog.contains(id), () -> roomService.findRoomById(id));
+    }
+
+    public CompletableFuture<List<Room>> getAllRooms() {
+        return submit(!roomCatalog.isLoaded(), roomService::getAllRooms);
+    }
+
+    public CompletableFuture<List<Room>> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) {
+        boolean fromIndex = availabilityIndex.getMode() == RoomAvailabilityIndex.Mode.INDEX
+                && availabilityIndex.isLoaded() && roomCatalog.isLoaded();
+        return submit(!fromIndex, () -> roomService.findAvailableRooms(checkIn, checkOut, numGuests));
+    }
+
+    public CompletableFuture<AvailabilityCalendar> getAvailabilityCalendar(LocalDate from, int days) {
+        return submit(() -> roomService.getAvailabilityCalendar(from, days));
+    }
+
+    public int getAvailableDbPermits() {
+        return dbPermits.availablePermits();
+    }
+
+    public int getQueuedCalls() {
+        return dbPermits.getQueueLength();
+    }
+
+    // Espera a que terminen las llamadas en curso
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> CompletableFuture<T> submit(ServiceCall<T> call) {
+        return submit(true, call);
+    }
+
+    // usesDb se decide al encolar: si la entrada caduca entretanto, la lectura va a la base de
+    // datos sin permiso, igual que cualquier fallo de caché ocasional
+    private <T> CompletableFuture<T> submit(boolean usesDb, ServiceCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (usesDb) {
+                try {
+                    dbPermits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(new ServiceException("La operación fue interrumpida"));
+                }
+            }
+            try {
+                return call.call();
+            } catch (ServiceException e) {
+                throw new CompletionException(e);
+            } finally {
+                if (usesDb) {
+                    dbPermits.release();
+                }
+            }
+        }, executor);
+    }
+}
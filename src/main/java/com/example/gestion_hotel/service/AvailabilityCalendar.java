@@ -0,0 +1,107 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.entity.TipoHabitacion;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Ocupación de cada habitación y de cada tipo de habitación día a día en una ventana de fechas.
+ * El día i (0 = getFrom()) está ocupado si alguna reserva ACTIVA lo incluye, con los mismos
+ * extremos incluidos que findAvailableRooms. Una habitación marcada como no disponible no tiene
+ * ningún día libre.
+ */
+public class AvailabilityCalendar {
+    private final LocalDate from;
+    private final int days;
+    private final List<RoomCalendar> rooms;
+    private final Map<TipoHabitacion, TypeCalendar> types;
+
+    AvailabilityCalendar(LocalDate from, int days, List<RoomCalendar> rooms, Map<TipoHabitacion, TypeCalendar> types) {
+        this.from = from;
+        this.days = days;
+        this.rooms = Collections.unmodifiableList(rooms);
+        this.types = Collections.unmodifiableMap(types);
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return from.plusDays(days - 1L); }
+    public int getDays() { return days; }
+    public LocalDate dateOf(int dayIndex) { return from.plusDays(dayIndex); }
+
+    // En orden de número de habitación
+    public List<RoomCalendar> getRooms() { return rooms; }
+
+    // Contiene todos los tipos, aunque no haya habitaciones de alguno
+    public Map<TipoHabitacion, TypeCalendar> getTypes() { return types; }
+
+    public TypeCalendar getType(TipoHabitacion tipo) { return types.get(tipo); }
+
+    public static final class RoomCalendar {
+        private final Long roomId;
+        private final String numero;
+        private final TipoHabitacion tipo;
+        private final BitSet free;
+        private final int days;
+
+        RoomCalendar(Long roomId, String numero, TipoHabitacion tipo, BitSet free, int days) {
+            this.roomId = roomId;
+            this.numero = numero;
+            this.tipo = tipo;
+            this.free = free;
+            this.days = days;
+        }
+
+        public Long getRoomId() { return roomId; }
+        public String getNumero() { return numero; }
+        public TipoHabitacion getTipo() { return tipo; }
+        public boolean isFree(int dayIndex) { return free.get(dayIndex); }
+        public int getFreeNights() { return free.cardinality(); }
+        public int getBookedNights() { return days - free.cardinality(); }
+
+        // Copia: bit i a 1 si el día i está libre
+        public BitSet getFreeDays() { return (BitSet) free.clone(); }
+
+        BitSet free() { return free; }
+    }
+
+    public static final class TypeCalendar {
+        private final TipoHabitacion tipo;
+        private final List<RoomCalendar> rooms;
+        private final BitSet anyFree;
+        private final long freeNights;
+        private final int days;
+
+        TypeCalendar(TipoHabitacion tipo, List<RoomCalendar> rooms, BitSet anyFree, long freeNights, int days) {
+            this.tipo = tipo;
+            this.rooms = Collections.unmodifiableList(rooms);
+            this.anyFree = anyFree;
+            this.freeNights = freeNights;
+            this.days = days;
+        }
+
+        public TipoHabitacion getTipo() { return tipo; }
+        public int getRoomCount() { return rooms.size(); }
+        public List<RoomCalendar> getRooms() { return rooms; }
+
+        // Si queda al menos una habitación de este tipo libre ese día
+        public boolean hasFreeRoom(int dayIndex) { return anyFree.get(dayIndex); }
+
+        public int getFreeRooms(int dayIndex) {
+            int count = 0;
+            for (RoomCalendar room : rooms) {
+                if (room.isFree(dayIndex)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public long getFreeNights() { return freeNights; }
+        public long getBookedNights() { return (long) rooms.size() * days - freeNights; }
+        public BitSet getDaysWithFreeRoom() { return (BitSet) anyFree.clone(); }
+    }
+}
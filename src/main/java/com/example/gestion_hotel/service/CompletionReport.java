@@ -0,0 +1,35 @@
+package com.example.gestion_hotel.service;
+
+import java.time.LocalDate;
+
+public class CompletionReport {
+    private final LocalDate checkedOutBefore;
+    private final long rowsCompleted;
+    private final int chunks;
+    private final int indexEntriesRemoved;
+    private final int inventoryStaysRemoved;
+    private final long elapsedNanos;
+
+    CompletionReport(LocalDate checkedOutBefore, long rowsCompleted, int chunks, int indexEntriesRemoved,
+                     int inventoryStaysRemoved, long elapsedNanos) {
+        this.checkedOutBefore = checkedOutBefore;
+        this.rowsCompleted = rowsCompleted;
+        this.chunks = chunks;
+        this.indexEntriesRemoved = indexEntriesRemoved;
+        this.inventoryStaysRemoved = inventoryStaysRemoved;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LocalDate getCheckedOutBefore() { return checkedOutBefore; }
+    public long getRowsCompleted() { return rowsCompleted; }
+    public int getChunks() { return chunks; }
+    public int getIndexEntriesRemoved() { return indexEntriesRemoved; }
+    public int getInventoryStaysRemoved() { return inventoryStaysRemoved; }
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    @Override
+    public String toString() {
+        return String.format("CompletionReport{salidaAntesDe=%s, completadas=%d, bloques=%d, quitadasDelIndice=%d, quitadasDelInventario=%d, %d ms}",
+                checkedOutBefore, rowsCompleted, chunks, indexEntriesRemoved, inventoryStaysRemoved, getElapsedMillis());
+    }
+}
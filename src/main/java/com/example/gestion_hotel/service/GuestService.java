@@ -1,32 +1,108 @@
 package com.example.gestion_hotel.service;
 
+import com.example.gestion_hotel.cache.GuestCache;
+import com.example.gestion_hotel.dao.DaoFactory;
 import com.example.gestion_hotel.dao.GuestDao;
 import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.GuestSummary;
 import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.Page;
+import com.example.gestion_hotel.util.PageToken;
+import com.example.gestion_hotel.util.UnitOfWork;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class GuestService {
     private final GuestDao guestDAO;
+    private final GuestCache guestCache;
 
     public GuestService() {
-        this.guestDAO = new GuestDao();
+        this(DaoFactory.getInstance().guestDao());
+    }
+
+    public GuestService(GuestDao guestDAO) {
+        this.guestDAO = guestDAO;
+        this.guestCache = GuestCache.getInstance();
     }
 
     public Guest createGuest(String nombre, String email, String telefono) throws ServiceException {
+        Guest guest = new Guest(nombre != null ? nombre.trim() : null, email, telefono);
+
         // Validaciones de negocio
-        if (nombre == null || nombre.trim().isEmpty()) {
+        validateNewGuest(guest);
+
+        try {
+            // Verificar unicidad del email
+            Optional<Guest> existingGuest = lookupByEmail(email);
+            if (existingGuest.isPresent()) {
+                throw new ServiceException("Ya existe un huésped registrado con este email");
+            }
+
+            Guest created = guestDAO.create(guest);
+            guestCache.put(created);
+            return created;
+
+        } catch (SQLException e) {
+            throw new ServiceException("Error al crear el huésped en la base de datos", e);
+        }
+    }
+
+    public List<Guest> createGuests(List<Guest> guests) throws ServiceException {
+        if (guests == null || guests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Validar cada huésped y la unicidad del email dentro del propio lote
+        Set<String> normalizedEmails = new HashSet<>();
+        List<String> emails = new ArrayList<>(guests.size());
+        for (int i = 0; i < guests.size(); i++) {
+            Guest guest = guests.get(i);
+            if (guest.getNombre() != null) {
+                guest.setNombre(guest.getNombre().trim());
+            }
+            try {
+                validateNewGuest(guest);
+            } catch (ServiceException e) {
+                throw new ServiceException("Huésped #" + (i + 1) + ": " + e.getMessage());
+            }
+            if (!normalizedEmails.add(guest.getEmail().toLowerCase(Locale.ROOT))) {
+                throw new ServiceException("Huésped #" + (i + 1) + ": el email está repetido en el lote");
+            }
+            emails.add(guest.getEmail());
+        }
+
+        try {
+            // Verificar unicidad del email con una sola consulta por bloque
+            Set<String> existing = guestDAO.findExistingEmails(emails);
+            if (!existing.isEmpty()) {
+                throw new ServiceException("Ya existen huéspedes registrados con estos emails: " + existing);
+            }
+
+            return guestDAO.createAll(guests);
+
+        } catch (SQLException e) {
+            throw new ServiceException("Error al crear los huéspedes en la base de datos", e);
+        }
+    }
+
+    public void validateNewGuest(Guest guest) throws ServiceException {
+        String nombre = guest.getNombre();
+        if (nombre == null || nombre.isEmpty()) {
             throw new ServiceException("El nombre del huésped es obligatorio");
         }
 
-        if (nombre.trim().length() < 2) {
+        if (nombre.length() < 2) {
             throw new ServiceException("El nombre debe tener al menos 2 caracteres");
         }
 
-        Guest guest = new Guest(nombre.trim(), email, telefono);
-
         if (!guest.validateEmail()) {
             throw new ServiceException("El formato del email no es válido");
         }
@@ -34,18 +110,21 @@ public class GuestService {
         if (!guest.validatePhone()) {
             throw new ServiceException("El formato del teléfono no es válido (9-15 dígitos)");
         }
+    }
 
+    public Set<String> findExistingEmails(Collection<String> emails) throws ServiceException {
         try {
-            // Verificar unicidad del email
-            Optional<Guest> existingGuest = guestDAO.findByEmail(email);
-            if (existingGuest.isPresent()) {
-                throw new ServiceException("Ya existe un huésped registrado con este email");
-            }
-
-            return guestDAO.create(guest);
+            return guestDAO.findExistingEmails(emails);
+        } catch (SQLException e) {
+            throw new ServiceException("Error al verificar los emails de los huéspedes", e);
+        }
+    }
 
+    public Set<Long> findExistingGuestIds(Collection<Long> ids) throws ServiceException {
+        try {
+            return guestDAO.findExistingIds(ids);
         } catch (SQLException e) {
-            throw new ServiceException("Error al crear el huésped en la base de datos", e);
+            throw new ServiceException("Error al buscar los huéspedes", e);
         }
     }
 
@@ -54,8 +133,20 @@ public class GuestService {
             throw new ServiceException("El ID del huésped debe ser un número positivo");
         }
 
+        return UnitOfWork.find(Guest.class, id, () -> loadGuest(id));
+    }
+
+    private Optional<Guest> loadGuest(Long id) throws ServiceException {
+        Guest cached = guestCache.getById(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            return guestDAO.findById(id);
+            long stamp = guestCache.getInvalidationStamp();
+            Optional<Guest> guest = guestDAO.findById(id);
+            guest.ifPresent(g -> guestCache.putLoaded(g, stamp));
+            return guest;
         } catch (SQLException e) {
             throw new ServiceException("Error al buscar el huésped", e);
         }
@@ -67,12 +158,23 @@ public class GuestService {
         }
 
         try {
-            return guestDAO.findByEmail(email);
+            return lookupByEmail(email);
         } catch (SQLException e) {
             throw new ServiceException("Error al buscar el huésped por email", e);
         }
     }
 
+    private Optional<Guest> lookupByEmail(String email) throws SQLException {
+        Guest cached = guestCache.getByEmail(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = guestCache.getInvalidationStamp();
+        Optional<Guest> guest = guestDAO.findByEmail(email);
+        guest.ifPresent(g -> guestCache.putLoaded(g, stamp));
+        return guest;
+    }
+
     public List<Guest> getAllGuests() throws ServiceException {
         try {
             return guestDAO.findAll();
@@ -81,6 +183,45 @@ public class GuestService {
         }
     }
 
+    public List<GuestSummary> getGuestSummaries() throws ServiceException {
+        try {
+            return guestDAO.findAllSummaries();
+        } catch (SQLException e) {
+            throw new ServiceException("Error al obtener la lista de huéspedes", e);
+        }
+    }
+
+    public Page<Guest> getGuestsPage(String pageToken, int pageSize) throws ServiceException {
+        Page.validatePageSize(pageSize);
+        String[] cursor = PageToken.decode(pageToken, 2);
+
+        try {
+            List<Guest> rows = cursor == null
+                    ? guestDAO.findPage(null, null, pageSize + 1)
+                    : guestDAO.findPage(cursor[0], parseCursorId(cursor[1]), pageSize + 1);
+            return Page.of(rows, pageSize, last -> PageToken.encode(last.getNombre(), last.getId()));
+        } catch (SQLException e) {
+            throw new ServiceException("Error al obtener la página de huéspedes", e);
+        }
+    }
+
+    private static Long parseCursorId(String value) throws ServiceException {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Token de paginación inválido");
+        }
+    }
+
+    // Recorre todos los huéspedes sin cargarlos en memoria; el llamador debe cerrar el Stream
+    public Stream<Guest> streamAllGuests() throws ServiceException {
+        try {
+            return guestDAO.streamAll();
+        } catch (SQLException e) {
+            throw new ServiceException("Error al recorrer los huéspedes", e);
+        }
+    }
+
     public Guest updateGuest(Guest guest) throws ServiceException {
         if (guest == null || guest.getId() == null) {
             throw new ServiceException("El huésped y su ID son obligatorios para actualizar");
@@ -103,13 +244,19 @@ public class GuestService {
 
         try {
             // Verificar unicidad del email (excluyendo el huésped actual)
-            Optional<Guest> guestWithSameEmail = guestDAO.findByEmail(guest.getEmail());
+            Optional<Guest> guestWithSameEmail = lookupByEmail(guest.getEmail());
             if (guestWithSameEmail.isPresent() &&
                     !guestWithSameEmail.get().getId().equals(guest.getId())) {
                 throw new ServiceException("Ya existe otro huésped con este email");
             }
 
-            return guestDAO.update(guest);
+            // Antes de escribir, para no servir la versión anterior tras un fallo parcial; después,
+            // para descartar lo que una lectura concurrente haya guardado entretanto
+            guestCache.invalidate(guest.getId());
+            Guest updated = guestDAO.update(guest);
+            guestCache.invalidate(guest.getId());
+            UnitOfWork.register(Guest.class, updated.getId(), updated);
+            return updated;
 
         } catch (SQLException e) {
             throw new ServiceException("Error al actualizar el huésped", e);
@@ -128,7 +275,12 @@ public class GuestService {
         }
 
         try {
-            return guestDAO.delete(id);
+            // Igual que en updateGuest: una lectura entre ambas invalidaciones no queda en caché
+            guestCache.invalidate(id);
+            UnitOfWork.evict(Guest.class, id);
+            boolean deleted = guestDAO.delete(id);
+            guestCache.invalidate(id);
+            return deleted;
         } catch (SQLException e) {
             throw new ServiceException("Error al eliminar el huésped", e);
         }
@@ -0,0 +1,113 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.TransactionManager;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Tarea periódica que mueve a reservations_archive las reservas COMPLETADA y CANCELADA cuya
+ * salida es anterior a archive.retentionDays, para que la tabla reservations solo contenga las
+ * reservas en uso. Cada bloque de archive.chunkSize filas se copia y se borra en una misma
+ * transacción. Las archivadas solo se consultan al pedir el historial completo de un huésped.
+ */
+public class ReservationArchiveJob {
+    private static final Logger LOGGER = Logger.getLogger(ReservationArchiveJob.class.getName());
+
+    private final ReservationDao reservationDAO;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Object runLock = new Object();
+    private ScheduledExecutorService scheduler;
+    private volatile ArchiveReport lastReport;
+
+    public ReservationArchiveJob() {
+        this(DaoFactory.getInstance().reservationDao(), AppConfig.getInt("archive.retentionDays", 365),
+                AppConfig.getInt("archive.chunkSize", 500), AppConfig.getLong("archive.pauseMs", 100));
+    }
+
+    public ReservationArchiveJob(ReservationDao reservationDAO, int retentionDays, int chunkSize, long pauseMillis) {
+        if (chunkSize <= 0 || retentionDays < 0) {
+            throw new IllegalArgumentException("Configuración de archivado inválida: retentionDays="
+                    + retentionDays + ", chunkSize=" + chunkSize);
+        }
+        this.reservationDAO = reservationDAO;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    public ArchiveReport runOnce() throws ServiceException {
+        synchronized (runLock) {
+            LocalDate before = LocalDate.now().minusDays(retentionDays);
+            long start = System.nanoTime();
+            long archived = 0;
+            int chunks = 0;
+
+            try {
+                int moved;
+                do {
+                    moved = TransactionManager.execute(() -> reservationDAO.archiveCheckedOutBefore(before, chunkSize));
+                    archived += moved;
+                    chunks++;
+                    if (moved == chunkSize && pauseMillis > 0) {
+                        Thread.sleep(pauseMillis);
+                    }
+                } while (moved == chunkSize);
+            } catch (SQLException e) {
+                throw new ServiceException("Error al archivar reservas (" + archived + " ya archivadas)", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Se interrumpió el archivado de reservas (" + archived + " ya archivadas)");
+            }
+
+            ArchiveReport report = new ArchiveReport(before, archived, chunks, System.nanoTime() - start);
+            lastReport = report;
+            return report;
+        }
+    }
+
+    public synchronized void start() {
+        long intervalMinutes = AppConfig.getLong("archive.intervalMinutes", 1440);
+        if (scheduler != null || intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservation-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled,
+                AppConfig.getLong("archive.initialDelaySeconds", 300), intervalMinutes * 60, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public ArchiveReport getLastReport() {
+        return lastReport;
+    }
+
+    private void runScheduled() {
+        try {
+            ArchiveReport report = runOnce();
+            LOGGER.info(report.toString());
+        } catch (ServiceException e) {
+            LOGGER.log(Level.WARNING, e.getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomTypeInventory;
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.AppConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Tarea periódica que pasa a COMPLETADA las reservas ACTIVA cuya fecha de salida ya pasó, para
+ * que las consultas sobre reservas activas no recorran estancias antiguas. Trabaja en bloques de
+ * completion.chunkSize filas, cada uno en su propia transacción corta, con una pausa entre
+ * bloques para no competir con las reservas en curso. Al terminar retira esas reservas del
+ * índice de disponibilidad y del inventario por tipo.
+ */
+public class ReservationCompletionJob {
+    private static final Logger LOGGER = Logger.getLogger(ReservationCompletionJob.class.getName());
+
+    private final ReservationDao reservationDAO;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomTypeInventory roomTypeInventory;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Object runLock = new Object();
+    private ScheduledExecutorService scheduler;
+    private volatile CompletionReport lastReport;
+
+    public ReservationCompletionJob() {
+        this(DaoFactory.getInstance().reservationDao(), RoomAvailabilityIndex.getInstance(),
+                RoomTypeInventory.getInstance(), AppConfig.getInt("completion.chunkSize", 500), AppConfig.getLong("completion.pauseMs", 50));
+    }
+
+    public ReservationCompletionJob(ReservationDao reservationDAO, RoomAvailabilityIndex availabilityIndex,
+                                    RoomTypeInventory roomTypeInventory, int chunkSize, long pauseMillis) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("completion.chunkSize debe ser positivo: " + chunkSize);
+        }
+        this.reservationDAO = reservationDAO;
+        this.availabilityIndex = availabilityIndex;
+        this.roomTypeInventory = roomTypeInventory;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    // La fecha de salida de hoy todavía ocupa la habitación, así que solo se completan las anteriores
+    public CompletionReport runOnce() throws ServiceException {
+        synchronized (runLock) {
+            LocalDate before = LocalDate.now();
+            long start = System.nanoTime();
+            long completed = 0;
+            int chunks = 0;
+            int removedFromIndex = 0;
+            int removedFromInventory = 0;
+
+            try {
+                int updated;
+                do {
+                    updated = reservationDAO.completeCheckedOutBefore(before, chunkSize);
+                    completed += updated;
+                    chunks++;
+                    if (updated == chunkSize && pauseMillis > 0) {
+                        Thread.sleep(pauseMillis);
+                    }
+                } while (updated == chunkSize);
+            } catch (SQLException e) {
+                throw new ServiceException("Error al completar reservas finalizadas (" + completed + " ya completadas)", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceException("Se interrumpió la tarea de completar reservas (" + completed + " ya completadas)");
+            } finally {
+                // También tras un fallo: lo ya confirmado no debe seguir ocupando el índice ni el inventario
+                if (completed > 0) {
+                    removedFromIndex = availabilityIndex.onCheckedOutBefore(before);
+                    removedFromInventory = roomTypeInventory.onCheckedOutBefore(before);
+                }
+            }
+
+            CompletionReport report = new CompletionReport(before, completed, chunks, removedFromIndex,
+                    removedFromInventory, System.nanoTime() - start);
+            lastReport = report;
+            return report;
+        }
+    }
+
+    public synchronized void start() {
+        long intervalMinutes = AppConfig.getLong("completion.intervalMinutes", 60);
+        if (scheduler != null || intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservation-completion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled,
+                AppConfig.getLong("completion.initialDelaySeconds", 60), intervalMinutes * 60, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public CompletionReport getLastReport() {
+        return lastReport;
+    }
+
+    private void runScheduled() {
+        try {
+            CompletionReport report = runOnce();
+            LOGGER.info(report.toString());
+        } catch (ServiceException e) {
+            LOGGER.log(Level.WARNING, e.getMessage(), e.getCause());
+        }
+    }
+}
@@ -1,27 +1,59 @@
 package com.example.gestion_hotel.service;
 
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomTypeInventory;
+import com.example.gestion_hotel.dao.DaoFactory;
 import com.example.gestion_hotel.dao.ReservationDao;
 import com.example.gestion_hotel.entity.EstadoReserva;
 import com.example.gestion_hotel.entity.Guest;
 import com.example.gestion_hotel.entity.Reservation;
 import com.example.gestion_hotel.entity.Room;
 import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.Page;
+import com.example.gestion_hotel.util.PageToken;
+import com.example.gestion_hotel.util.StripedLock;
+import com.example.gestion_hotel.util.TransactionManager;
+import com.example.gestion_hotel.util.UnitOfWork;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 public class ReservationService {
+    // Compartido por todas las instancias para que los locks sean efectivos en todo el proceso
+    private static final StripedLock ROOM_LOCKS =
+            new StripedLock(AppConfig.getInt("reservation.lockStripes", 64));
+    private static final int BULK_CHUNK_SIZE = AppConfig.getInt("db.batch.size", 500);
+
     private final ReservationDao reservationDAO;
     private final GuestService guestService;
     private final RoomService roomService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomTypeInventory roomTypeInventory;
 
     public ReservationService() {
-        this.reservationDAO = new ReservationDao();
-        this.guestService = new GuestService();
-        this.roomService = new RoomService();
+        this(DaoFactory.getInstance().reservationDao(), new GuestService(), new RoomService());
+    }
+
+    public ReservationService(ReservationDao reservationDAO, GuestService guestService, RoomService roomService) {
+        this.reservationDAO = reservationDAO;
+        this.guestService = guestService;
+        this.roomService = roomService;
+        this.availabilityIndex = RoomAvailabilityIndex.getInstance();
+        this.roomTypeInventory = RoomTypeInventory.getInstance();
     }
 
     public Reservation createReservation(Long guestId, Long roomId, LocalDate checkIn,
@@ -30,44 +62,196 @@ public class ReservationService {
         // Validaciones de entrada
         validateReservationInput(guestId, roomId, checkIn, checkOut, numGuests);
 
-        // Verificar que el huésped existe
+        // Solo se serializan las reservas que compiten por la misma habitación
+        ReentrantLock roomLock = ROOM_LOCKS.get(roomId);
+        roomLock.lock();
+        try {
+            Reservation created = UnitOfWork.execute(() -> doCreateReservation(
+                    requireGuest(guestId), requireRoom(roomId), checkIn, checkOut, numGuests));
+            availabilityIndex.onReservationSaved(created);
+            roomTypeInventory.onReservationSaved(created);
+            return created;
+        } catch (SQLException e) {
+            throw new ServiceException("Error al crear la reserva en la base de datos", e);
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    // Para AsyncHotelService, que ya consultó el huésped y la habitación en paralelo
+    Reservation createReservation(Guest guest, Room room, LocalDate checkIn,
+                                  LocalDate checkOut, Integer numGuests) throws ServiceException {
+        validateReservationInput(guest.getId(), room.getId(), checkIn, checkOut, numGuests);
+
+        ReentrantLock roomLock = ROOM_LOCKS.get(room.getId());
+        roomLock.lock();
+        try {
+            Reservation created = UnitOfWork.execute(() -> doCreateReservation(guest, room, checkIn, checkOut, numGuests));
+            availabilityIndex.onReservationSaved(created);
+            roomTypeInventory.onReservationSaved(created);
+            return created;
+        } catch (SQLException e) {
+            throw new ServiceException("Error al crear la reserva en la base de datos", e);
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    private Guest requireGuest(Long guestId) throws ServiceException {
         Optional<Guest> guest = guestService.findGuestById(guestId);
         if (!guest.isPresent()) {
             throw new ServiceException("No existe un huésped con ID: " + guestId);
         }
+        return guest.get();
+    }
 
-        // Verificar que la habitación existe
+    private Room requireRoom(Long roomId) throws ServiceException {
         Optional<Room> room = roomService.findRoomById(roomId);
         if (!room.isPresent()) {
             throw new ServiceException("No existe una habitación con ID: " + roomId);
         }
+        return room.get();
+    }
+
+    private Reservation doCreateReservation(Guest guest, Room room, LocalDate checkIn,
+                                            LocalDate checkOut, Integer numGuests) throws ServiceException, SQLException {
+        Long roomId = room.getId();
 
         // Validar capacidad de la habitación
-        if (!room.get().puedeAlojar(numGuests)) {
+        if (!room.puedeAlojar(numGuests)) {
             throw new ServiceException("La habitación no tiene capacidad suficiente para " + numGuests + " huéspedes");
         }
 
-        // Verificar disponibilidad de la habitación en las fechas solicitadas
-        List<Room> availableRooms = roomService.findAvailableRooms(checkIn, checkOut, numGuests);
-        boolean isRoomAvailable = availableRooms.stream()
-                .anyMatch(r -> r.getId().equals(roomId));
+        // Crear la reserva
+        Reservation reservation = new Reservation(guest.getId(), roomId, checkIn, checkOut, numGuests);
 
-        if (!isRoomAvailable) {
+        // Calcular el monto total
+        reservation.setMontoTotal(roomService.quote(room, checkIn, checkOut));
+
+        reservationDAO.lockRoomForUpdate(roomId);
+
+        // Verificar disponibilidad de la habitación en las fechas solicitadas
+        if (!room.isAvailable() || hasConflictingReservation(roomId, checkIn, checkOut, null)) {
             throw new ServiceException("La habitación no está disponible en las fechas solicitadas");
         }
+        Reservation created = reservationDAO.create(reservation);
+        UnitOfWork.register(Reservation.class, created.getId(), created);
+        return created;
+    }
 
-        // Crear la reserva
-        Reservation reservation = new Reservation(guestId, roomId, checkIn, checkOut, numGuests);
+    public List<Reservation> createReservations(List<Reservation> reservations) throws ServiceException {
+        if (reservations == null || reservations.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        // Calcular el monto total
-        BigDecimal totalAmount = roomService.calculateTotalPrice(roomId, checkIn, checkOut);
-        reservation.setMontoTotal(totalAmount);
+        // Validaciones de entrada, una vez por reserva
+        Set<Long> guestIds = new HashSet<>();
+        Set<Long> roomIds = new HashSet<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation r = reservations.get(i);
+            try {
+                validateReservationInput(r.getGuestId(), r.getRoomId(), r.getFechaCheckIn(),
+                        r.getFechaCheckOut(), r.getNumeroHuespedes());
+            } catch (ServiceException e) {
+                throw rowError(i, e.getMessage());
+            }
+            guestIds.add(r.getGuestId());
+            roomIds.add(r.getRoomId());
+        }
 
-        try {
-            return reservationDAO.create(reservation);
-        } catch (SQLException e) {
-            throw new ServiceException("Error al crear la reserva en la base de datos", e);
+        // Huéspedes y habitaciones se resuelven con una consulta por bloque, no por reserva
+        Set<Long> existingGuests = guestService.findExistingGuestIds(guestIds);
+        Map<Long, Room> rooms = roomService.findRoomsByIds(roomIds);
+
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation r = reservations.get(i);
+            if (!existingGuests.contains(r.getGuestId())) {
+                throw rowError(i, "No existe un huésped con ID: " + r.getGuestId());
+            }
+            Room room = rooms.get(r.getRoomId());
+            if (room == null) {
+                throw rowError(i, "No existe una habitación con ID: " + r.getRoomId());
+            }
+            if (!room.puedeAlojar(r.getNumeroHuespedes())) {
+                throw rowError(i, "La habitación no tiene capacidad suficiente para " + r.getNumeroHuespedes() + " huéspedes");
+            }
+            if (!room.isAvailable()) {
+                throw rowError(i, "La habitación no está disponible en las fechas solicitadas");
+            }
+            r.setMontoTotal(roomService.quote(room, r.getFechaCheckIn(), r.getFechaCheckOut()));
+        }
+
+        checkOverlapsWithinBatch(reservations);
+
+        // Cada bloque bloquea sus habitaciones, revisa conflictos en la base de datos e inserta
+        List<Reservation> created = new ArrayList<>(reservations.size());
+        for (int start = 0; start < reservations.size(); start += BULK_CHUNK_SIZE) {
+            int offset = start;
+            List<Reservation> chunk = reservations.subList(start, Math.min(start + BULK_CHUNK_SIZE, reservations.size()));
+            try {
+                TransactionManager.execute(() -> {
+                    Set<Long> chunkRooms = new HashSet<>();
+                    LocalDate from = LocalDate.MAX;
+                    LocalDate to = LocalDate.MIN;
+                    for (Reservation r : chunk) {
+                        chunkRooms.add(r.getRoomId());
+                        from = r.getFechaCheckIn().isBefore(from) ? r.getFechaCheckIn() : from;
+                        to = r.getFechaCheckOut().isAfter(to) ? r.getFechaCheckOut() : to;
+                    }
+                    reservationDAO.lockRoomsForUpdate(chunkRooms);
+
+                    List<Reservation> existing = reservationDAO.findActiveOverlapping(chunkRooms, from, to);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Reservation r = chunk.get(i);
+                        for (Reservation other : existing) {
+                            if (other.getRoomId().equals(r.getRoomId()) && overlaps(r, other)) {
+                                throw rowError(offset + i, "La habitación no está disponible en las fechas solicitadas");
+                            }
+                        }
+                    }
+                    return reservationDAO.createAll(chunk);
+                });
+            } catch (SQLException e) {
+                throw new ServiceException("Error al crear las reservas en la base de datos ("
+                        + created.size() + " reservas ya confirmadas)", e);
+            }
+            for (Reservation r : chunk) {
+                availabilityIndex.onReservationSaved(r);
+                roomTypeInventory.onReservationSaved(r);
+            }
+            created.addAll(chunk);
+        }
+        return created;
+    }
+
+    private void checkOverlapsWithinBatch(List<Reservation> reservations) throws ServiceException {
+        Map<Long, List<Integer>> byRoom = new HashMap<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            byRoom.computeIfAbsent(reservations.get(i).getRoomId(), k -> new ArrayList<>()).add(i);
         }
+        for (List<Integer> indexes : byRoom.values()) {
+            indexes.sort(Comparator.comparing(i -> reservations.get(i).getFechaCheckIn()));
+            LocalDate maxCheckOut = null;
+            for (int i : indexes) {
+                Reservation r = reservations.get(i);
+                if (maxCheckOut != null && !r.getFechaCheckIn().isAfter(maxCheckOut)) {
+                    throw rowError(i, "Se solapa con otra reserva de la misma habitación en el lote");
+                }
+                if (maxCheckOut == null || r.getFechaCheckOut().isAfter(maxCheckOut)) {
+                    maxCheckOut = r.getFechaCheckOut();
+                }
+            }
+        }
+    }
+
+    // Mismo criterio de solapamiento (extremos incluidos) que la consulta SQL
+    private static boolean overlaps(Reservation a, Reservation b) {
+        return !a.getFechaCheckIn().isAfter(b.getFechaCheckOut())
+                && !a.getFechaCheckOut().isBefore(b.getFechaCheckIn());
+    }
+
+    private static ServiceException rowError(int index, String message) {
+        return new ServiceException("Reserva #" + (index + 1) + ": " + message);
     }
 
     public Optional<Reservation> findReservationById(Long id) throws ServiceException {
@@ -75,20 +259,49 @@ public class ReservationService {
             throw new ServiceException("El ID de la reserva debe ser un número positivo");
         }
 
+        return UnitOfWork.find(Reservation.class, id, () -> {
+            try {
+                return reservationDAO.findById(id);
+            } catch (SQLException e) {
+                throw new ServiceException("Error al buscar la reserva", e);
+            }
+        });
+    }
+
+    public List<Reservation> findReservationsByGuest(Long guestId) throws ServiceException {
+        return findReservationsByGuest(guestId, false);
+    }
+
+    // Con includeArchived también se devuelven las reservas ya movidas a reservations_archive
+    public List<Reservation> findReservationsByGuest(Long guestId, boolean includeArchived) throws ServiceException {
+        if (guestId == null || guestId <= 0) {
+            throw new ServiceException("El ID del huésped debe ser un número positivo");
+        }
+
         try {
-            return reservationDAO.findById(id);
+            return includeArchived
+                    ? reservationDAO.findByGuestIdWithArchive(guestId)
+                    : reservationDAO.findByGuestId(guestId);
         } catch (SQLException e) {
-            throw new ServiceException("Error al buscar la reserva", e);
+            throw new ServiceException("Error al buscar las reservas del huésped", e);
         }
     }
 
-    public List<Reservation> findReservationsByGuest(Long guestId) throws ServiceException {
+    public Page<Reservation> findReservationsByGuestPage(Long guestId, String pageToken, int pageSize) throws ServiceException {
         if (guestId == null || guestId <= 0) {
             throw new ServiceException("El ID del huésped debe ser un número positivo");
         }
+        Page.validatePageSize(pageSize);
+        String[] cursor = PageToken.decode(pageToken, 2);
 
         try {
-            return reservationDAO.findByGuestId(guestId);
+            List<Reservation> rows = cursor == null
+                    ? reservationDAO.findByGuestIdPage(guestId, null, null, pageSize + 1)
+                    : reservationDAO.findByGuestIdPage(guestId, LocalDateTime.parse(cursor[0]),
+                            Long.valueOf(cursor[1]), pageSize + 1);
+            return Page.of(rows, pageSize, last -> PageToken.encode(last.getFechaCreacion(), last.getId()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ServiceException("Token de paginación inválido");
         } catch (SQLException e) {
             throw new ServiceException("Error al buscar las reservas del huésped", e);
         }
@@ -114,45 +327,91 @@ public class ReservationService {
         }
     }
 
+    public Page<Reservation> getActiveReservationsPage(String pageToken, int pageSize) throws ServiceException {
+        Page.validatePageSize(pageSize);
+        String[] cursor = PageToken.decode(pageToken, 2);
+
+        try {
+            List<Reservation> rows = cursor == null
+                    ? reservationDAO.findActivePage(null, null, pageSize + 1)
+                    : reservationDAO.findActivePage(LocalDate.parse(cursor[0]), Long.valueOf(cursor[1]), pageSize + 1);
+            return Page.of(rows, pageSize, last -> PageToken.encode(last.getFechaCheckIn(), last.getId()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ServiceException("Token de paginación inválido");
+        } catch (SQLException e) {
+            throw new ServiceException("Error al obtener las reservas activas", e);
+        }
+    }
+
+    // Recorre todas las reservas sin cargarlas en memoria; el llamador debe cerrar el Stream
+    public Stream<Reservation> streamAllReservations() throws ServiceException {
+        try {
+            return reservationDAO.streamAll();
+        } catch (SQLException e) {
+            throw new ServiceException("Error al recorrer las reservas", e);
+        }
+    }
+
     public Reservation updateReservation(Long reservationId, LocalDate newCheckIn,
                                          LocalDate newCheckOut, Integer newNumGuests) throws ServiceException {
+        if (reservationId == null || reservationId <= 0) {
+            throw new ServiceException("El ID de la reserva debe ser un número positivo");
+        }
 
-        // Buscar la reserva existente
+        // La habitación no cambia al modificar una reserva: se lee fuera de la transacción para tomar
+        // su lock antes que una conexión, en el mismo orden que createReservation
         Optional<Reservation> existingReservation = findReservationById(reservationId);
         if (!existingReservation.isPresent()) {
             throw new ServiceException("No existe una reserva con ID: " + reservationId);
         }
+        Long roomId = existingReservation.get().getRoomId();
+
+        ReentrantLock roomLock = ROOM_LOCKS.get(roomId);
+        roomLock.lock();
+        try {
+            Reservation updated = UnitOfWork.execute(
+                    () -> doUpdateReservation(reservationId, roomId, newCheckIn, newCheckOut, newNumGuests));
+            availabilityIndex.onReservationSaved(updated);
+            roomTypeInventory.onReservationSaved(updated);
+            return updated;
+        } catch (SQLException e) {
+            throw new ServiceException("Error al actualizar la reserva", e);
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    private Reservation doUpdateReservation(Long reservationId, Long roomId, LocalDate newCheckIn,
+                                            LocalDate newCheckOut, Integer newNumGuests) throws ServiceException, SQLException {
+
+        // Se relee con la fila bloqueada: una cancelación o la tarea de completado confirmadas
+        // desde la primera lectura no deben deshacerse al escribir el estado
+        Optional<Reservation> existingReservation = findReservationForUpdate(reservationId);
+        if (!existingReservation.isPresent()) {
+            throw new ServiceException("No existe una reserva con ID: " + reservationId);
+        }
 
         Reservation reservation = existingReservation.get();
 
         // Verificar que la reserva puede ser modificada
-        if (reservation.getEstado() != EstadoReserva.ACTIVA) {
+        if (reservation.getEstado() != EstadoReserva.ACTIVA || !roomId.equals(reservation.getRoomId())) {
             throw new ServiceException("Solo se pueden modificar reservas activas");
         }
 
         // Validar nuevas fechas
-        if (newCheckIn != null && newCheckOut != null) {
+        boolean datesChanged = newCheckIn != null && newCheckOut != null;
+        if (datesChanged) {
             if (newCheckIn.isAfter(newCheckOut) || newCheckIn.isBefore(LocalDate.now())) {
                 throw new ServiceException("Las nuevas fechas no son válidas");
             }
 
-            // Verificar disponibilidad con las nuevas fechas
-            List<Room> availableRooms = roomService.findAvailableRooms(newCheckIn, newCheckOut,
-                    newNumGuests != null ? newNumGuests : reservation.getNumeroHuespedes());
-            boolean isRoomAvailable = availableRooms.stream()
-                    .anyMatch(r -> r.getId().equals(reservation.getRoomId()));
-
-            if (!isRoomAvailable) {
-                throw new ServiceException("La habitación no está disponible en las nuevas fechas");
-            }
-
             reservation.setFechaCheckIn(newCheckIn);
             reservation.setFechaCheckOut(newCheckOut);
         }
 
         if (newNumGuests != null) {
             // Verificar capacidad
-            Optional<Room> room = roomService.findRoomById(reservation.getRoomId());
+            Optional<Room> room = roomService.findRoomById(roomId);
             if (room.isPresent() && !room.get().puedeAlojar(newNumGuests)) {
                 throw new ServiceException("La habitación no tiene capacidad para " + newNumGuests + " huéspedes");
             }
@@ -160,43 +419,78 @@ public class ReservationService {
         }
 
         // Recalcular el monto total
-        BigDecimal newTotal = roomService.calculateTotalPrice(reservation.getRoomId(),
+        BigDecimal newTotal = roomService.calculateTotalPrice(roomId,
                 reservation.getFechaCheckIn(),
                 reservation.getFechaCheckOut());
         reservation.setMontoTotal(newTotal);
 
-        try {
-            return reservationDAO.update(reservation);
-        } catch (SQLException e) {
-            throw new ServiceException("Error al actualizar la reserva", e);
+        reservationDAO.lockRoomForUpdate(roomId);
+
+        // Verificar disponibilidad con las nuevas fechas (sin contar la propia reserva)
+        if (datesChanged && hasConflictingReservation(roomId, newCheckIn, newCheckOut, reservation.getId())) {
+            throw new ServiceException("La habitación no está disponible en las nuevas fechas");
         }
+        return reservationDAO.update(reservation);
     }
 
     public boolean cancelReservation(Long reservationId) throws ServiceException {
-        Optional<Reservation> existingReservation = findReservationById(reservationId);
-        if (!existingReservation.isPresent()) {
-            throw new ServiceException("No existe una reserva con ID: " + reservationId);
+        if (reservationId == null || reservationId <= 0) {
+            throw new ServiceException("El ID de la reserva debe ser un número positivo");
         }
 
-        Reservation reservation = existingReservation.get();
-
-        // Verificar que la reserva puede ser cancelada
-        if (!reservation.puedeSerCancelada()) {
-            throw new ServiceException("Esta reserva no puede ser cancelada (debe estar activa y ser futura)");
+        // Mismo lock de habitación que crear y modificar: los hooks del índice y del inventario
+        // se aplican en el mismo orden que las escrituras
+        Optional<Reservation> current = findReservationById(reservationId);
+        if (!current.isPresent()) {
+            throw new ServiceException("No existe una reserva con ID: " + reservationId);
         }
+        Long roomId = current.get().getRoomId();
 
-        reservation.setEstado(EstadoReserva.CANCELADA);
-
+        ReentrantLock roomLock = ROOM_LOCKS.get(roomId);
+        roomLock.lock();
         try {
-            reservationDAO.update(reservation);
+            UnitOfWork.execute(() -> {
+                Optional<Reservation> existingReservation = findReservationForUpdate(reservationId);
+                if (!existingReservation.isPresent()) {
+                    throw new ServiceException("No existe una reserva con ID: " + reservationId);
+                }
+
+                Reservation reservation = existingReservation.get();
+
+                // Verificar que la reserva puede ser cancelada
+                if (!reservation.puedeSerCancelada()) {
+                    throw new ServiceException("Esta reserva no puede ser cancelada (debe estar activa y ser futura)");
+                }
+
+                reservation.setEstado(EstadoReserva.CANCELADA);
+                return reservationDAO.update(reservation);
+            });
+            availabilityIndex.onReservationRemoved(reservationId);
+            roomTypeInventory.onReservationRemoved(reservationId);
             return true;
         } catch (SQLException e) {
             throw new ServiceException("Error al cancelar la reserva", e);
+        } finally {
+            roomLock.unlock();
+        }
+    }
+
+    // La fila queda bloqueada hasta el commit, así que lo leído no cambia durante la operación
+    private Optional<Reservation> findReservationForUpdate(Long id) throws SQLException {
+        return UnitOfWork.find(Reservation.class, id, () -> reservationDAO.findByIdForUpdate(id));
+    }
+
+    private boolean hasConflictingReservation(Long roomId, LocalDate checkIn, LocalDate checkOut,
+                                              Long excludeReservationId) throws ServiceException {
+        try {
+            return reservationDAO.existsOverlappingReservation(roomId, checkIn, checkOut, excludeReservationId);
+        } catch (SQLException e) {
+            throw new ServiceException("Error al verificar la disponibilidad de la habitación", e);
         }
     }
 
-    private void validateReservationInput(Long guestId, Long roomId, LocalDate checkIn,
-                                          LocalDate checkOut, Integer numGuests) throws ServiceException {
+    public void validateReservationInput(Long guestId, Long roomId, LocalDate checkIn,
+                                         LocalDate checkOut, Integer numGuests) throws ServiceException {
         if (guestId == null || guestId <= 0) {
             throw new ServiceException("El ID del huésped debe ser un número positivo");
         }
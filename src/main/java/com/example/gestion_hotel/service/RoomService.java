@@ -1,26 +1,120 @@
 package com.example.gestion_hotel.service;
 
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomCatalog;
+import com.example.gestion_hotel.dao.DaoFactory;
 import com.example.gestion_hotel.dao.RoomDao;
 import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.RoomStay;
 import com.example.gestion_hotel.entity.TipoHabitacion;
 import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.pricing.PricingEngine;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.Page;
+import com.example.gestion_hotel.util.PageToken;
+import com.example.gestion_hotel.util.UnitOfWork;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 public class RoomService {
+    private static final Logger LOGGER = Logger.getLogger(RoomService.class.getName());
+
     private final RoomDao roomDAO;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomCatalog roomCatalog;
+    private final PricingEngine pricingEngine;
     private static final BigDecimal PRECIO_MINIMO = new BigDecimal("50.00");
+    private static final int MAX_CALENDAR_DAYS = AppConfig.getInt("calendar.maxDays", 366);
+    private static final int BULK_CHUNK_SIZE = AppConfig.getInt("db.batch.size", 500);
 
     public RoomService() {
-        this.roomDAO = new RoomDao();
+        this(DaoFactory.getInstance().roomDao());
+    }
+
+    public RoomService(RoomDao roomDAO) {
+        this.roomDAO = roomDAO;
+        this.availabilityIndex = RoomAvailabilityIndex.getInstance();
+        this.roomCatalog = RoomCatalog.getInstance();
+        this.pricingEngine = PricingEngine.getInstance();
     }
 
     public Room createRoom(String numero, TipoHabitacion tipo, BigDecimal precioPorNoche) throws ServiceException {
         // Validaciones de negocio
+        validateNewRoom(numero, tipo, precioPorNoche);
+
+        Room room = new Room(numero.trim(), tipo, precioPorNoche);
+
+        try {
+            Room created = roomDAO.create(room);
+            roomCatalog.onRoomSaved(created);
+            return created;
+        } catch (SQLException e) {
+            if (e.getMessage().contains("Duplicate entry")) {
+                throw new ServiceException("Ya existe una habitación con este número");
+            }
+            throw new ServiceException("Error al crear la habitación en la base de datos", e);
+        }
+    }
+
+    public List<Room> createRooms(List<Room> rooms) throws ServiceException {
+        if (rooms == null || rooms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> numeros = new HashSet<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            try {
+                validateNewRoom(room.getNumero(), room.getTipo(), room.getPrecioPorNoche());
+            } catch (ServiceException e) {
+                throw new ServiceException("Habitación #" + (i + 1) + ": " + e.getMessage());
+            }
+            room.setNumero(room.getNumero().trim());
+            if (room.getCapacidadMaxima() == null) {
+                room.setCapacidadMaxima(room.getTipo().getCapacidadMaxima());
+            }
+            if (!numeros.add(room.getNumero())) {
+                throw new ServiceException("Habitación #" + (i + 1) + ": el número está repetido en el lote");
+            }
+        }
+
+        // Cada bloque se confirma por separado: si uno falla, los anteriores ya están en la base de datos
+        List<Room> created = new ArrayList<>(rooms.size());
+        for (int start = 0; start < rooms.size(); start += BULK_CHUNK_SIZE) {
+            List<Room> chunk = rooms.subList(start, Math.min(start + BULK_CHUNK_SIZE, rooms.size()));
+            try {
+                roomDAO.createAll(chunk);
+            } catch (SQLException e) {
+                if (e.getMessage() != null && e.getMessage().contains("Duplicate entry")) {
+                    throw new ServiceException("Ya existe una habitación con alguno de los números del lote ("
+                            + created.size() + " habitaciones ya creadas)");
+                }
+                throw new ServiceException("Error al crear las habitaciones en la base de datos ("
+                        + created.size() + " habitaciones ya creadas)", e);
+            }
+            for (Room room : chunk) {
+                roomCatalog.onRoomSaved(room);
+            }
+            created.addAll(chunk);
+        }
+        return created;
+    }
+
+    public void validateNewRoom(String numero, TipoHabitacion tipo, BigDecimal precioPorNoche) throws ServiceException {
         if (numero == null || numero.trim().isEmpty()) {
             throw new ServiceException("El número de habitación es obligatorio");
         }
@@ -32,16 +126,31 @@ public class RoomService {
         if (precioPorNoche == null || precioPorNoche.compareTo(PRECIO_MINIMO) < 0) {
             throw new ServiceException("El precio por noche debe ser al menos " + PRECIO_MINIMO);
         }
+    }
 
-        Room room = new Room(numero.trim(), tipo, precioPorNoche);
-
+    public Map<Long, Room> findRoomsByIds(Collection<Long> ids) throws ServiceException {
         try {
-            return roomDAO.create(room);
-        } catch (SQLException e) {
-            if (e.getMessage().contains("Duplicate entry")) {
-                throw new ServiceException("Ya existe una habitación con este número");
+            RoomCatalog.Snapshot snapshot = roomCatalog.snapshot();
+            Map<Long, Room> rooms = new HashMap<>();
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                Room room = snapshot.get(id);
+                if (room != null) {
+                    rooms.put(id, RoomCatalog.copyOf(room));
+                } else {
+                    missing.add(id);
+                }
             }
-            throw new ServiceException("Error al crear la habitación en la base de datos", e);
+            // Lo que no está en el catálogo puede haberse creado en otra instancia
+            if (!missing.isEmpty()) {
+                for (Room room : roomDAO.findByIds(missing)) {
+                    roomCatalog.onRoomSaved(room);
+                    rooms.put(room.getId(), room);
+                }
+            }
+            return rooms;
+        } catch (SQLException e) {
+            throw new ServiceException("Error al buscar las habitaciones", e);
         }
     }
 
@@ -50,8 +159,22 @@ public class RoomService {
             throw new ServiceException("El ID de la habitación debe ser un número positivo");
         }
 
+        return UnitOfWork.find(Room.class, id, () -> {
+            Room room = catalogRoom(id);
+            return room == null ? Optional.empty() : Optional.of(RoomCatalog.copyOf(room));
+        });
+    }
+
+    // Devuelve la instancia compartida del catálogo, que no debe modificarse ni salir del servicio
+    private Room catalogRoom(Long id) throws ServiceException {
         try {
-            return roomDAO.findById(id);
+            Room room = roomCatalog.snapshot().get(id);
+            if (room != null) {
+                return room;
+            }
+            Optional<Room> fromDatabase = roomDAO.findById(id);
+            fromDatabase.ifPresent(roomCatalog::onRoomSaved);
+            return fromDatabase.orElse(null);
         } catch (SQLException e) {
             throw new ServiceException("Error al buscar la habitación", e);
         }
@@ -72,20 +195,126 @@ public class RoomService {
         }
 
         try {
-            return roomDAO.findAvailableRooms(checkIn, checkOut, numGuests);
+            switch (availabilityIndex.getMode()) {
+                case INDEX:
+                    return availabilityIndex.findAvailableRooms(checkIn, checkOut, numGuests);
+                case VERIFY:
+                    return findAvailableRoomsVerified(checkIn, checkOut, numGuests);
+                default:
+                    return roomDAO.findAvailableRooms(checkIn, checkOut, numGuests);
+            }
         } catch (SQLException e) {
             throw new ServiceException("Error al buscar habitaciones disponibles", e);
         }
     }
 
+    private List<Room> findAvailableRoomsVerified(LocalDate checkIn, LocalDate checkOut, int numGuests) throws SQLException {
+        List<Room> fromDatabase = roomDAO.findAvailableRooms(checkIn, checkOut, numGuests);
+        List<Room> fromIndex = availabilityIndex.findAvailableRooms(checkIn, checkOut, numGuests);
+
+        Set<Long> databaseIds = fromDatabase.stream().map(Room::getId).collect(Collectors.toSet());
+        Set<Long> indexIds = fromIndex.stream().map(Room::getId).collect(Collectors.toSet());
+        if (!databaseIds.equals(indexIds)) {
+            LOGGER.warning(String.format("Índice de disponibilidad inconsistente para %s - %s (%d huéspedes): SQL=%s, índice=%s",
+                    checkIn, checkOut, numGuests, databaseIds, indexIds));
+        }
+        return fromDatabase;
+    }
+
+    // Ocupación por habitación y por tipo para 'days' días desde 'from', con una sola consulta a la base de datos
+    public AvailabilityCalendar getAvailabilityCalendar(LocalDate from, int days) throws ServiceException {
+        if (from == null || from.isBefore(LocalDate.now())) {
+            throw new ServiceException("La fecha de inicio del calendario no es válida");
+        }
+        if (days <= 0 || days > MAX_CALENDAR_DAYS) {
+            throw new ServiceException("El calendario debe abarcar entre 1 y " + MAX_CALENDAR_DAYS + " días");
+        }
+        LocalDate to = from.plusDays(days - 1L);
+
+        try {
+            RoomCatalog.Snapshot snapshot = roomCatalog.snapshot();
+            Map<Long, BitSet> bookedByRoom = new HashMap<>(snapshot.size() * 2);
+            for (int i = 0; i < snapshot.size(); i++) {
+                bookedByRoom.put(snapshot.getByNumberOrder(i).getId(), new BitSet(days));
+            }
+
+            long firstDay = from.toEpochDay();
+            for (RoomStay stay : roomDAO.findActiveStays(from, to)) {
+                BitSet booked = bookedByRoom.get(stay.getRoomId());
+                if (booked != null) {
+                    int start = (int) Math.max(0, stay.getFechaCheckIn().toEpochDay() - firstDay);
+                    int end = (int) Math.min(days - 1L, stay.getFechaCheckOut().toEpochDay() - firstDay);
+                    booked.set(start, end + 1);
+                }
+            }
+
+            List<AvailabilityCalendar.RoomCalendar> rooms = new ArrayList<>(snapshot.size());
+            Map<TipoHabitacion, List<AvailabilityCalendar.RoomCalendar>> roomsByType = new EnumMap<>(TipoHabitacion.class);
+            for (int i = 0; i < snapshot.size(); i++) {
+                Room room = snapshot.getByNumberOrder(i);
+                BitSet free = new BitSet(days);
+                if (room.isAvailable()) {
+                    free.set(0, days);
+                    free.andNot(bookedByRoom.get(room.getId()));
+                }
+                AvailabilityCalendar.RoomCalendar calendar =
+                        new AvailabilityCalendar.RoomCalendar(room.getId(), room.getNumero(), room.getTipo(), free, days);
+                rooms.add(calendar);
+                roomsByType.computeIfAbsent(room.getTipo(), t -> new ArrayList<>()).add(calendar);
+            }
+
+            Map<TipoHabitacion, AvailabilityCalendar.TypeCalendar> types = new EnumMap<>(TipoHabitacion.class);
+            for (TipoHabitacion tipo : TipoHabitacion.values()) {
+                List<AvailabilityCalendar.RoomCalendar> ofType = roomsByType.getOrDefault(tipo, new ArrayList<>());
+                BitSet anyFree = new BitSet(days);
+                long freeNights = 0;
+                for (AvailabilityCalendar.RoomCalendar calendar : ofType) {
+                    anyFree.or(calendar.free());
+                    freeNights += calendar.getFreeNights();
+                }
+                types.put(tipo, new AvailabilityCalendar.TypeCalendar(tipo, ofType, anyFree, freeNights, days));
+            }
+            return new AvailabilityCalendar(from, days, rooms, types);
+        } catch (SQLException e) {
+            throw new ServiceException("Error al calcular el calendario de disponibilidad", e);
+        }
+    }
+
     public List<Room> getAllRooms() throws ServiceException {
         try {
-            return roomDAO.findAll();
+            RoomCatalog.Snapshot snapshot = roomCatalog.snapshot();
+            List<Room> rooms = new ArrayList<>(snapshot.size());
+            for (int i = 0; i < snapshot.size(); i++) {
+                rooms.add(RoomCatalog.copyOf(snapshot.getByNumberOrder(i)));
+            }
+            return rooms;
         } catch (SQLException e) {
             throw new ServiceException("Error al obtener la lista de habitaciones", e);
         }
     }
 
+    public Page<Room> getRoomsPage(String pageToken, int pageSize) throws ServiceException {
+        Page.validatePageSize(pageSize);
+        String[] cursor = PageToken.decode(pageToken, 2);
+
+        try {
+            List<Room> rows = cursor == null
+                    ? roomDAO.findPage(null, null, pageSize + 1)
+                    : roomDAO.findPage(cursor[0], parseCursorId(cursor[1]), pageSize + 1);
+            return Page.of(rows, pageSize, last -> PageToken.encode(last.getNumero(), last.getId()));
+        } catch (SQLException e) {
+            throw new ServiceException("Error al obtener la página de habitaciones", e);
+        }
+    }
+
+    private static Long parseCursorId(String value) throws ServiceException {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Token de paginación inválido");
+        }
+    }
+
     public Room updateRoom(Room room) throws ServiceException {
         if (room == null || room.getId() == null) {
             throw new ServiceException("La habitación y su ID son obligatorios para actualizar");
@@ -103,7 +332,10 @@ public class RoomService {
         }
 
         try {
-            return roomDAO.update(room);
+            Room updated = roomDAO.update(room);
+            roomCatalog.onRoomSaved(updated);
+            UnitOfWork.register(Room.class, updated.getId(), updated);
+            return updated;
         } catch (SQLException e) {
             throw new ServiceException("Error al actualizar la habitación", e);
         }
@@ -120,15 +352,24 @@ public class RoomService {
         }
 
         try {
-            return roomDAO.delete(id);
+            boolean deleted = roomDAO.delete(id);
+            if (deleted) {
+                roomCatalog.onRoomRemoved(id);
+                pricingEngine.forget(id);
+                UnitOfWork.evict(Room.class, id);
+            }
+            return deleted;
         } catch (SQLException e) {
             throw new ServiceException("Error al eliminar la habitación", e);
         }
     }
 
     public BigDecimal calculateTotalPrice(Long roomId, LocalDate checkIn, LocalDate checkOut) throws ServiceException {
-        Optional<Room> room = findRoomById(roomId);
-        if (!room.isPresent()) {
+        if (roomId == null || roomId <= 0) {
+            throw new ServiceException("El ID de la habitación debe ser un número positivo");
+        }
+        Room room = catalogRoom(roomId);
+        if (room == null) {
             throw new ServiceException("Habitación no encontrada");
         }
 
@@ -136,7 +377,11 @@ public class RoomService {
             throw new ServiceException("Fechas inválidas");
         }
 
-        long nights = java.time.temporal.ChronoUnit.DAYS.between(checkIn, checkOut);
-        return room.get().getPrecioPorNoche().multiply(BigDecimal.valueOf(nights));
+        return pricingEngine.quote(room, checkIn, checkOut);
+    }
+
+    // Para quien ya tiene la habitación cargada y las fechas validadas
+    BigDecimal quote(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return pricingEngine.quote(room, checkIn, checkOut);
     }
 }
@@ -0,0 +1,63 @@
+package com.example.gestion_hotel.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+public final class AppConfig {
+    private static final String CONFIG_FILE = "hotel.properties";
+    private static final Properties PROPERTIES = load();
+
+    private AppConfig() {}
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = AppConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer " + CONFIG_FILE, e);
+        }
+        return properties;
+    }
+
+    // Las propiedades del sistema (-Dclave=valor) tienen prioridad sobre el archivo
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = PROPERTIES.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    public static Properties getWithPrefix(String prefix) {
+        Properties result = new Properties();
+        for (String key : PROPERTIES.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                result.setProperty(key.substring(prefix.length()), getString(key, ""));
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                result.setProperty(key.substring(prefix.length()), System.getProperty(key).trim());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.gestion_hotel.util;
+
+import com.example.gestion_hotel.metrics.ConnectionPoolMXBean;
+import com.example.gestion_hotel.metrics.OperationMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ConnectionPool implements AutoCloseable, ConnectionPoolMXBean {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int minIdle;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long validationIntervalMs;
+    private final int validationTimeoutSeconds;
+    private final long leakDetectionThresholdMs;
+    private final int statementCacheSize;
+    private final StatementCache.Stats statementCacheStats = new StatementCache.Stats();
+    private final OperationMetrics acquireMetrics = new OperationMetrics("ConnectionPool.getConnection");
+    private final SlowQueryLog slowQueryLog = SlowQueryLog.getInstance();
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> inUse = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, Properties connectionProperties, int minIdle, int maxSize,
+                          long acquireTimeoutMs, long idleTimeoutMs, long validationIntervalMs,
+                          int validationTimeoutSeconds, long leakDetectionThresholdMs,
+                          long housekeepingIntervalMs, int statementCacheSize) {
+        if (maxSize <= 0 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Configuración de pool inválida: minIdle=" + minIdle + ", maxSize=" + maxSize);
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validationIntervalMs = validationIntervalMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, housekeepingIntervalMs,
+                housekeepingIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Mide cuánto tarda en obtenerse una conexión, incluida la espera por un permiso
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Connection connection = acquire();
+            acquireMetrics.recordSuccess(System.nanoTime() - start, 0);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            acquireMetrics.recordFailure(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Tiempo de espera agotado (" + acquireTimeoutMs
+                        + " ms) al obtener una conexión del pool; en uso: " + inUse.size() + "/" + maxSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión", e);
+        }
+
+        try {
+            PooledConnection pooled = takeOrOpen(deadline);
+            pooled.markBorrowed(leakDetectionThresholdMs > 0 && LOGGER.isLoggable(Level.FINE));
+            inUse.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeOrOpen(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled != null) {
+                return pooled;
+            }
+            if (reserveSlot()) {
+                return openReserved();
+            }
+            // Todas las plazas están ocupadas: la que falta la está abriendo fillMinIdle y llegará a idle
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new SQLException("Tiempo de espera agotado (" + acquireTimeoutMs
+                        + " ms) al abrir una conexión del pool; abiertas: " + totalConnections.get() + "/" + maxSize);
+            }
+            try {
+                pooled = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(10)), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrumpido mientras se esperaba una conexión", e);
+            }
+            if (pooled != null) {
+                idle.offerFirst(pooled);
+            }
+        }
+    }
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            long idleFor = System.currentTimeMillis() - pooled.lastReturnedAt;
+            if (idleFor < validationIntervalMs || isValid(pooled)) {
+                return pooled;
+            }
+            LOGGER.fine("Descartando conexión inválida del pool");
+            closePhysical(pooled);
+        }
+        return null;
+    }
+
+    // Reserva una plaza en totalConnections antes de abrir, para no superar maxSize
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!totalConnections.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private PooledConnection openReserved() throws SQLException {
+        try {
+            return new PooledConnection(openPhysical());
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        return DriverManager.getConnection(url, connectionProperties);
+    }
+
+    private void release(PooledConnection pooled) {
+        inUse.remove(pooled);
+        try {
+            if (closed || pooled.physical.isClosed()) {
+                closePhysical(pooled);
+                return;
+            }
+            // Restaurar el estado por defecto antes de devolverla al pool
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.physical.clearWarnings();
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Conexión descartada al devolverla al pool", e);
+            closePhysical(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void closePhysical(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error al cerrar la conexión física", e);
+        }
+    }
+
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillMinIdle();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error en el mantenimiento del pool de conexiones", e);
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        // Las conexiones más antiguas quedan al final de la cola
+        PooledConnection oldest;
+        while (idle.size() > minIdle && (oldest = idle.pollLast()) != null) {
+            if (now - oldest.lastReturnedAt < idleTimeoutMs) {
+                idle.offerLast(oldest);
+                break;
+            }
+            closePhysical(oldest);
+        }
+    }
+
+    private void fillMinIdle() {
+        while (!closed && idle.size() < minIdle && reserveSlot()) {
+            try {
+                idle.offerLast(openReserved());
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "No se pudo abrir una conexión para el mínimo de inactivas", e);
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakDetectionThresholdMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : inUse) {
+            if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMs) {
+                pooled.leakReported = true;
+                // La traza de dónde se obtuvo solo se captura con el logger del pool en FINE
+                LOGGER.log(Level.WARNING, "Posible fuga de conexión: obtenida hace "
+                        + (now - pooled.borrowedAt) + " ms y no devuelta al pool", pooled.borrowTrace);
+            }
+        }
+    }
+
+    public int getActiveConnections() { return inUse.size(); }
+    public int getIdleConnections() { return idle.size(); }
+    public int getTotalConnections() { return totalConnections.get(); }
+    public int getThreadsAwaitingConnection() { return permits.getQueueLength(); }
+    public int getMaxSize() { return maxSize; }
+    public long getStatementCacheHits() { return statementCacheStats.hits.sum(); }
+    public long getStatementCacheMisses() { return statementCacheStats.misses.sum(); }
+    public long getStatementCacheEvictions() { return statementCacheStats.evictions.sum(); }
+    public OperationMetrics getAcquireMetrics() { return acquireMetrics; }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closePhysical(pooled);
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementCacheStats)
+                    : null;
+        }
+
+        private void markBorrowed(boolean captureTrace) {
+            borrowedAt = System.currentTimeMillis();
+            borrowTrace = captureTrace ? new Throwable("Conexión obtenida aquí") : null;
+            leakReported = false;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandle(this));
+        }
+    }
+
+    // Solo prepareStatement(sql) y prepareStatement(sql, autoGeneratedKeys) pasan por la caché
+    private static boolean isCacheablePrepare(Method method) {
+        if (!method.getName().equals("prepareStatement")) {
+            return false;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        return types.length == 1 || (types.length == 2 && types[1] == int.class);
+    }
+
+    private static boolean isTraceable(Method method) {
+        return method.getName().equals("prepareStatement") || method.getName().equals("createStatement");
+    }
+
+    // Cada préstamo recibe su propio handle para que un close() tardío no afecte al siguiente usuario
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean handleClosed;
+
+        private ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    if (handleClosed) {
+                        throw new SQLException("La conexión ya fue devuelta al pool");
+                    }
+                    Object result;
+                    if (pooled.statementCache != null && isCacheablePrepare(method)) {
+                        int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                        result = pooled.statementCache.prepare((String) args[0], autoGeneratedKeys);
+                    } else {
+                        try {
+                            result = method.invoke(pooled.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                    if (slowQueryLog.isEnabled() && isTraceable(method)) {
+                        String sql = method.getName().equals("prepareStatement") ? (String) args[0] : null;
+                        return StatementTracer.wrap((Statement) result, sql, slowQueryLog);
+                    }
+                    return result;
+            }
+        }
+    }
+}
@@ -1,16 +1,35 @@
 package com.example.gestion_hotel.util;
 
+import com.example.gestion_hotel.metrics.MetricsRegistry;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/hotel_reservations";
-    private static final String USERNAME = "hotel_user";
-    private static final String PASSWORD = "hotel_password";
-    private static DatabaseConnection instance;
+    private static volatile DatabaseConnection instance;
+
+    private final ConnectionPool pool;
 
-    private DatabaseConnection() {}
+    private DatabaseConnection() {
+        Properties properties = AppConfig.getWithPrefix("db.property.");
+        properties.setProperty("user", AppConfig.getString("db.username", "hotel_user"));
+        properties.setProperty("password", AppConfig.getString("db.password", "hotel_password"));
+
+        this.pool = new ConnectionPool(
+                AppConfig.getString("db.url", "jdbc:mysql://localhost:3306/hotel_reservations"),
+                properties,
+                AppConfig.getInt("db.pool.minIdle", 2),
+                AppConfig.getInt("db.pool.maxSize", 10),
+                AppConfig.getLong("db.pool.acquireTimeoutMs", 5000),
+                AppConfig.getLong("db.pool.idleTimeoutMs", 600000),
+                AppConfig.getLong("db.pool.validationIntervalMs", 30000),
+                AppConfig.getInt("db.pool.validationTimeoutSeconds", 2),
+                AppConfig.getLong("db.pool.leakDetectionThresholdMs", 0),
+                AppConfig.getLong("db.pool.housekeepingIntervalMs", 30000),
+                AppConfig.getInt("db.statementCache.size", 64));
+        MetricsRegistry.getInstance().registerPool(pool, pool.getAcquireMetrics());
+    }
 
     public static DatabaseConnection getInstance() {
         if (instance == null) {
@@ -24,11 +43,15 @@ public class DatabaseConnection {
     }
 
     public Connection getConnection() throws SQLException {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            return DriverManager.getConnection(URL, USERNAME, PASSWORD);
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Driver MySQL no encontrado", e);
-        }
+        Connection transactional = TransactionManager.currentConnection(pool);
+        return transactional != null ? transactional : pool.getConnection();
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    public void shutdown() {
+        pool.close();
     }
 }
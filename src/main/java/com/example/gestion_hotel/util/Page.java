@@ -0,0 +1,39 @@
+package com.example.gestion_hotel.util;
+
+import com.example.gestion_hotel.exception.ServiceException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// Página de resultados con token opaco para pedir la siguiente (null si es la última)
+public class Page<T> {
+    public static final int MAX_PAGE_SIZE = AppConfig.getInt("pagination.maxPageSize", 500);
+
+    private final List<T> items;
+    private final String nextPageToken;
+
+    public Page(List<T> items, String nextPageToken) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextPageToken = nextPageToken;
+    }
+
+    // 'rows' se consulta con pageSize + 1 filas: si sobra una, existe página siguiente
+    public static <T> Page<T> of(List<T> rows, int pageSize, Function<T, String> tokenForLast) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new Page<>(items, tokenForLast.apply(items.get(pageSize - 1)));
+    }
+
+    public static void validatePageSize(int pageSize) throws ServiceException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new ServiceException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextPageToken() { return nextPageToken; }
+    public boolean hasNext() { return nextPageToken != null; }
+}
@@ -0,0 +1,44 @@
+package com.example.gestion_hotel.util;
+
+import com.example.gestion_hotel.exception.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Codifica los valores de la última fila (la posición del cursor) en un token opaco
+public final class PageToken {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageToken() {}
+
+    public static String encode(Object... values) {
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            if (sb.length() > 0) {
+                sb.append('.');
+            }
+            sb.append(ENCODER.encodeToString(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+        }
+        return sb.toString();
+    }
+
+    // Devuelve null para la primera página (token vacío)
+    public static String[] decode(String token, int expectedParts) throws ServiceException {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != expectedParts) {
+            throw new ServiceException("Token de paginación inválido");
+        }
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = new String(DECODER.decode(parts[i]), StandardCharsets.UTF_8);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Token de paginación inválido");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.gestion_hotel.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Registro de consultas lentas. Las sentencias que devuelve el pool se envuelven para medir
+ * su ejecución (en las consultas, también las llamadas del driver a next(), pero no el trabajo
+ * de quien consume las filas) y capturar los parámetros. Las que superan slowQuery.thresholdMs
+ * (slowQuery.streamingThresholdMs para las consultas con fetch size, 0 = no se registran) se encolan y un hilo aparte las escribe, de modo que el hilo de
+ * la petición nunca espera al log. Para las primeras slowQuery.explainFirst apariciones de cada
+ * sentencia se adjunta también su EXPLAIN, ejecutado con los mismos parámetros.
+ */
+public final class SlowQueryLog {
+    private static final Logger LOGGER = Logger.getLogger("com.example.gestion_hotel.slowquery");
+    private static final int MAX_TRACKED_STATEMENTS = 1000;
+    private static final int MAX_PARAMETER_LENGTH = 100;
+
+    private static volatile SlowQueryLog instance;
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final long streamingThresholdNanos;
+    private final int explainFirst;
+    private final BlockingQueue<SlowQuery> queue;
+    private final Map<String, AtomicInteger> occurrences = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private Thread writer;
+
+    private SlowQueryLog() {
+        this.enabled = AppConfig.getBoolean("slowQuery.enabled", true);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(AppConfig.getLong("slowQuery.thresholdMs", 200));
+        this.streamingThresholdNanos = TimeUnit.MILLISECONDS.toNanos(AppConfig.getLong("slowQuery.streamingThresholdMs", 0));
+        this.explainFirst = AppConfig.getInt("slowQuery.explainFirst", 3);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, AppConfig.getInt("slowQuery.queueSize", 1000)));
+    }
+
+    public static SlowQueryLog getInstance() {
+        if (instance == null) {
+            synchronized (SlowQueryLog.class) {
+                if (instance == null) {
+                    instance = new SlowQueryLog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public synchronized void shutdown() {
+        if (writer != null) {
+            writer.interrupt();
+            writer = null;
+        }
+    }
+
+    // rows < 0 si no se conoce; parameters es una copia propia del llamante
+    void record(String sql, Object[] parameters, long rows, long elapsedNanos, long executeNanos, boolean streaming) {
+        if (sql == null) {
+            return;
+        }
+        if (streaming ? streamingThresholdNanos <= 0 || elapsedNanos < streamingThresholdNanos : elapsedNanos < thresholdNanos) {
+            return;
+        }
+        boolean explain = explainFirst > 0 && isExplainable(sql) && claimExplain(sql);
+        if (!queue.offer(new SlowQuery(sql, parameters, rows, elapsedNanos, executeNanos, explain))) {
+            // Con la cola llena se descarta antes que frenar la petición
+            dropped.increment();
+            return;
+        }
+        startWriter();
+    }
+
+    private boolean claimExplain(String sql) {
+        AtomicInteger count = occurrences.get(sql);
+        if (count == null) {
+            if (occurrences.size() >= MAX_TRACKED_STATEMENTS) {
+                return false;
+            }
+            count = occurrences.computeIfAbsent(sql, k -> new AtomicInteger());
+        }
+        return count.getAndIncrement() < explainFirst;
+    }
+
+    private synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(this::writeLoop, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void writeLoop() {
+        long reportedDrops = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SlowQuery query = queue.take();
+                StringBuilder message = new StringBuilder(format(query));
+                if (query.explain) {
+                    message.append(System.lineSeparator()).append(explain(query));
+                }
+                long drops = dropped.sum();
+                if (drops > reportedDrops) {
+                    message.append(System.lineSeparator())
+                            .append("(").append(drops - reportedDrops).append(" consultas lentas descartadas por cola llena)");
+                    reportedDrops = drops;
+                }
+                LOGGER.warning(message.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String format(SlowQuery query) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Consulta lenta: %.1f ms (ejecución %.1f ms), ",
+                query.elapsedNanos / 1e6, query.executeNanos / 1e6));
+        out.append(query.rows >= 0 ? query.rows + " filas" : "filas desconocidas");
+        out.append(System.lineSeparator()).append("  SQL: ").append(query.sql);
+        if (query.parameters.length > 0) {
+            out.append(System.lineSeparator()).append("  Parámetros: ");
+            for (int i = 0; i < query.parameters.length; i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                out.append(i + 1).append('=').append(describe(query.parameters[i]));
+            }
+        }
+        return out.toString();
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof CharSequence) {
+            String text = value.toString();
+            if (text.length() > MAX_PARAMETER_LENGTH) {
+                text = text.substring(0, MAX_PARAMETER_LENGTH) + "…";
+            }
+            return "'" + text + "'";
+        }
+        return value.toString();
+    }
+
+    // Se usa una conexión directa del pool, fuera de cualquier transacción del hilo que registró la consulta
+    private static String explain(SlowQuery query) {
+        StringBuilder out = new StringBuilder("  EXPLAIN:");
+        try (Connection connection = DatabaseConnection.getInstance().getPool().getConnection();
+             PreparedStatement stmt = connection.prepareStatement("EXPLAIN " + query.sql)) {
+            for (int i = 0; i < query.parameters.length; i++) {
+                stmt.setObject(i + 1, query.parameters[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    out.append(System.lineSeparator()).append("   ");
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        out.append(' ').append(meta.getColumnLabel(c)).append('=').append(rs.getString(c));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "No se pudo obtener el EXPLAIN", e);
+            out.append(" no disponible (").append(e.getMessage()).append(')');
+        }
+        return out.toString();
+    }
+
+    private static boolean isExplainable(String sql) {
+        String start = sql.stripLeading();
+        int end = 0;
+        while (end < start.length() && Character.isLetter(start.charAt(end))) {
+            end++;
+        }
+        switch (start.substring(0, end).toUpperCase(Locale.ROOT)) {
+            case "SELECT":
+            case "UPDATE":
+            case "DELETE":
+            case "INSERT":
+            case "REPLACE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static final class SlowQuery {
+        private final String sql;
+        private final Object[] parameters;
+        private final long rows;
+        private final long elapsedNanos;
+        private final long executeNanos;
+        private final boolean explain;
+
+        private SlowQuery(String sql, Object[] parameters, long rows, long elapsedNanos, long executeNanos,
+                          boolean explain) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.rows = rows;
+            this.elapsedNanos = elapsedNanos;
+            this.executeNanos = executeNanos;
+            this.explain = explain;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.gestion_hotel.util;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Orden de texto de la intercalación por defecto de MySQL (utf8mb4_0900_ai_ci): sin distinguir mayúsculas ni acentos
+public final class SqlCollation {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    public static final Comparator<String> ORDER = Comparator.comparing(SqlCollation::key);
+
+    private SqlCollation() {
+    }
+
+    public static String key(String value) {
+        if (value == null) {
+            return "";
+        }
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
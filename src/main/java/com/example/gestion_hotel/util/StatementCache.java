@@ -0,0 +1,160 @@
+package com.example.gestion_hotel.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Caché LRU de sentencias preparadas asociada a una conexión física del pool
+class StatementCache {
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Stats stats;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection physical, int maxSize, Stats stats) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : "N:" + sql;
+
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            stats.hits.increment();
+            cached.inUse = true;
+            return cached.newHandle();
+        }
+
+        stats.misses.increment();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // La misma sentencia sigue abierta (uso anidado): se entrega sin cachear
+            return statement;
+        }
+
+        cached = new CachedStatement(key, statement);
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictIfNeeded();
+        return cached.newHandle();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next();
+            iterator.remove();
+            stats.evictions.increment();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            closeQuietly(cached.statement);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error al cerrar una sentencia cacheada", e);
+        }
+    }
+
+    static final class Stats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+    }
+
+    private final class CachedStatement {
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        private PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new StatementHandle(this));
+        }
+    }
+
+    // close() devuelve la sentencia a la caché en lugar de cerrarla en el servidor
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean handleClosed;
+
+        private StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        returnToCache();
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || cached.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    if (handleClosed) {
+                        throw new SQLException("La sentencia ya fue cerrada");
+                    }
+                    try {
+                        return method.invoke(cached.statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        private void returnToCache() {
+            cached.inUse = false;
+            if (cached.evicted) {
+                closeQuietly(cached.statement);
+                return;
+            }
+            try {
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+                cached.statement.clearWarnings();
+            } catch (SQLException e) {
+                statements.remove(cached.key, cached);
+                closeQuietly(cached.statement);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.gestion_hotel.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// Envuelve una sentencia del pool para medirla y recordar sus parámetros (ver SlowQueryLog); los
+// ResultSet de sus consultas se envuelven en TracedResultSet
+final class StatementTracer implements InvocationHandler {
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private final Statement target;
+    private final String sql;
+    private final SlowQueryLog log;
+    private Object[] parameters = NO_PARAMETERS;
+    private int parameterCount;
+    private boolean streaming;
+
+    private StatementTracer(Statement target, String sql, SlowQueryLog log) {
+        this.target = target;
+        this.sql = sql;
+        this.log = log;
+    }
+
+    static Statement wrap(Statement statement, String sql, SlowQueryLog log) {
+        Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                new StatementTracer(statement, sql, log));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        switch (name) {
+            case "executeQuery": {
+                long start = System.nanoTime();
+                ResultSet rs = (ResultSet) call(method, args);
+                return new TracedResultSet(rs, sqlOf(args), boundParameters(), System.nanoTime() - start, streaming, log);
+            }
+            case "execute":
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "executeBatch":
+            case "executeLargeBatch": {
+                long start = System.nanoTime();
+                Object result = call(method, args);
+                long elapsed = System.nanoTime() - start;
+                log.record(sqlOf(args), boundParameters(), rowsOf(result), elapsed, elapsed, false);
+                return result;
+            }
+            case "setFetchSize":
+                // Los resultados en streaming (JdbcStreams) duran lo que tarde el consumidor: umbral propio
+                streaming = true;
+                return call(method, args);
+            case "clearParameters":
+                parameterCount = 0;
+                return call(method, args);
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                        && method.getDeclaringClass() == PreparedStatement.class) {
+                    bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                }
+                return call(method, args);
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void bind(int index, Object value) {
+        if (index < 1) {
+            return;
+        }
+        if (index > parameters.length) {
+            parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+        }
+        parameters[index - 1] = value;
+        parameterCount = Math.max(parameterCount, index);
+    }
+
+    // En un lote solo se conservan los últimos parámetros añadidos
+    private Object[] boundParameters() {
+        return parameterCount == 0 ? NO_PARAMETERS : Arrays.copyOf(parameters, parameterCount);
+    }
+
+    private String sqlOf(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).longValue();
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).map(c -> Math.max(0, c)).sum();
+        }
+        return -1;
+    }
+}
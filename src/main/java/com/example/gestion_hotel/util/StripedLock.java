@@ -0,0 +1,27 @@
+package com.example.gestion_hotel.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Conjunto fijo de locks repartidos por clave: claves distintas rara vez comparten lock
+public class StripedLock {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLock(int minStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash ^ (hash >>> 32)) & mask];
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
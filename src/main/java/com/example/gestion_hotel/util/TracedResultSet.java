@@ -0,0 +1,273 @@
+package com.example.gestion_hotel.util;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/*
+ * ResultSet de una consulta trazada (ver StatementTracer). Es una clase que delega sin
+ * reflexión, para que los getters de cada fila no paguen un Method.invoke. Solo se mide el
+ * tiempo dentro de next(), que es cuando el driver lee de la red: lo que tarde quien consume
+ * las filas no cuenta. La consulta se registra al agotarse o cerrarse el resultado.
+ */
+final class TracedResultSet implements ResultSet {
+    private final ResultSet target;
+    private final String sql;
+    private final Object[] parameters;
+    private final long executeNanos;
+    private final boolean streaming;
+    private final SlowQueryLog log;
+    private long readNanos;
+    private long rows;
+    private boolean finished;
+
+    TracedResultSet(ResultSet target, String sql, Object[] parameters, long executeNanos, boolean streaming,
+                    SlowQueryLog log) {
+        this.target = target;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.executeNanos = executeNanos;
+        this.streaming = streaming;
+        this.log = log;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        long start = System.nanoTime();
+        boolean hasRow = target.next();
+        readNanos += System.nanoTime() - start;
+        if (hasRow) {
+            rows++;
+        } else {
+            finish();
+        }
+        return hasRow;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        finish();
+        target.close();
+    }
+
+    private void finish() {
+        if (!finished) {
+            finished = true;
+            log.record(sql, parameters, rows, executeNanos + readNanos, executeNanos, streaming);
+        }
+    }
+
+    // El resto solo delega
+    @Override public <T> T unwrap(Class<T> iface) throws SQLException { return iface.isInstance(target) ? iface.cast(target) : target.unwrap(iface); }
+    @Override public boolean isWrapperFor(Class<?> iface) throws SQLException { return iface.isInstance(target) || target.isWrapperFor(iface); }
+    @Override public boolean wasNull() throws SQLException { return target.wasNull(); }
+    @Override public String getString(int columnIndex) throws SQLException { return target.getString(columnIndex); }
+    @Override public boolean getBoolean(int columnIndex) throws SQLException { return target.getBoolean(columnIndex); }
+    @Override public byte getByte(int columnIndex) throws SQLException { return target.getByte(columnIndex); }
+    @Override public short getShort(int columnIndex) throws SQLException { return target.getShort(columnIndex); }
+    @Override public int getInt(int columnIndex) throws SQLException { return target.getInt(columnIndex); }
+    @Override public long getLong(int columnIndex) throws SQLException { return target.getLong(columnIndex); }
+    @Override public float getFloat(int columnIndex) throws SQLException { return target.getFloat(columnIndex); }
+    @Override public double getDouble(int columnIndex) throws SQLException { return target.getDouble(columnIndex); }
+    @Override @SuppressWarnings("deprecation") public BigDecimal getBigDecimal(int columnIndex, int arg1) throws SQLException { return target.getBigDecimal(columnIndex, arg1); }
+    @Override public byte[] getBytes(int columnIndex) throws SQLException { return target.getBytes(columnIndex); }
+    @Override public Date getDate(int columnIndex) throws SQLException { return target.getDate(columnIndex); }
+    @Override public Time getTime(int columnIndex) throws SQLException { return target.getTime(columnIndex); }
+    @Override public Timestamp getTimestamp(int columnIndex) throws SQLException { return target.getTimestamp(columnIndex); }
+    @Override public InputStream getAsciiStream(int columnIndex) throws SQLException { return target.getAsciiStream(columnIndex); }
+    @Override @SuppressWarnings("deprecation") public InputStream getUnicodeStream(int columnIndex) throws SQLException { return target.getUnicodeStream(columnIndex); }
+    @Override public InputStream getBinaryStream(int columnIndex) throws SQLException { return target.getBinaryStream(columnIndex); }
+    @Override public String getString(String columnLabel) throws SQLException { return target.getString(columnLabel); }
+    @Override public boolean getBoolean(String columnLabel) throws SQLException { return target.getBoolean(columnLabel); }
+    @Override public byte getByte(String columnLabel) throws SQLException { return target.getByte(columnLabel); }
+    @Override public short getShort(String columnLabel) throws SQLException { return target.getShort(columnLabel); }
+    @Override public int getInt(String columnLabel) throws SQLException { return target.getInt(columnLabel); }
+    @Override public long getLong(String columnLabel) throws SQLException { return target.getLong(columnLabel); }
+    @Override public float getFloat(String columnLabel) throws SQLException { return target.getFloat(columnLabel); }
+    @Override public double getDouble(String columnLabel) throws SQLException { return target.getDouble(columnLabel); }
+    @Override @SuppressWarnings("deprecation") public BigDecimal getBigDecimal(String columnLabel, int arg1) throws SQLException { return target.getBigDecimal(columnLabel, arg1); }
+    @Override public byte[] getBytes(String columnLabel) throws SQLException { return target.getBytes(columnLabel); }
+    @Override public Date getDate(String columnLabel) throws SQLException { return target.getDate(columnLabel); }
+    @Override public Time getTime(String columnLabel) throws SQLException { return target.getTime(columnLabel); }
+    @Override public Timestamp getTimestamp(String columnLabel) throws SQLException { return target.getTimestamp(columnLabel); }
+    @Override public InputStream getAsciiStream(String columnLabel) throws SQLException { return target.getAsciiStream(columnLabel); }
+    @Override @SuppressWarnings("deprecation") public InputStream getUnicodeStream(String columnLabel) throws SQLException { return target.getUnicodeStream(columnLabel); }
+    @Override public InputStream getBinaryStream(String columnLabel) throws SQLException { return target.getBinaryStream(columnLabel); }
+    @Override public SQLWarning getWarnings() throws SQLException { return target.getWarnings(); }
+    @Override public void clearWarnings() throws SQLException { target.clearWarnings(); }
+    @Override public String getCursorName() throws SQLException { return target.getCursorName(); }
+    @Override public ResultSetMetaData getMetaData() throws SQLException { return target.getMetaData(); }
+    @Override public Object getObject(int columnIndex) throws SQLException { return target.getObject(columnIndex); }
+    @Override public Object getObject(String columnLabel) throws SQLException { return target.getObject(columnLabel); }
+    @Override public int findColumn(String columnLabel) throws SQLException { return target.findColumn(columnLabel); }
+    @Override public Reader getCharacterStream(int columnIndex) throws SQLException { return target.getCharacterStream(columnIndex); }
+    @Override public Reader getCharacterStream(String columnLabel) throws SQLException { return target.getCharacterStream(columnLabel); }
+    @Override public BigDecimal getBigDecimal(int columnIndex) throws SQLException { return target.getBigDecimal(columnIndex); }
+    @Override public BigDecimal getBigDecimal(String columnLabel) throws SQLException { return target.getBigDecimal(columnLabel); }
+    @Override public boolean isBeforeFirst() throws SQLException { return target.isBeforeFirst(); }
+    @Override public boolean isAfterLast() throws SQLException { return target.isAfterLast(); }
+    @Override public boolean isFirst() throws SQLException { return target.isFirst(); }
+    @Override public boolean isLast() throws SQLException { return target.isLast(); }
+    @Override public void beforeFirst() throws SQLException { target.beforeFirst(); }
+    @Override public void afterLast() throws SQLException { target.afterLast(); }
+    @Override public boolean first() throws SQLException { return target.first(); }
+    @Override public boolean last() throws SQLException { return target.last(); }
+    @Override public int getRow() throws SQLException { return target.getRow(); }
+    @Override public boolean absolute(int value) throws SQLException { return target.absolute(value); }
+    @Override public boolean relative(int value) throws SQLException { return target.relative(value); }
+    @Override public boolean previous() throws SQLException { return target.previous(); }
+    @Override public void setFetchDirection(int value) throws SQLException { target.setFetchDirection(value); }
+    @Override public int getFetchDirection() throws SQLException { return target.getFetchDirection(); }
+    @Override public void setFetchSize(int value) throws SQLException { target.setFetchSize(value); }
+    @Override public int getFetchSize() throws SQLException { return target.getFetchSize(); }
+    @Override public int getType() throws SQLException { return target.getType(); }
+    @Override public int getConcurrency() throws SQLException { return target.getConcurrency(); }
+    @Override public boolean rowUpdated() throws SQLException { return target.rowUpdated(); }
+    @Override public boolean rowInserted() throws SQLException { return target.rowInserted(); }
+    @Override public boolean rowDeleted() throws SQLException { return target.rowDeleted(); }
+    @Override public void updateNull(int columnIndex) throws SQLException { target.updateNull(columnIndex); }
+    @Override public void updateBoolean(int columnIndex, boolean arg1) throws SQLException { target.updateBoolean(columnIndex, arg1); }
+    @Override public void updateByte(int columnIndex, byte arg1) throws SQLException { target.updateByte(columnIndex, arg1); }
+    @Override public void updateShort(int columnIndex, short arg1) throws SQLException { target.updateShort(columnIndex, arg1); }
+    @Override public void updateInt(int columnIndex, int arg1) throws SQLException { target.updateInt(columnIndex, arg1); }
+    @Override public void updateLong(int columnIndex, long arg1) throws SQLException { target.updateLong(columnIndex, arg1); }
+    @Override public void updateFloat(int columnIndex, float arg1) throws SQLException { target.updateFloat(columnIndex, arg1); }
+    @Override public void updateDouble(int columnIndex, double arg1) throws SQLException { target.updateDouble(columnIndex, arg1); }
+    @Override public void updateBigDecimal(int columnIndex, BigDecimal arg1) throws SQLException { target.updateBigDecimal(columnIndex, arg1); }
+    @Override public void updateString(int columnIndex, String arg1) throws SQLException { target.updateString(columnIndex, arg1); }
+    @Override public void updateBytes(int columnIndex, byte[] arg1) throws SQLException { target.updateBytes(columnIndex, arg1); }
+    @Override public void updateDate(int columnIndex, Date arg1) throws SQLException { target.updateDate(columnIndex, arg1); }
+    @Override public void updateTime(int columnIndex, Time arg1) throws SQLException { target.updateTime(columnIndex, arg1); }
+    @Override public void updateTimestamp(int columnIndex, Timestamp arg1) throws SQLException { target.updateTimestamp(columnIndex, arg1); }
+    @Override public void updateAsciiStream(int columnIndex, InputStream arg1, int arg2) throws SQLException { target.updateAsciiStream(columnIndex, arg1, arg2); }
+    @Override public void updateBinaryStream(int columnIndex, InputStream arg1, int arg2) throws SQLException { target.updateBinaryStream(columnIndex, arg1, arg2); }
+    @Override public void updateCharacterStream(int columnIndex, Reader arg1, int arg2) throws SQLException { target.updateCharacterStream(columnIndex, arg1, arg2); }
+    @Override public void updateObject(int columnIndex, Object arg1, int arg2) throws SQLException { target.updateObject(columnIndex, arg1, arg2); }
+    @Override public void updateObject(int columnIndex, Object arg1) throws SQLException { target.updateObject(columnIndex, arg1); }
+    @Override public void updateNull(String columnLabel) throws SQLException { target.updateNull(columnLabel); }
+    @Override public void updateBoolean(String columnLabel, boolean arg1) throws SQLException { target.updateBoolean(columnLabel, arg1); }
+    @Override public void updateByte(String columnLabel, byte arg1) throws SQLException { target.updateByte(columnLabel, arg1); }
+    @Override public void updateShort(String columnLabel, short arg1) throws SQLException { target.updateShort(columnLabel, arg1); }
+    @Override public void updateInt(String columnLabel, int arg1) throws SQLException { target.updateInt(columnLabel, arg1); }
+    @Override public void updateLong(String columnLabel, long arg1) throws SQLException { target.updateLong(columnLabel, arg1); }
+    @Override public void updateFloat(String columnLabel, float arg1) throws SQLException { target.updateFloat(columnLabel, arg1); }
+    @Override public void updateDouble(String columnLabel, double arg1) throws SQLException { target.updateDouble(columnLabel, arg1); }
+    @Override public void updateBigDecimal(String columnLabel, BigDecimal arg1) throws SQLException { target.updateBigDecimal(columnLabel, arg1); }
+    @Override public void updateString(String columnLabel, String arg1) throws SQLException { target.updateString(columnLabel, arg1); }
+    @Override public void updateBytes(String columnLabel, byte[] arg1) throws SQLException { target.updateBytes(columnLabel, arg1); }
+    @Override public void updateDate(String columnLabel, Date arg1) throws SQLException { target.updateDate(columnLabel, arg1); }
+    @Override public void updateTime(String columnLabel, Time arg1) throws SQLException { target.updateTime(columnLabel, arg1); }
+    @Override public void updateTimestamp(String columnLabel, Timestamp arg1) throws SQLException { target.updateTimestamp(columnLabel, arg1); }
+    @Override public void updateAsciiStream(String columnLabel, InputStream arg1, int arg2) throws SQLException { target.updateAsciiStream(columnLabel, arg1, arg2); }
+    @Override public void updateBinaryStream(String columnLabel, InputStream arg1, int arg2) throws SQLException { target.updateBinaryStream(columnLabel, arg1, arg2); }
+    @Override public void updateCharacterStream(String columnLabel, Reader arg1, int arg2) throws SQLException { target.updateCharacterStream(columnLabel, arg1, arg2); }
+    @Override public void updateObject(String columnLabel, Object arg1, int arg2) throws SQLException { target.updateObject(columnLabel, arg1, arg2); }
+    @Override public void updateObject(String columnLabel, Object arg1) throws SQLException { target.updateObject(columnLabel, arg1); }
+    @Override public void insertRow() throws SQLException { target.insertRow(); }
+    @Override public void updateRow() throws SQLException { target.updateRow(); }
+    @Override public void deleteRow() throws SQLException { target.deleteRow(); }
+    @Override public void refreshRow() throws SQLException { target.refreshRow(); }
+    @Override public void cancelRowUpdates() throws SQLException { target.cancelRowUpdates(); }
+    @Override public void moveToInsertRow() throws SQLException { target.moveToInsertRow(); }
+    @Override public void moveToCurrentRow() throws SQLException { target.moveToCurrentRow(); }
+    @Override public Statement getStatement() throws SQLException { return target.getStatement(); }
+    @Override public Object getObject(int columnIndex, Map<String, Class<?>> arg1) throws SQLException { return target.getObject(columnIndex, arg1); }
+    @Override public Ref getRef(int columnIndex) throws SQLException { return target.getRef(columnIndex); }
+    @Override public Blob getBlob(int columnIndex) throws SQLException { return target.getBlob(columnIndex); }
+    @Override public Clob getClob(int columnIndex) throws SQLException { return target.getClob(columnIndex); }
+    @Override public Array getArray(int columnIndex) throws SQLException { return target.getArray(columnIndex); }
+    @Override public Object getObject(String columnLabel, Map<String, Class<?>> arg1) throws SQLException { return target.getObject(columnLabel, arg1); }
+    @Override public Ref getRef(String columnLabel) throws SQLException { return target.getRef(columnLabel); }
+    @Override public Blob getBlob(String columnLabel) throws SQLException { return target.getBlob(columnLabel); }
+    @Override public Clob getClob(String columnLabel) throws SQLException { return target.getClob(columnLabel); }
+    @Override public Array getArray(String columnLabel) throws SQLException { return target.getArray(columnLabel); }
+    @Override public Date getDate(int columnIndex, Calendar arg1) throws SQLException { return target.getDate(columnIndex, arg1); }
+    @Override public Date getDate(String columnLabel, Calendar arg1) throws SQLException { return target.getDate(columnLabel, arg1); }
+    @Override public Time getTime(int columnIndex, Calendar arg1) throws SQLException { return target.getTime(columnIndex, arg1); }
+    @Override public Time getTime(String columnLabel, Calendar arg1) throws SQLException { return target.getTime(columnLabel, arg1); }
+    @Override public Timestamp getTimestamp(int columnIndex, Calendar arg1) throws SQLException { return target.getTimestamp(columnIndex, arg1); }
+    @Override public Timestamp getTimestamp(String columnLabel, Calendar arg1) throws SQLException { return target.getTimestamp(columnLabel, arg1); }
+    @Override public URL getURL(int columnIndex) throws SQLException { return target.getURL(columnIndex); }
+    @Override public URL getURL(String columnLabel) throws SQLException { return target.getURL(columnLabel); }
+    @Override public void updateRef(int columnIndex, Ref arg1) throws SQLException { target.updateRef(columnIndex, arg1); }
+    @Override public void updateRef(String columnLabel, Ref arg1) throws SQLException { target.updateRef(columnLabel, arg1); }
+    @Override public void updateBlob(int columnIndex, Blob arg1) throws SQLException { target.updateBlob(columnIndex, arg1); }
+    @Override public void updateBlob(String columnLabel, Blob arg1) throws SQLException { target.updateBlob(columnLabel, arg1); }
+    @Override public void updateClob(int columnIndex, Clob arg1) throws SQLException { target.updateClob(columnIndex, arg1); }
+    @Override public void updateClob(String columnLabel, Clob arg1) throws SQLException { target.updateClob(columnLabel, arg1); }
+    @Override public void updateArray(int columnIndex, Array arg1) throws SQLException { target.updateArray(columnIndex, arg1); }
+    @Override public void updateArray(String columnLabel, Array arg1) throws SQLException { target.updateArray(columnLabel, arg1); }
+    @Override public RowId getRowId(int columnIndex) throws SQLException { return target.getRowId(columnIndex); }
+    @Override public RowId getRowId(String columnLabel) throws SQLException { return target.getRowId(columnLabel); }
+    @Override public void updateRowId(int columnIndex, RowId arg1) throws SQLException { target.updateRowId(columnIndex, arg1); }
+    @Override public void updateRowId(String columnLabel, RowId arg1) throws SQLException { target.updateRowId(columnLabel, arg1); }
+    @Override public int getHoldability() throws SQLException { return target.getHoldability(); }
+    @Override public boolean isClosed() throws SQLException { return target.isClosed(); }
+    @Override public void updateNString(int columnIndex, String arg1) throws SQLException { target.updateNString(columnIndex, arg1); }
+    @Override public void updateNString(String columnLabel, String arg1) throws SQLException { target.updateNString(columnLabel, arg1); }
+    @Override public void updateNClob(int columnIndex, NClob arg1) throws SQLException { target.updateNClob(columnIndex, arg1); }
+    @Override public void updateNClob(String columnLabel, NClob arg1) throws SQLException { target.updateNClob(columnLabel, arg1); }
+    @Override public NClob getNClob(int columnIndex) throws SQLException { return target.getNClob(columnIndex); }
+    @Override public NClob getNClob(String columnLabel) throws SQLException { return target.getNClob(columnLabel); }
+    @Override public SQLXML getSQLXML(int columnIndex) throws SQLException { return target.getSQLXML(columnIndex); }
+    @Override public SQLXML getSQLXML(String columnLabel) throws SQLException { return target.getSQLXML(columnLabel); }
+    @Override public void updateSQLXML(int columnIndex, SQLXML arg1) throws SQLException { target.updateSQLXML(columnIndex, arg1); }
+    @Override public void updateSQLXML(String columnLabel, SQLXML arg1) throws SQLException { target.updateSQLXML(columnLabel, arg1); }
+    @Override public String getNString(int columnIndex) throws SQLException { return target.getNString(columnIndex); }
+    @Override public String getNString(String columnLabel) throws SQLException { return target.getNString(columnLabel); }
+    @Override public Reader getNCharacterStream(int columnIndex) throws SQLException { return target.getNCharacterStream(columnIndex); }
+    @Override public Reader getNCharacterStream(String columnLabel) throws SQLException { return target.getNCharacterStream(columnLabel); }
+    @Override public void updateNCharacterStream(int columnIndex, Reader arg1, long arg2) throws SQLException { target.updateNCharacterStream(columnIndex, arg1, arg2); }
+    @Override public void updateNCharacterStream(String columnLabel, Reader arg1, long arg2) throws SQLException { target.updateNCharacterStream(columnLabel, arg1, arg2); }
+    @Override public void updateAsciiStream(int columnIndex, InputStream arg1, long arg2) throws SQLException { target.updateAsciiStream(columnIndex, arg1, arg2); }
+    @Override public void updateBinaryStream(int columnIndex, InputStream arg1, long arg2) throws SQLException { target.updateBinaryStream(columnIndex, arg1, arg2); }
+    @Override public void updateCharacterStream(int columnIndex, Reader arg1, long arg2) throws SQLException { target.updateCharacterStream(columnIndex, arg1, arg2); }
+    @Override public void updateAsciiStream(String columnLabel, InputStream arg1, long arg2) throws SQLException { target.updateAsciiStream(columnLabel, arg1, arg2); }
+    @Override public void updateBinaryStream(String columnLabel, InputStream arg1, long arg2) throws SQLException { target.updateBinaryStream(columnLabel, arg1, arg2); }
+    @Override public void updateCharacterStream(String columnLabel, Reader arg1, long arg2) throws SQLException { target.updateCharacterStream(columnLabel, arg1, arg2); }
+    @Override public void updateBlob(int columnIndex, InputStream arg1, long arg2) throws SQLException { target.updateBlob(columnIndex, arg1, arg2); }
+    @Override public void updateBlob(String columnLabel, InputStream arg1, long arg2) throws SQLException { target.updateBlob(columnLabel, arg1, arg2); }
+    @Override public void updateClob(int columnIndex, Reader arg1, long arg2) throws SQLException { target.updateClob(columnIndex, arg1, arg2); }
+    @Override public void updateClob(String columnLabel, Reader arg1, long arg2) throws SQLException { target.updateClob(columnLabel, arg1, arg2); }
+    @Override public void updateNClob(int columnIndex, Reader arg1, long arg2) throws SQLException { target.updateNClob(columnIndex, arg1, arg2); }
+    @Override public void updateNClob(String columnLabel, Reader arg1, long arg2) throws SQLException { target.updateNClob(columnLabel, arg1, arg2); }
+    @Override public void updateNCharacterStream(int columnIndex, Reader arg1) throws SQLException { target.updateNCharacterStream(columnIndex, arg1); }
+    @Override public void updateNCharacterStream(String columnLabel, Reader arg1) throws SQLException { target.updateNCharacterStream(columnLabel, arg1); }
+    @Override public void updateAsciiStream(int columnIndex, InputStream arg1) throws SQLException { target.updateAsciiStream(columnIndex, arg1); }
+    @Override public void updateBinaryStream(int columnIndex, InputStream arg1) throws SQLException { target.updateBinaryStream(columnIndex, arg1); }
+    @Override public void updateCharacterStream(int columnIndex, Reader arg1) throws SQLException { target.updateCharacterStream(columnIndex, arg1); }
+    @Override public void updateAsciiStream(String columnLabel, InputStream arg1) throws SQLException { target.updateAsciiStream(columnLabel, arg1); }
+    @Override public void updateBinaryStream(String columnLabel, InputStream arg1) throws SQLException { target.updateBinaryStream(columnLabel, arg1); }
+    @Override public void updateCharacterStream(String columnLabel, Reader arg1) throws SQLException { target.updateCharacterStream(columnLabel, arg1); }
+    @Override public void updateBlob(int columnIndex, InputStream arg1) throws SQLException { target.updateBlob(columnIndex, arg1); }
+    @Override public void updateBlob(String columnLabel, InputStream arg1) throws SQLException { target.updateBlob(columnLabel, arg1); }
+    @Override public void updateClob(int columnIndex, Reader arg1) throws SQLException { target.updateClob(columnIndex, arg1); }
+    @Override public void updateClob(String columnLabel, Reader arg1) throws SQLException { target.updateClob(columnLabel, arg1); }
+    @Override public void updateNClob(int columnIndex, Reader arg1) throws SQLException { target.updateNClob(columnIndex, arg1); }
+    @Override public void updateNClob(String columnLabel, Reader arg1) throws SQLException { target.updateNClob(columnLabel, arg1); }
+    @Override public <T> T getObject(int columnIndex, Class<T> arg1) throws SQLException { return target.getObject(columnIndex, arg1); }
+    @Override public <T> T getObject(String columnLabel, Class<T> arg1) throws SQLException { return target.getObject(columnLabel, arg1); }
+    @Override public void updateObject(int columnIndex, Object arg1, SQLType arg2, int arg3) throws SQLException { target.updateObject(columnIndex, arg1, arg2, arg3); }
+    @Override public void updateObject(String columnLabel, Object arg1, SQLType arg2, int arg3) throws SQLException { target.updateObject(columnLabel, arg1, arg2, arg3); }
+    @Override public void updateObject(int columnIndex, Object arg1, SQLType arg2) throws SQLException { target.updateObject(columnIndex, arg1, arg2); }
+    @Override public void updateObject(String columnLabel, Object arg1, SQLType arg2) throws SQLException { target.updateObject(columnLabel, arg1, arg2); }
+}
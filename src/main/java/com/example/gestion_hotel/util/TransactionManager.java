@@ -0,0 +1,130 @@
+package com.example.gestion_hotel.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Transacciones ligadas al hilo actual. Mientras hay una transacción activa,
+ * DatabaseConnection.getConnection() devuelve siempre la misma conexión (con autoCommit
+ * desactivado) y su close() no la devuelve al pool, así que los DAO no necesitan cambios.
+ * La conexión se obtiene solo cuando algún DAO la pide por primera vez.
+ */
+public final class TransactionManager {
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    private TransactionManager() {}
+
+    @FunctionalInterface
+    public interface TransactionCallback<T, E extends Exception> {
+        T doInTransaction() throws E, SQLException;
+    }
+
+    public static <T, E extends Exception> T execute(TransactionCallback<T, E> callback) throws E, SQLException {
+        if (CURRENT.get() != null) {
+            // Se une a la transacción en curso
+            return callback.doInTransaction();
+        }
+
+        Transaction transaction = new Transaction();
+        CURRENT.set(transaction);
+        try {
+            T result = callback.doInTransaction();
+            transaction.commit();
+            return result;
+        } catch (Exception e) {
+            transaction.rollback(e);
+            throw e;
+        } finally {
+            CURRENT.remove();
+            transaction.release();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // Acción que se ejecuta al terminar la transacción en curso (tras commit o rollback), p. ej. liberar
+    // un lock que debe durar lo mismo que ella. Devuelve false si no hay transacción activa
+    public static boolean afterCompletion(Runnable action) {
+        Transaction transaction = CURRENT.get();
+        if (transaction == null) {
+            return false;
+        }
+        transaction.completions.add(action);
+        return true;
+    }
+
+    static Connection currentConnection(ConnectionPool pool) throws SQLException {
+        Transaction transaction = CURRENT.get();
+        return transaction != null ? transaction.connection(pool) : null;
+    }
+
+    private static final class Transaction {
+        private Connection connection;
+        private Connection view;
+        private final List<Runnable> completions = new ArrayList<>();
+
+        private Connection connection(ConnectionPool pool) throws SQLException {
+            if (connection == null) {
+                connection = pool.getConnection();
+                connection.setAutoCommit(false);
+                view = nonClosingView(connection);
+            }
+            return view;
+        }
+
+        private void commit() throws SQLException {
+            if (connection != null) {
+                connection.commit();
+            }
+        }
+
+        private void rollback(Exception cause) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    cause.addSuppressed(e);
+                }
+            }
+        }
+
+        private void release() {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // El pool descarta la conexión si no puede restaurarla
+                }
+            }
+            for (int i = completions.size() - 1; i >= 0; i--) {
+                completions.get(i).run();
+            }
+        }
+
+        private static Connection nonClosingView(Connection target) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                return null;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                try {
+                                    return method.invoke(target, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                        }
+                    });
+        }
+    }
+}
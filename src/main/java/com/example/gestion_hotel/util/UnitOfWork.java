@@ -0,0 +1,78 @@
+package com.example.gestion_hotel.util;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Unidad de trabajo de una operación de servicio: abre una transacción (y con ella una sola
+ * conexión) y guarda un mapa de identidad para que cada entidad se cargue como mucho una vez.
+ * Dentro de la unidad, buscar dos veces el mismo ID devuelve la misma instancia. Fuera de
+ * ella, find() simplemente delega en el cargador.
+ */
+public final class UnitOfWork {
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Map<Class<?>, Map<Object, Optional<?>>> identityMap = new HashMap<>();
+
+    private UnitOfWork() {}
+
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+        Optional<T> load() throws E;
+    }
+
+    public static <T, E extends Exception> T execute(TransactionManager.TransactionCallback<T, E> work)
+            throws E, SQLException {
+        if (CURRENT.get() != null) {
+            return work.doInTransaction();
+        }
+
+        CURRENT.set(new UnitOfWork());
+        try {
+            return TransactionManager.execute(work);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> Optional<T> find(Class<T> type, Object id, Loader<T, E> loader) throws E {
+        UnitOfWork unitOfWork = CURRENT.get();
+        if (unitOfWork == null) {
+            return loader.load();
+        }
+
+        Map<Object, Optional<?>> entities = unitOfWork.identityMap.computeIfAbsent(type, k -> new HashMap<>());
+        Optional<?> known = entities.get(id);
+        if (known != null) {
+            return (Optional<T>) known;
+        }
+        Optional<T> loaded = loader.load();
+        entities.put(id, loaded);
+        return loaded;
+    }
+
+    // Registrar lo escrito durante la unidad para que las lecturas siguientes no vuelvan a la base de datos
+    public static <T> void register(Class<T> type, Object id, T entity) {
+        UnitOfWork unitOfWork = CURRENT.get();
+        if (unitOfWork != null && id != null) {
+            unitOfWork.identityMap.computeIfAbsent(type, k -> new HashMap<>()).put(id, Optional.ofNullable(entity));
+        }
+    }
+
+    public static void evict(Class<?> type, Object id) {
+        UnitOfWork unitOfWork = CURRENT.get();
+        if (unitOfWork != null) {
+            Map<Object, Optional<?>> entities = unitOfWork.identityMap.get(type);
+            if (entities != null) {
+                entities.remove(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.exception.ServiceException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Base de los handlers: traduce las excepciones a respuestas HTTP. Una ServiceException sin
+ * causa es un error de negocio (400); con causa, un fallo interno (500). Si la respuesta ya
+ * había empezado, se corta la conexión para que el cliente no tome por completa una lista a medias.
+ */
+abstract class ApiHandler implements HttpHandler {
+    private static final Logger LOGGER = Logger.getLogger(ApiHandler.class.getName());
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange, exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+        } catch (ServiceException e) {
+            if (e.getCause() == null) {
+                fail(exchange, 400, e.getMessage(), e);
+            } else {
+                LOGGER.log(Level.WARNING, "Error al atender " + exchange.getRequestURI(), e);
+                fail(exchange, 500, "Error interno del servidor", e);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            fail(exchange, 400, "Petición inválida: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error inesperado al atender " + exchange.getRequestURI(), e);
+            fail(exchange, 500, "Error interno del servidor", e);
+        }
+        // Sin finally: si fail() corta una respuesta empezada, cerrar el intercambio la daría por terminada
+        exchange.close();
+    }
+
+    protected abstract void route(HttpExchange exchange, String method, String path)
+            throws IOException, ServiceException;
+
+    protected static void notFound(HttpExchange exchange) throws IOException {
+        HttpExchanges.sendError(exchange, 404, "Recurso no encontrado: " + exchange.getRequestURI().getPath());
+    }
+
+    protected static void methodNotAllowed(HttpExchange exchange, String allowed) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        HttpExchanges.sendError(exchange, 405, "Método no permitido: " + exchange.getRequestMethod());
+    }
+
+    private static void fail(HttpExchange exchange, int status, String message, Exception cause) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            throw new IOException("Respuesta interrumpida", cause);
+        }
+        HttpExchanges.sendError(exchange, status, message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.GuestService;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+
+// GET /clientes y POST /clientes
+class ClientesHandler extends ApiHandler {
+    private final GuestService guestService;
+    private final int pageSize;
+
+    ClientesHandler(GuestService guestService, int pageSize) {
+        this.guestService = guestService;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    protected void route(HttpExchange exchange, String method, String path) throws IOException, ServiceException {
+        if (!path.equals("/clientes")) {
+            notFound(exchange);
+            return;
+        }
+        switch (method) {
+            case "GET":
+                HttpExchanges.sendJsonArray(exchange,
+                        HttpExchanges.paged(token -> guestService.getGuestsPage(token, pageSize)),
+                        JsonViews::writeGuest);
+                break;
+            case "POST":
+                Map<String, String> body = HttpExchanges.readJsonBody(exchange);
+                Guest created = guestService.createGuest(body.get("nombre"), body.get("email"), body.get("telefono"));
+                HttpExchanges.sendJson(exchange, 201, created, JsonViews::writeGuest);
+                break;
+            default:
+                methodNotAllowed(exchange, "GET, POST");
+        }
+    }
+}
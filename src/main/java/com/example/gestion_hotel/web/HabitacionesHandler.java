@@ -0,0 +1,48 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.RoomService;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// GET /habitaciones/disponibles?checkIn=AAAA-MM-DD&checkOut=AAAA-MM-DD&huespedes=N
+class HabitacionesHandler extends ApiHandler {
+    private final RoomService roomService;
+
+    HabitacionesHandler(RoomService roomService) {
+        this.roomService = roomService;
+    }
+
+    @Override
+    protected void route(HttpExchange exchange, String method, String path) throws IOException, ServiceException {
+        if (!path.equals("/habitaciones/disponibles")) {
+            notFound(exchange);
+            return;
+        }
+        if (!method.equals("GET")) {
+            methodNotAllowed(exchange, "GET");
+            return;
+        }
+
+        Map<String, String> params = HttpExchanges.queryParams(exchange);
+        String checkIn = params.get("checkIn");
+        String checkOut = params.get("checkOut");
+        if (checkIn == null || checkOut == null) {
+            throw new ServiceException("Los parámetros checkIn y checkOut son obligatorios");
+        }
+        int huespedes;
+        try {
+            huespedes = Integer.parseInt(params.getOrDefault("huespedes", "1"));
+        } catch (NumberFormatException e) {
+            throw new ServiceException("El parámetro huespedes debe ser numérico");
+        }
+
+        List<Room> rooms = roomService.findAvailableRooms(LocalDate.parse(checkIn), LocalDate.parse(checkOut), huespedes);
+        HttpExchanges.sendJsonArray(exchange, HttpExchanges.single(rooms), JsonViews::writeRoom);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.service.RoomService;
+import com.example.gestion_hotel.util.AppConfig;
+import com.example.gestion_hotel.util.Page;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/*
+ * Servidor HTTP embebido (com.sun.net.httpserver) que atiende cada petición en su propio hilo
+ * virtual. Las conexiones HTTP/1.1 se reutilizan (keep-alive) y las listas se envían por
+ * bloques. stop() deja de aceptar conexiones y espera a las peticiones en curso.
+ */
+public class HotelHttpServer {
+    private static final Logger LOGGER = Logger.getLogger(HotelHttpServer.class.getName());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int shutdownGraceSeconds;
+
+    public HotelHttpServer() throws IOException {
+        this(new GuestService(), new RoomService(), new ReservationService());
+    }
+
+    public HotelHttpServer(GuestService guestService, RoomService roomService,
+                           ReservationService reservationService) throws IOException {
+        int port = AppConfig.getInt("http.port", 8080);
+        int backlog = AppConfig.getInt("http.backlog", 1024);
+        int pageSize = Math.min(AppConfig.getInt("http.pageSize", Page.MAX_PAGE_SIZE), Page.MAX_PAGE_SIZE);
+        this.shutdownGraceSeconds = AppConfig.getInt("http.shutdownGraceSeconds", 10);
+
+        this.server = HttpServer.create(new InetSocketAddress(port), backlog);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        server.createContext("/clientes", new ClientesHandler(guestService, pageSize));
+        server.createContext("/reservas", new ReservasHandler(reservationService, pageSize));
+        server.createContext("/habitaciones", new HabitacionesHandler(roomService));
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("Servidor HTTP escuchando en el puerto " + getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        LOGGER.info("Deteniendo el servidor HTTP...");
+        server.stop(shutdownGraceSeconds);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
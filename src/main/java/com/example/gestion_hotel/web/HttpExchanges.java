@@ -0,0 +1,142 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.Json;
+import com.example.gestion_hotel.util.Page;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Utilidades comunes de los handlers: lectura del cuerpo, parámetros y respuestas JSON
+final class HttpExchanges {
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int WRITE_BUFFER = 16 * 1024;
+
+    private HttpExchanges() {}
+
+    @FunctionalInterface
+    interface PageSource<T> {
+        // Devuelve la siguiente página o null cuando no quedan más
+        Iterator<T> next() throws ServiceException;
+    }
+
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        Page<T> fetch(String pageToken) throws ServiceException;
+    }
+
+    // Recorre un listado paginado por cursor hasta la última página
+    static <T> PageSource<T> paged(PageFetcher<T> fetcher) {
+        return new PageSource<T>() {
+            private String token;
+            private boolean done;
+
+            @Override
+            public Iterator<T> next() throws ServiceException {
+                if (done) {
+                    return null;
+                }
+                Page<T> page = fetcher.fetch(token);
+                token = page.getNextPageToken();
+                done = !page.hasNext();
+                return page.getItems().iterator();
+            }
+        };
+    }
+
+    static <T> PageSource<T> single(List<T> items) {
+        Iterator<T> iterator = items.iterator();
+        boolean[] sent = {false};
+        return () -> {
+            if (sent[0]) {
+                return null;
+            }
+            sent[0] = true;
+            return iterator;
+        };
+    }
+
+    static Map<String, String> readJsonBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > MAX_BODY_BYTES) {
+                    throw new IllegalArgumentException("El cuerpo de la petición es demasiado grande");
+                }
+            }
+            return Json.parseFlatObject(body.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    static <T> void sendJson(HttpExchange exchange, int status, T item, JsonViews.ItemWriter<T> writer) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, 0);
+        try (Writer out = writer(exchange)) {
+            writer.write(out, item);
+        }
+    }
+
+    // Lista JSON escrita página a página con codificación chunked: la conexión a la base de
+    // datos solo se ocupa mientras se lee cada página, no mientras el cliente descarga.
+    // Si falla una página no se cierra el writer: cerrarlo escribiría el último chunk y la
+    // respuesta parecería completa. La excepción llega al servidor, que corta la conexión.
+    static <T> void sendJsonArray(HttpExchange exchange, PageSource<T> pages, JsonViews.ItemWriter<T> writer)
+            throws IOException, ServiceException {
+        Iterator<T> page = pages.next();
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        Writer out = writer(exchange);
+        out.write('[');
+        boolean first = true;
+        while (page != null) {
+            while (page.hasNext()) {
+                if (!first) {
+                    out.write(',');
+                }
+                writer.write(out, page.next());
+                first = false;
+            }
+            out.flush();
+            page = pages.next();
+        }
+        out.write(']');
+        out.close();
+    }
+
+    static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, message, JsonViews::writeError);
+    }
+
+    private static Writer writer(HttpExchange exchange) {
+        return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), WRITE_BUFFER);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.util.Json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+// Serialización JSON de las entidades con los nombres de propiedad de swagger.yaml
+final class JsonViews {
+
+    private JsonViews() {}
+
+    @FunctionalInterface
+    interface ItemWriter<T> {
+        void write(Writer out, T item) throws IOException;
+    }
+
+    static void writeGuest(Writer out, Guest guest) throws IOException {
+        out.write("{\"id\":");
+        writeNumber(out, guest.getId());
+        out.write(",\"nombre\":");
+        out.write(Json.quote(guest.getNombre()));
+        out.write(",\"email\":");
+        out.write(Json.quote(guest.getEmail()));
+        out.write(",\"telefono\":");
+        out.write(Json.quote(guest.getTelefono()));
+        out.write(",\"fechaRegistro\":");
+        writeTemporal(out, guest.getFechaRegistro(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        out.write('}');
+    }
+
+    static void writeRoom(Writer out, Room room) throws IOException {
+        out.write("{\"id\":");
+        writeNumber(out, room.getId());
+        out.write(",\"numero\":");
+        out.write(Json.quote(room.getNumero()));
+        out.write(",\"tipo\":");
+        out.write(Json.quote(room.getTipo() == null ? null : room.getTipo().name()));
+        out.write(",\"precioPorNoche\":");
+        writeNumber(out, room.getPrecioPorNoche());
+        out.write(",\"capacidadMaxima\":");
+        writeNumber(out, room.getCapacidadMaxima());
+        out.write(",\"disponible\":");
+        out.write(room.isAvailable() ? "true" : "false");
+        out.write('}');
+    }
+
+    static void writeReservation(Writer out, Reservation reservation) throws IOException {
+        out.write("{\"id\":");
+        writeNumber(out, reservation.getId());
+        out.write(",\"guestId\":");
+        writeNumber(out, reservation.getGuestId());
+        out.write(",\"roomId\":");
+        writeNumber(out, reservation.getRoomId());
+        out.write(",\"fechaCheckIn\":");
+        writeTemporal(out, reservation.getFechaCheckIn(), DateTimeFormatter.ISO_LOCAL_DATE);
+        out.write(",\"fechaCheckOut\":");
+        writeTemporal(out, reservation.getFechaCheckOut(), DateTimeFormatter.ISO_LOCAL_DATE);
+        out.write(",\"numeroHuespedes\":");
+        writeNumber(out, reservation.getNumeroHuespedes());
+        out.write(",\"montoTotal\":");
+        writeNumber(out, reservation.getMontoTotal());
+        out.write(",\"estado\":");
+        out.write(Json.quote(reservation.getEstado() == null ? null : reservation.getEstado().name()));
+        out.write(",\"fechaCreacion\":");
+        writeTemporal(out, reservation.getFechaCreacion(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        out.write('}');
+    }
+
+    static void writeError(Writer out, String message) throws IOException {
+        out.write("{\"error\":");
+        out.write(Json.quote(message));
+        out.write('}');
+    }
+
+    private static void writeNumber(Writer out, Number value) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof BigDecimal) {
+            out.write(((BigDecimal) value).toPlainString());
+        } else {
+            out.write(value.toString());
+        }
+    }
+
+    private static void writeTemporal(Writer out, TemporalAccessor value, DateTimeFormatter format) throws IOException {
+        out.write(value == null ? "null" : Json.quote(format.format(value)));
+    }
+}
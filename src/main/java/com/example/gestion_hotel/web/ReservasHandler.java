@@ -0,0 +1,79 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.service.ReservationService;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+// POST /reservas y GET /reservas/activas
+class ReservasHandler extends ApiHandler {
+    private final ReservationService reservationService;
+    private final int pageSize;
+
+    ReservasHandler(ReservationService reservationService, int pageSize) {
+        this.reservationService = reservationService;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    protected void route(HttpExchange exchange, String method, String path) throws IOException, ServiceException {
+        switch (path) {
+            case "/reservas":
+                if (!method.equals("POST")) {
+                    methodNotAllowed(exchange, "POST");
+                    return;
+                }
+                create(exchange);
+                break;
+            case "/reservas/activas":
+                if (!method.equals("GET")) {
+                    methodNotAllowed(exchange, "GET");
+                    return;
+                }
+                HttpExchanges.sendJsonArray(exchange,
+                        HttpExchanges.paged(token -> reservationService.getActiveReservationsPage(token, pageSize)),
+                        JsonViews::writeReservation);
+                break;
+            default:
+                notFound(exchange);
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException, ServiceException {
+        Map<String, String> body = HttpExchanges.readJsonBody(exchange);
+        Reservation created = reservationService.createReservation(
+                parseLong(body, "guestId"),
+                parseLong(body, "roomId"),
+                parseDate(body, "fechaCheckIn"),
+                parseDate(body, "fechaCheckOut"),
+                parseInt(body, "numeroHuespedes"));
+        HttpExchanges.sendJson(exchange, 201, created, JsonViews::writeReservation);
+    }
+
+    private static Long parseLong(Map<String, String> body, String field) throws ServiceException {
+        String value = body.get(field);
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServiceException("El campo " + field + " debe ser numérico");
+        }
+    }
+
+    private static Integer parseInt(Map<String, String> body, String field) throws ServiceException {
+        String value = body.get(field);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServiceException("El campo " + field + " debe ser numérico");
+        }
+    }
+
+    private static LocalDate parseDate(Map<String, String> body, String field) {
+        String value = body.get(field);
+        return value == null ? null : LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,3 @@
+-- Reservas archivadas (ReservationArchiveJob): mismas columnas e índices que reservations,
+-- sin claves foráneas; los IDs se copian de la tabla original
+CREATE TABLE IF NOT EXISTS reservations_archive LIKE reservations;
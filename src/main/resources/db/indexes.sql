@@ -0,0 +1,14 @@
+-- Índice para la verificación de solapamiento de una habitación
+-- (ReservationDao.existsOverlappingReservation)
+CREATE INDEX idx_reservations_room_estado_fechas
+    ON reservations (room_id, estado, fecha_check_in, fecha_check_out);
+
+-- Índices para la paginación por cursor
+CREATE INDEX idx_guests_nombre_id ON guests (nombre, id);
+CREATE INDEX idx_rooms_numero_id ON rooms (numero, id);
+CREATE INDEX idx_reservations_guest_creacion_id ON reservations (guest_id, fecha_creacion, id);
+CREATE INDEX idx_reservations_estado_checkin_id ON reservations (estado, fecha_check_in, id);
+
+-- Índice para la tarea que completa reservas finalizadas
+-- (ReservationDao.completeCheckedOutBefore)
+CREATE INDEX idx_reservations_estado_checkout_id ON reservations (estado, fecha_check_out, id);
@@ -0,0 +1,45 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.entity.Guest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GuestCacheTest {
+    private final GuestCache cache = new GuestCache(true, 1000, 300);
+
+    @Test
+    void loadedGuestIsCachedWhenNothingWasInvalidated() {
+        long stamp = cache.getInvalidationStamp();
+        cache.putLoaded(guest(1L, "ana@example.com"), stamp);
+        assertNotNull(cache.getById(1L));
+        assertEquals(1L, cache.getByEmail("ANA@example.com").getId());
+    }
+
+    @Test
+    void loadStartedBeforeAnInvalidationIsDiscarded() {
+        // Lectura de la versión vieja, escritura con invalidación y la lectura intenta guardar después
+        long stamp = cache.getInvalidationStamp();
+        Guest stale = guest(2L, "luis@example.com");
+        cache.invalidate(2L);
+        cache.putLoaded(stale, stamp);
+        assertNull(cache.getById(2L));
+        assertNull(cache.getByEmail("luis@example.com"));
+    }
+
+    @Test
+    void invalidateRemovesBothIndexes() {
+        cache.put(guest(3L, "eva@example.com"));
+        cache.invalidate(3L);
+        assertNull(cache.getById(3L));
+        assertNull(cache.getByEmail("eva@example.com"));
+    }
+
+    private static Guest guest(Long id, String email) {
+        Guest guest = new Guest("Prueba", email, "600000000");
+        guest.setId(id);
+        return guest;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.dao.RoomDao;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.service.RoomService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El DAO en memoria aplica el mismo criterio que la consulta SQL de findAvailableRooms
+class RoomAvailabilityIndexTest {
+
+    @Test
+    void indexMatchesDaoForOverlappingAdjacentAndCancelledBookings() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+        ReservationDao reservationDao = DaoFactory.getInstance().reservationDao();
+        RoomDao roomDao = DaoFactory.getInstance().roomDao();
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+        index.ensureLoaded();
+
+        Guest guest = guestService.createGuest("Prueba Índice", "indice@example.com", "600000003");
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            rooms.add(roomService.createRoom("IDX" + i, TipoHabitacion.DOBLE, new BigDecimal("9" + i + ".00")));
+        }
+        Set<Long> roomIds = new HashSet<>();
+        rooms.forEach(room -> roomIds.add(room.getId()));
+
+        LocalDate base = LocalDate.now().plusDays(300);
+        // Contiguas con intervalos cerrados: la segunda empieza el día después de la salida
+        reservationService.createReservation(guest.getId(), rooms.get(0).getId(), base.plusDays(10), base.plusDays(12), 2);
+        reservationService.createReservation(guest.getId(), rooms.get(0).getId(), base.plusDays(13), base.plusDays(15), 2);
+        // Cancelada: no debe bloquear la habitación
+        Reservation cancelled = reservationService.createReservation(guest.getId(), rooms.get(1).getId(),
+                base.plusDays(20), base.plusDays(25), 2);
+        reservationService.cancelReservation(cancelled.getId());
+
+        // Escritas sin pasar por el servicio, como otra instancia o SQL manual: solapadas y anidadas
+        List<Reservation> external = new ArrayList<>();
+        external.add(external(guest, rooms.get(2), base.plusDays(5), base.plusDays(40)));
+        external.add(external(guest, rooms.get(2), base.plusDays(10), base.plusDays(11)));
+        external.add(external(guest, rooms.get(3), base.plusDays(8), base.plusDays(14)));
+        external.add(external(guest, rooms.get(3), base.plusDays(12), base.plusDays(18)));
+        try {
+            for (Reservation reservation : external) {
+                reservationDao.create(reservation);
+            }
+            assertTrue(index.checkAndRepair() >= external.size());
+
+            for (int start = 0; start < 45; start++) {
+                for (int length = 0; length < 7; length++) {
+                    LocalDate checkIn = base.plusDays(start);
+                    LocalDate checkOut = checkIn.plusDays(length);
+                    assertEquals(ids(roomDao.findAvailableRooms(checkIn, checkOut, 2), roomIds),
+                            ids(index.findAvailableRooms(checkIn, checkOut, 2), roomIds),
+                            checkIn + " - " + checkOut);
+                }
+            }
+            // El día de salida sigue ocupado y el siguiente ya está libre
+            assertFalse(ids(index.findAvailableRooms(base.plusDays(12), base.plusDays(12), 2), roomIds).contains(rooms.get(0).getId()));
+            assertTrue(ids(index.findAvailableRooms(base.plusDays(20), base.plusDays(25), 2), roomIds).contains(rooms.get(1).getId()));
+        } finally {
+            // Las demás pruebas comparten la base de datos y esperan inventario e índice al día
+            for (Reservation reservation : external) {
+                if (reservation.getId() != null) {
+                    reservationDao.delete(reservation.getId());
+                }
+            }
+            index.checkAndRepair();
+        }
+        assertEquals(0, index.checkAndRepair());
+    }
+
+    private static Reservation external(Guest guest, Room room, LocalDate checkIn, LocalDate checkOut) {
+        Reservation reservation = new Reservation(guest.getId(), room.getId(), checkIn, checkOut, 2);
+        reservation.setMontoTotal(new BigDecimal("100.00"));
+        return reservation;
+    }
+
+    private static Set<Long> ids(List<Room> rooms, Set<Long> only) {
+        Set<Long> ids = new HashSet<>();
+        for (Room room : rooms) {
+            if (only.contains(room.getId())) {
+                ids.add(room.getId());
+            }
+        }
+        return ids;
+    }
+}
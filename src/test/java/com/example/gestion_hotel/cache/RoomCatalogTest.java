@@ -0,0 +1,50 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.service.RoomService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoomCatalogTest {
+
+    @Test
+    void numberOrderIgnoresCaseAndAccentsLikeTheDatabase() throws Exception {
+        RoomService roomService = new RoomService();
+        // En orden binario "catb2" iría antes que "cátb1", y las mayúsculas antes que las minúsculas
+        String[] numeros = {"catb2", "CATA1", "cátb1", "Cata2"};
+        Set<Long> ids = new HashSet<>();
+        for (String numero : numeros) {
+            ids.add(roomService.createRoom(numero, TipoHabitacion.SIMPLE, new BigDecimal("50.00")).getId());
+        }
+
+        RoomCatalog.Snapshot snapshot = RoomCatalog.getInstance().snapshot();
+        List<String> catalogOrder = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            Room room = snapshot.getByNumberOrder(i);
+            if (ids.contains(room.getId())) {
+                catalogOrder.add(room.getNumero());
+            }
+        }
+        assertEquals(List.of("CATA1", "Cata2", "cátb1", "catb2"), catalogOrder);
+
+        // El catálogo completo sigue el mismo orden que ORDER BY numero, id
+        List<Long> expected = new ArrayList<>();
+        for (Room room : DaoFactory.getInstance().roomDao().findAll()) {
+            expected.add(room.getId());
+        }
+        List<Long> actual = new ArrayList<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            actual.add(snapshot.getByNumberOrder(i).getId());
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.gestion_hotel.cache;
+
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.service.CompletionReport;
+import com.example.gestion_hotel.service.GuestService;
+import com.example.gestion_hotel.service.ReservationCompletionJob;
+import com.example.gestion_hotel.service.ReservationService;
+import com.example.gestion_hotel.service.RoomService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// La base de datos en memoria se comparte con otras pruebas: se comparan contadores antes y después
+class RoomTypeInventoryTest {
+
+    @Test
+    void countersFollowCreateUpdateAndCancel() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+        RoomTypeInventory inventory = RoomTypeInventory.getInstance();
+
+        Guest guest = guestService.createGuest("Prueba Inventario", "inventario@example.com", "600000002");
+        Room room = roomService.createRoom("INV1", TipoHabitacion.SUITE, new BigDecimal("200.00"));
+        inventory.rebuild();
+
+        LocalDate night = LocalDate.now().plusDays(40);
+        LocalDate moved = night.plusDays(10);
+        int bookedBefore = inventory.getBooked(TipoHabitacion.SUITE, night);
+        int movedBefore = inventory.getBooked(TipoHabitacion.SUITE, moved);
+
+        Reservation reservation = reservationService.createReservation(guest.getId(), room.getId(), night, night.plusDays(2), 2);
+        assertEquals(bookedBefore + 1, inventory.getBooked(TipoHabitacion.SUITE, night));
+
+        // Aplicar dos veces la misma reserva no la cuenta dos veces
+        inventory.onReservationSaved(reservation);
+        assertEquals(bookedBefore + 1, inventory.getBooked(TipoHabitacion.SUITE, night));
+
+        reservationService.updateReservation(reservation.getId(), moved, moved.plusDays(1), null);
+        assertEquals(bookedBefore, inventory.getBooked(TipoHabitacion.SUITE, night));
+        assertEquals(movedBefore + 1, inventory.getBooked(TipoHabitacion.SUITE, moved));
+
+        reservationService.cancelReservation(reservation.getId());
+        assertEquals(movedBefore, inventory.getBooked(TipoHabitacion.SUITE, moved));
+
+        assertFalse(inventory.checkAndRepair().hasDrift());
+    }
+
+    @Test
+    void completionJobRemovesCheckedOutStays() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        RoomTypeInventory inventory = RoomTypeInventory.getInstance();
+
+        Guest guest = guestService.createGuest("Prueba Completado", "completado.inventario@example.com", "600000006");
+        Room room = roomService.createRoom("INV2", TipoHabitacion.SIMPLE, new BigDecimal("60.00"));
+        // Una estancia ya terminada que sigue ACTIVA, como las que encuentra la tarea de completado
+        Reservation past = new Reservation(guest.getId(), room.getId(), LocalDate.now().minusDays(4),
+                LocalDate.now().minusDays(2), 1);
+        past.setMontoTotal(new BigDecimal("120.00"));
+        DaoFactory.getInstance().reservationDao().create(past);
+        inventory.rebuild();
+
+        CompletionReport report = new ReservationCompletionJob().runOnce();
+        assertTrue(report.getRowsCompleted() >= 1);
+        assertTrue(report.getInventoryStaysRemoved() >= 1);
+        // Volver a completar no encuentra nada más que quitar
+        assertEquals(0, inventory.onCheckedOutBefore(LocalDate.now()));
+        assertFalse(inventory.checkAndRepair().hasDrift());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.gestion_hotel.dao.memory;
+
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Los DAO en memoria deben devolver las filas en el mismo orden que los ORDER BY de los
+ * Jdbc*Dao. Los comparadores de esta clase reproducen esas cláusulas con la intercalación
+ * de MySQL (utf8mb4_0900_ai_ci: sin distinguir mayúsculas ni acentos) usando un Collator de
+ * fuerza primaria, independiente de InMemoryDatabase.collate.
+ */
+class InMemoryOrderingParityTest {
+    private static final Collator AI_CI = collator();
+
+    private final InMemoryDatabase db = new InMemoryDatabase();
+    private final InMemoryGuestDao guestDao = new InMemoryGuestDao(db);
+    private final InMemoryRoomDao roomDao = new InMemoryRoomDao(db);
+    private final InMemoryReservationDao reservationDao = new InMemoryReservationDao(db);
+
+    @Test
+    void guestsFollowOrderByNombreId() throws Exception {
+        String[] nombres = {"beatriz", "Álvaro", "alvaro", "ANA", "Óscar", "oscar", "Zoe", "ana", "Ángela", "carlos"};
+        for (int i = 0; i < nombres.length; i++) {
+            guestDao.create(new Guest(nombres[i], "orden" + i + "@example.com", "600000000"));
+        }
+
+        // ORDER BY nombre, id
+        Comparator<Guest> order = Comparator.<Guest, String>comparing(Guest::getNombre, AI_CI)
+                .thenComparing(Guest::getId);
+        List<Guest> expected = sorted(guestDao.findAll(), order);
+        assertEquals(ids(expected, Guest::getId), ids(guestDao.findAll(), Guest::getId));
+
+        List<Guest> paged = new ArrayList<>();
+        List<Guest> page = guestDao.findPage(null, null, 3);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            Guest last = page.get(page.size() - 1);
+            page = guestDao.findPage(last.getNombre(), last.getId(), 3);
+        }
+        assertEquals(ids(expected, Guest::getId), ids(paged, Guest::getId));
+    }
+
+    @Test
+    void roomsFollowOrderByNumeroIdAndPrecio() throws Exception {
+        String[] numeros = {"B2", "a1", "A10", "b1", "101", "C3", "a2", "20"};
+        String[] precios = {"90.00", "60.00", "150.00", "60.00", "90.00", "75.50", "60.00", "200.00"};
+        for (int i = 0; i < numeros.length; i++) {
+            roomDao.create(new Room(numeros[i], TipoHabitacion.DOBLE, new BigDecimal(precios[i])));
+        }
+
+        // ORDER BY numero, id
+        Comparator<Room> order = Comparator.<Room, String>comparing(Room::getNumero, AI_CI)
+                .thenComparing(Room::getId);
+        List<Room> expected = sorted(roomDao.findAll(), order);
+        assertEquals(ids(expected, Room::getId), ids(roomDao.findAll(), Room::getId));
+
+        List<Room> paged = new ArrayList<>();
+        List<Room> page = roomDao.findPage(null, null, 3);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            Room last = page.get(page.size() - 1);
+            page = roomDao.findPage(last.getNumero(), last.getId(), 3);
+        }
+        assertEquals(ids(expected, Room::getId), ids(paged, Room::getId));
+
+        // ORDER BY r.precio_por_noche: con empates MySQL no fija el orden, solo se compara el precio
+        List<Room> available = roomDao.findAvailableRooms(LocalDate.now().plusDays(5), LocalDate.now().plusDays(7), 2);
+        assertEquals(numeros.length, available.size());
+        List<BigDecimal> prices = new ArrayList<>();
+        for (Room room : available) {
+            prices.add(room.getPrecioPorNoche());
+        }
+        List<BigDecimal> sortedPrices = new ArrayList<>(prices);
+        sortedPrices.sort(Comparator.naturalOrder());
+        assertEquals(sortedPrices, prices);
+    }
+
+    @Test
+    void reservationsFollowCreationAndCheckInOrder() throws Exception {
+        Guest guest = guestDao.create(new Guest("Orden Reservas", "orden.reservas@example.com", "600000000"));
+        Room room = roomDao.create(new Room("R-ORDEN", TipoHabitacion.DOBLE, new BigDecimal("80.00")));
+
+        // Fechas de creación y de entrada repetidas para que el desempate por id importe
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        LocalDate checkInBase = LocalDate.of(2027, 3, 1);
+        int[] creationOffsets = {2, 0, 2, 1, 0, 2, 3};
+        int[] checkInOffsets = {4, 0, 4, 2, 0, 6, 2};
+        for (int i = 0; i < creationOffsets.length; i++) {
+            LocalDate checkIn = checkInBase.plusDays(checkInOffsets[i]);
+            Reservation reservation = new Reservation(guest.getId(), room.getId(), checkIn, checkIn.plusDays(1), 2);
+            reservation.setFechaCreacion(base.plusHours(creationOffsets[i]));
+            reservation.setMontoTotal(new BigDecimal("80.00"));
+            if (i == 3) {
+                reservation.setEstado(EstadoReserva.CANCELADA);
+            }
+            reservationDao.create(reservation);
+        }
+
+        // ORDER BY fecha_creacion DESC, id DESC
+        Comparator<Reservation> byCreationDesc = Comparator.comparing(Reservation::getFechaCreacion)
+                .thenComparing(Reservation::getId).reversed();
+        List<Reservation> expected = sorted(reservationDao.findByGuestId(guest.getId()), byCreationDesc);
+
+        List<Reservation> paged = new ArrayList<>();
+        List<Reservation> page = reservationDao.findByGuestIdPage(guest.getId(), null, null, 2);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            Reservation last = page.get(page.size() - 1);
+            page = reservationDao.findByGuestIdPage(guest.getId(), last.getFechaCreacion(), last.getId(), 2);
+        }
+        assertEquals(ids(expected, Reservation::getId), ids(paged, Reservation::getId));
+
+        // WHERE estado = 'ACTIVA' ORDER BY fecha_check_in, id
+        Comparator<Reservation> byCheckIn = Comparator.comparing(Reservation::getFechaCheckIn)
+                .thenComparing(Reservation::getId);
+        List<Reservation> active = new ArrayList<>();
+        for (Reservation reservation : reservationDao.findByGuestId(guest.getId())) {
+            if (reservation.getEstado() == EstadoReserva.ACTIVA) {
+                active.add(reservation);
+            }
+        }
+        List<Reservation> expectedActive = sorted(active, byCheckIn);
+        assertEquals(ids(expectedActive, Reservation::getId), ids(reservationDao.findActiveReservations(), Reservation::getId));
+
+        List<Reservation> activePaged = new ArrayList<>();
+        List<Reservation> activePage = reservationDao.findActivePage(null, null, 2);
+        while (!activePage.isEmpty()) {
+            activePaged.addAll(activePage);
+            Reservation last = activePage.get(activePage.size() - 1);
+            activePage = reservationDao.findActivePage(last.getFechaCheckIn(), last.getId(), 2);
+        }
+        assertEquals(ids(expectedActive, Reservation::getId), ids(activePaged, Reservation::getId));
+    }
+
+    private static <T> List<T> sorted(List<T> items, Comparator<T> order) {
+        List<T> copy = new ArrayList<>(items);
+        copy.sort(order);
+        return copy;
+    }
+
+    private static <T> List<Long> ids(List<T> items, Function<T, Long> id) {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (T item : items) {
+            ids.add(id.apply(item));
+        }
+        return ids;
+    }
+
+    private static Collator collator() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.gestion_hotel.dao.memory;
+
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.util.TransactionManager;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class InMemoryReservationDaoTest {
+    private final InMemoryDatabase db = new InMemoryDatabase();
+    private final InMemoryGuestDao guestDao = new InMemoryGuestDao(db);
+    private final InMemoryRoomDao roomDao = new InMemoryRoomDao(db);
+    private final InMemoryReservationDao reservationDao = new InMemoryReservationDao(db);
+
+    @Test
+    void completionWaitsForAnUpdateHoldingTheRowLock() throws Exception {
+        Reservation reservation = reservation(LocalDate.now().minusDays(5), LocalDate.now().minusDays(2));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch locked = new CountDownLatch(1);
+            // Modificación: lee con bloqueo, tarda y escribe la versión leída (todavía ACTIVA)
+            Future<?> update = executor.submit(() -> TransactionManager.execute(() -> {
+                Reservation read = reservationDao.findByIdForUpdate(reservation.getId()).get();
+                locked.countDown();
+                Thread.sleep(200);
+                read.setNumeroHuespedes(1);
+                return reservationDao.update(read);
+            }));
+            locked.await();
+            Future<Integer> completion = executor.submit(() -> reservationDao.completeCheckedOutBefore(LocalDate.now(), 500));
+
+            update.get(1, TimeUnit.MINUTES);
+            assertEquals(1, completion.get(1, TimeUnit.MINUTES));
+        } finally {
+            executor.shutdown();
+        }
+
+        // La tarea de completado esperó al commit: su cambio de estado no se pierde
+        Reservation stored = reservationDao.findById(reservation.getId()).get();
+        assertEquals(EstadoReserva.COMPLETADA, stored.getEstado());
+        assertEquals(1, stored.getNumeroHuespedes());
+    }
+
+    @Test
+    void rowLockIsHeldUntilTheTransactionEnds() throws Exception {
+        Reservation reservation = reservation(LocalDate.now().plusDays(10), LocalDate.now().plusDays(12));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> holder = executor.submit(() -> TransactionManager.execute(() -> {
+                reservationDao.findByIdForUpdate(reservation.getId());
+                locked.countDown();
+                release.await();
+                return null;
+            }));
+            locked.await();
+            Future<?> waiter = executor.submit(() -> TransactionManager.execute(
+                    () -> reservationDao.lockRoomForUpdate(reservation.getRoomId())));
+
+            Thread.sleep(100);
+            assertFalse(waiter.isDone(), "El lock de la habitación se liberó antes del fin de la transacción");
+            release.countDown();
+            holder.get(1, TimeUnit.MINUTES);
+            waiter.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(db.roomLock(reservation.getRoomId()).isLocked());
+    }
+
+    private Reservation reservation(LocalDate checkIn, LocalDate checkOut) throws Exception {
+        Guest guest = guestDao.create(new Guest("Prueba Bloqueos", "bloqueos@example.com", "600000005"));
+        Room room = roomDao.create(new Room("B1", TipoHabitacion.DOBLE, new BigDecimal("80.00")));
+        Reservation reservation = new Reservation(guest.getId(), room.getId(), checkIn, checkOut, 2);
+        reservation.setMontoTotal(new BigDecimal("160.00"));
+        return reservationDao.create(reservation);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.gestion_hotel.dao.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongHashMapTest {
+    // Capacidad inicial de new LongHashMap<>(): se duplica al pasar de 16 entradas
+    private static final int CAPACITY = 32;
+
+    @Test
+    void putReplacesAndReturnsPreviousValue() {
+        LongHashMap<String> map = new LongHashMap<>();
+        assertNull(map.put(7L, "a"));
+        assertEquals("a", map.put(7L, "b"));
+        assertEquals("b", map.get(7L));
+        assertEquals(1, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.put(8L, null));
+    }
+
+    @Test
+    void removeShiftsBackCollidingKeysAcrossTheEndOfTheTable() {
+        // Tres claves con la misma posición de origen, la última del array: ocupan 31, 0 y 1
+        List<Long> lastSlot = keysWithSlot(CAPACITY - 1, 3);
+        // Una clave que empieza en 0 y queda desplazada a 2 por el grupo que da la vuelta
+        long homeZero = keysWithSlot(0, 1).get(0);
+
+        LongHashMap<Long> map = new LongHashMap<>();
+        for (long key : lastSlot) {
+            map.put(key, key);
+        }
+        map.put(homeZero, homeZero);
+
+        // Al borrar la cabeza del grupo, las demás deben seguir siendo alcanzables
+        assertEquals(lastSlot.get(0), map.remove(lastSlot.get(0)));
+        assertNull(map.get(lastSlot.get(0)));
+        assertEquals(lastSlot.get(1), map.get(lastSlot.get(1)));
+        assertEquals(lastSlot.get(2), map.get(lastSlot.get(2)));
+        assertEquals(homeZero, map.get(homeZero));
+
+        assertEquals(lastSlot.get(1), map.remove(lastSlot.get(1)));
+        assertEquals(lastSlot.get(2), map.get(lastSlot.get(2)));
+        assertEquals(homeZero, map.get(homeZero));
+        assertEquals(2, map.size());
+
+        assertNull(map.remove(lastSlot.get(1)));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        LongHashMap<Integer> map = new LongHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // Rango de claves pequeño para forzar colisiones, borrados y crecimiento
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            if (i % 10_000 == 0) {
+                assertSameContents(expected, map);
+            }
+        }
+        assertSameContents(expected, map);
+
+        for (Long key : new ArrayList<>(expected.keySet())) {
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0L));
+    }
+
+    private static void assertSameContents(Map<Long, Integer> expected, LongHashMap<Integer> map) {
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    // Misma dispersión que LongHashMap.slot
+    private static List<Long> keysWithSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            if (((int) (h ^ (h >>> 32)) & (CAPACITY - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.gestion_hotel.pricing;
+
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Sin reglas de tarifa, el motor debe dar exactamente precioPorNoche × noches (mismo valor y misma escala)
+class PricingEngineTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final PricingEngine engine = new PricingEngine(RateRules.parse(new Properties()), 18);
+
+    @Test
+    void matchesBigDecimalForRandomPricesAndScales() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(10_000_000), random.nextInt(5));
+            Room room = room((long) (i % 64), price);
+            int nights = random.nextInt(500);
+            assertParity(room, nights);
+        }
+    }
+
+    @Test
+    void keepsNegativeScales() {
+        assertParity(room(1L, new BigDecimal("1E+2")), 3);
+        assertParity(room(2L, new BigDecimal("25E+3")), 7);
+    }
+
+    @Test
+    void zeroNightsKeepsThePriceScale() {
+        BigDecimal quote = engine.quote(room(3L, new BigDecimal("80.50")), TODAY, TODAY);
+        assertEquals(new BigDecimal("0.00"), quote);
+    }
+
+    @Test
+    void fallsBackToBigDecimalWhenLongOverflows() {
+        // Cabe en un long, pero no multiplicado por las noches
+        assertParity(room(4L, new BigDecimal("92233720368547758.07")), 2);
+        assertParity(room(5L, new BigDecimal("922337203685477.58")), 400);
+        // No cabe en un long ni siquiera el precio
+        assertParity(room(6L, new BigDecimal("12345678901234567890.12")), 3);
+    }
+
+    @Test
+    void quoteAllocatesOnlyTheResult() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        Room room = room(8L, new BigDecimal("95.50"));
+        LocalDate checkOut = TODAY.plusDays(5);
+        BigDecimal last = null;
+        for (int i = 0; i < 200_000; i++) {
+            last = engine.quote(room, TODAY, checkOut);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        int calls = 100_000;
+        for (int i = 0; i < calls; i++) {
+            last = engine.quote(room, TODAY, checkOut);
+        }
+        long perCall = (threads.getThreadAllocatedBytes(threadId) - before) / calls;
+        assertEquals(new BigDecimal("477.50"), last);
+        // Un BigDecimal ocupa unos 40 bytes; cualquier array o Money intermedio se pasaría del límite
+        assertTrue(perCall <= 48, "bytes por cotización: " + perCall);
+    }
+
+    @Test
+    void followsPriceChangesOfTheSameRoom() {
+        assertParity(room(7L, new BigDecimal("100.00")), 2);
+        assertParity(room(7L, new BigDecimal("120.5")), 2);
+    }
+
+    @Test
+    void staysBeyondTheHorizonMatchToo() {
+        Room room = room(8L, new BigDecimal("75.25"));
+        LocalDate checkIn = TODAY.plusMonths(17);
+        LocalDate checkOut = TODAY.plusMonths(20);
+        long nights = checkOut.toEpochDay() - checkIn.toEpochDay();
+        assertEquals(room.getPrecioPorNoche().multiply(BigDecimal.valueOf(nights)), engine.quote(room, checkIn, checkOut));
+    }
+
+    @Test
+    void moneyRejectsAmountsThatDoNotFitInALong() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("12345678901234567890.12")));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE, 2).times(2));
+        assertEquals(new BigDecimal("2.50"), Money.ofMinor(150, 2).plus(Money.ofMinor(1, 0)).toBigDecimal());
+    }
+
+    private void assertParity(Room room, int nights) {
+        BigDecimal expected = room.getPrecioPorNoche().multiply(BigDecimal.valueOf(nights));
+        BigDecimal actual = engine.quote(room, TODAY, TODAY.plusDays(nights));
+        // equals compara también la escala
+        assertEquals(expected, actual, () -> room.getPrecioPorNoche() + " x " + nights);
+        assertEquals(expected.scale(), actual.scale());
+    }
+
+    private static Room room(Long id, BigDecimal price) {
+        Room room = new Room("T" + id, TipoHabitacion.DOBLE, price);
+        room.setId(id);
+        return room;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.gestion_hotel.pricing;
+
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateRulesTest {
+
+    @Test
+    void shortestOverlappingSeasonWins() {
+        RateRules rules = RateRules.parse(config(
+                "weekend.days", "",
+                "season.verano", "06-01..09-30:120",
+                "season.agosto", "08-01..08-31:150",
+                "season.navidad", "12-20..01-06:130:SUITE"));
+
+        assertEquals(12_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 6, 10)));
+        assertEquals(15_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 8, 10)));
+        assertEquals(12_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 9, 30)));
+        assertEquals(10_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 10, 1)));
+        // Limitada a un tipo: los demás siguen al 100%
+        assertEquals(13_000, rules.basisPoints(TipoHabitacion.SUITE, LocalDate.of(2031, 12, 25)));
+        assertEquals(10_000, rules.basisPoints(TipoHabitacion.SIMPLE, LocalDate.of(2031, 12, 25)));
+    }
+
+    @Test
+    void seasonWrapsAcrossNewYear() {
+        RateRules rules = RateRules.parse(config(
+                "weekend.days", "",
+                "season.invierno", "12-01..02-28:110",
+                "season.navidad", "12-20..01-06:130"));
+
+        assertEquals(11_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 12, 19)));
+        assertEquals(13_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 12, 20)));
+        assertEquals(13_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 12, 31)));
+        assertEquals(13_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2032, 1, 1)));
+        assertEquals(13_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2032, 1, 6)));
+        assertEquals(11_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2032, 1, 7)));
+        assertEquals(11_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2032, 2, 28)));
+        assertEquals(10_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2032, 3, 1)));
+    }
+
+    @Test
+    void weekendSurchargeMultipliesTheSeason() {
+        RateRules rules = RateRules.parse(config(
+                "weekend.days", "FRIDAY,SATURDAY",
+                "weekend.percent", "110",
+                "weekend.percent.SUITE", "125",
+                "season.verano", "07-01..08-31:120"));
+
+        LocalDate friday = LocalDate.of(2031, 7, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+        LocalDate sunday = friday.plusDays(2);
+        assertEquals(13_200, rules.basisPoints(TipoHabitacion.DOBLE, friday));
+        assertEquals(15_000, rules.basisPoints(TipoHabitacion.SUITE, friday));
+        assertEquals(12_000, rules.basisPoints(TipoHabitacion.SUITE, sunday));
+        // Fuera de temporada solo cuenta el recargo
+        assertEquals(11_000, rules.basisPoints(TipoHabitacion.DOBLE, LocalDate.of(2031, 10, 1)
+                .with(TemporalAdjusters.nextOrSame(DayOfWeek.SATURDAY))));
+    }
+
+    @Test
+    void overlappingOverridesUseTheSmallestNameAndACommonScale() {
+        RateRules rules = RateRules.parse(config(
+                "weekend.days", "",
+                "override.a", "2031-03-10..2031-03-12:SUITE:350",
+                "override.b", "2031-03-12..2031-03-14:SUITE:300.50"));
+
+        assertEquals(2, rules.getOverrideScale());
+        assertEquals(-1, rules.overrideMinorUnits(TipoHabitacion.SUITE, LocalDate.of(2031, 3, 9)));
+        assertEquals(35_000, rules.overrideMinorUnits(TipoHabitacion.SUITE, LocalDate.of(2031, 3, 10)));
+        assertEquals(35_000, rules.overrideMinorUnits(TipoHabitacion.SUITE, LocalDate.of(2031, 3, 12)));
+        assertEquals(30_050, rules.overrideMinorUnits(TipoHabitacion.SUITE, LocalDate.of(2031, 3, 13)));
+        assertEquals(-1, rules.overrideMinorUnits(TipoHabitacion.DOBLE, LocalDate.of(2031, 3, 11)));
+    }
+
+    @Test
+    void quoteCombinesOverridesSeasonsAndRounding() {
+        Properties config = config(
+                "weekend.days", "",
+                "season.tercio", "03-01..03-31:33.33",
+                "override.congreso", "2031-03-10..2031-03-12:SUITE:350.00",
+                "override.feria", "2031-03-13..2031-03-13:SUITE:300.5");
+        PricingEngine engine = new PricingEngine(RateRules.parse(config), 18);
+
+        // Más allá del horizonte se recorre noche a noche: 66.66 + 3 × 350.00 + 300.50
+        Room suite = room(1L, TipoHabitacion.SUITE, new BigDecimal("200.00"));
+        assertEquals(new BigDecimal("1417.16"), engine.quote(suite, LocalDate.of(2031, 3, 9), LocalDate.of(2031, 3, 14)));
+
+        // La noche de salida no se cobra y el redondeo es uno por estancia: 10.00 × 33.33% × 3 = 9.999
+        Room simple = room(2L, TipoHabitacion.SIMPLE, new BigDecimal("10.00"));
+        assertEquals(new BigDecimal("10.00"), engine.quote(simple, LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 4)));
+    }
+
+    @Test
+    void precomputedTableMatchesTheNightByNightWalk() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.plusDays(10);
+        Properties config = config(
+                "weekend.days", "SATURDAY,SUNDAY",
+                "weekend.percent", "115",
+                "season.todo", "01-01..12-31:90:DOBLE",
+                "override.evento", start + ".." + start.plusDays(1) + ":DOBLE:99.99");
+        RateRules rules = RateRules.parse(config);
+        PricingEngine engine = new PricingEngine(rules, 18);
+
+        Room room = room(3L, TipoHabitacion.DOBLE, new BigDecimal("120.00"));
+        for (int offset = 0; offset < 40; offset++) {
+            LocalDate checkIn = today.plusDays(offset);
+            LocalDate checkOut = checkIn.plusDays(1 + offset % 6);
+            assertEquals(walk(rules, room, checkIn, checkOut), engine.quote(room, checkIn, checkOut), checkIn + " - " + checkOut);
+        }
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalStateException.class, () -> RateRules.parse(config("season.mala", "07-01:120")));
+        assertThrows(IllegalStateException.class, () -> RateRules.parse(config("season.mala", "07-01..08-31:-5")));
+        assertThrows(IllegalStateException.class,
+                () -> RateRules.parse(config("override.mala", "2031-03-12..2031-03-10:SUITE:100")));
+        assertThrows(IllegalStateException.class,
+                () -> RateRules.parse(config("override.mala", "2031-03-10..2031-03-12:CABANA:100")));
+    }
+
+    // Misma cuenta que PricingEngine, pero con BigDecimal y noche a noche
+    private static BigDecimal walk(RateRules rules, Room room, LocalDate checkIn, LocalDate checkOut) {
+        long basisPoints = 0;
+        BigDecimal overrides = BigDecimal.ZERO.setScale(rules.getOverrideScale());
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            long override = rules.overrideMinorUnits(room.getTipo(), night);
+            if (override < 0) {
+                basisPoints += rules.basisPoints(room.getTipo(), night);
+            } else {
+                overrides = overrides.add(BigDecimal.valueOf(override, rules.getOverrideScale()));
+            }
+        }
+        BigDecimal base = room.getPrecioPorNoche().multiply(BigDecimal.valueOf(basisPoints))
+                .movePointLeft(RateRules.RATE_SCALE)
+                .setScale(room.getPrecioPorNoche().scale(), java.math.RoundingMode.HALF_UP);
+        return overrides.signum() == 0 ? base : base.add(overrides);
+    }
+
+    private static Properties config(String... keyValues) {
+        Properties config = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            config.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return config;
+    }
+
+    private static Room room(Long id, TipoHabitacion tipo, BigDecimal price) {
+        Room room = new Room("T" + id, tipo, price);
+        room.setId(id);
+        return room;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomCatalog;
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsyncHotelServiceTest {
+
+    @Test
+    void createReservationLooksUpGuestAndRoomOnce() throws Exception {
+        CountingGuestService guestService = new CountingGuestService();
+        CountingRoomService roomService = new CountingRoomService();
+        ReservationService reservationService =
+                new ReservationService(DaoFactory.getInstance().reservationDao(), guestService, roomService);
+
+        Guest guest = guestService.createGuest("Prueba Asíncrona", "asincrona@example.com", "600000006");
+        Room room = roomService.createRoom("ASYNC1", TipoHabitacion.DOBLE, new BigDecimal("70.00"));
+        LocalDate checkIn = LocalDate.now().plusDays(200);
+
+        try (AsyncHotelService async = new AsyncHotelService(guestService, roomService, reservationService)) {
+            Reservation created = async.createReservation(guest.getId(), room.getId(), checkIn, checkIn.plusDays(2), 2)
+                    .get(1, TimeUnit.MINUTES);
+
+            assertEquals(new BigDecimal("140.00"), created.getMontoTotal());
+            assertEquals(1, guestService.guestLookups.get());
+            assertEquals(1, roomService.roomLookups.get());
+        }
+    }
+
+    @Test
+    void indexBackedReadsDoNotTakeADatabasePermit() throws Exception {
+        RoomAvailabilityIndex.getInstance().ensureLoaded();
+        RoomCatalog.getInstance().snapshot();
+        AtomicInteger permitsDuringCall = new AtomicInteger(-1);
+        AsyncHotelService[] holder = new AsyncHotelService[1];
+        RoomService roomService = new RoomService() {
+            @Override
+            public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int numGuests) throws ServiceException {
+                permitsDuringCall.set(holder[0].getAvailableDbPermits());
+                return super.findAvailableRooms(checkIn, checkOut, numGuests);
+            }
+        };
+
+        try (AsyncHotelService async = new AsyncHotelService(new GuestService(), roomService, new ReservationService())) {
+            holder[0] = async;
+            int permits = async.getAvailableDbPermits();
+            LocalDate checkIn = LocalDate.now().plusDays(210);
+            async.findAvailableRooms(checkIn, checkIn.plusDays(1), 2).get(1, TimeUnit.MINUTES);
+
+            assertEquals(permits, permitsDuringCall.get());
+        }
+    }
+
+    private static class CountingGuestService extends GuestService {
+        final AtomicInteger guestLookups = new AtomicInteger();
+
+        @Override
+        public Optional<Guest> findGuestById(Long id) throws ServiceException {
+            guestLookups.incrementAndGet();
+            return super.findGuestById(id);
+        }
+    }
+
+    private static class CountingRoomService extends RoomService {
+        final AtomicInteger roomLookups = new AtomicInteger();
+
+        @Override
+        public Optional<Room> findRoomById(Long id) throws ServiceException {
+            roomLookups.incrementAndGet();
+            return super.findRoomById(id);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.dao.memory.InMemoryDatabase;
+import com.example.gestion_hotel.dao.memory.InMemoryGuestDao;
+import com.example.gestion_hotel.dao.memory.InMemoryReservationDao;
+import com.example.gestion_hotel.dao.memory.InMemoryRoomDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReservationArchiveJobTest {
+    private static final int RETENTION_DAYS = 30;
+
+    private final InMemoryDatabase db = new InMemoryDatabase();
+    private final InMemoryReservationDao reservationDao = new InMemoryReservationDao(db);
+    private final ReservationService reservationService =
+            new ReservationService(reservationDao, new GuestService(), new RoomService());
+
+    @Test
+    void archivesOldFinishedStaysAndReadsBackTheFullHistory() throws Exception {
+        Guest guest = new InMemoryGuestDao(db).create(new Guest("Prueba Archivo", "archivo@example.com", "600000010"));
+        Guest otherGuest = new InMemoryGuestDao(db).create(new Guest("Otro Archivo", "archivo2@example.com", "600000011"));
+        Room room = new InMemoryRoomDao(db).create(new Room("ARC1", TipoHabitacion.DOBLE, new BigDecimal("80.00")));
+        LocalDate today = LocalDate.now();
+
+        // Cuatro archivables del huésped (tres completadas y una cancelada), una de otro huésped y
+        // tres que se quedan: completada reciente, activa pasada sin completar y activa futura
+        List<Reservation> archivable = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            archivable.add(create(guest, room, today.minusDays(90 - 5L * i), EstadoReserva.COMPLETADA, i));
+        }
+        archivable.add(create(guest, room, today.minusDays(70), EstadoReserva.CANCELADA, 3));
+        create(otherGuest, room, today.minusDays(65), EstadoReserva.COMPLETADA, 4);
+        Reservation recent = create(guest, room, today.minusDays(10), EstadoReserva.COMPLETADA, 5);
+        Reservation stale = create(guest, room, today.minusDays(50), EstadoReserva.ACTIVA, 6);
+        Reservation future = create(guest, room, today.plusDays(10), EstadoReserva.ACTIVA, 7);
+
+        // Bloques de 2: 2 + 2 + 1 y el último incompleto termina la ejecución
+        ReservationArchiveJob job = new ReservationArchiveJob(reservationDao, RETENTION_DAYS, 2, 0);
+        ArchiveReport report = job.runOnce();
+        assertEquals(5, report.getRowsArchived());
+        assertEquals(3, report.getChunks());
+        assertEquals(today.minusDays(RETENTION_DAYS), report.getCheckedOutBefore());
+
+        // La tabla vigente solo conserva las que no cumplían la retención o no están terminadas
+        assertEquals(ids(List.of(future, stale, recent)), ids(reservationService.findReservationsByGuest(guest.getId())));
+        for (Reservation reservation : archivable) {
+            assertFalse(reservationDao.findById(reservation.getId()).isPresent());
+        }
+
+        // Con el historial completo vuelven todas, mezcladas en orden de creación descendente
+        List<Reservation> expected = new ArrayList<>(List.of(future, stale, recent));
+        for (int i = archivable.size() - 1; i >= 0; i--) {
+            expected.add(archivable.get(i));
+        }
+        List<Reservation> history = reservationService.findReservationsByGuest(guest.getId(), true);
+        assertEquals(ids(expected), ids(history));
+        assertEquals(EstadoReserva.CANCELADA, history.get(3).getEstado());
+        assertEquals(archivable.get(0).getFechaCheckOut(), history.get(history.size() - 1).getFechaCheckOut());
+
+        assertEquals(0, job.runOnce().getRowsArchived());
+    }
+
+    // La fecha de creación fija el orden esperado del historial
+    private Reservation create(Guest guest, Room room, LocalDate checkIn, EstadoReserva estado,
+                               int order) throws Exception {
+        Reservation reservation = new Reservation(guest.getId(), room.getId(), checkIn, checkIn.plusDays(2), 2);
+        reservation.setMontoTotal(new BigDecimal("160.00"));
+        reservation.setEstado(estado);
+        reservation.setFechaCreacion(LocalDateTime.of(2026, 1, 1, 12, 0).plusHours(order));
+        return reservationDao.create(reservation);
+    }
+
+    private static List<Long> ids(List<Reservation> reservations) {
+        List<Long> ids = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            ids.add(reservation.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomTypeInventory;
+import com.example.gestion_hotel.dao.memory.InMemoryDatabase;
+import com.example.gestion_hotel.dao.memory.InMemoryGuestDao;
+import com.example.gestion_hotel.dao.memory.InMemoryReservationDao;
+import com.example.gestion_hotel.dao.memory.InMemoryRoomDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReservationCompletionJobTest {
+    private static final int CHUNK_SIZE = 3;
+
+    private final InMemoryDatabase db = new InMemoryDatabase();
+    private final InMemoryReservationDao reservationDao = new InMemoryReservationDao(db);
+    private final ReservationCompletionJob job = new ReservationCompletionJob(reservationDao,
+            RoomAvailabilityIndex.getInstance(), RoomTypeInventory.getInstance(), CHUNK_SIZE, 0);
+
+    @Test
+    void completesPastStaysInChunksAndLeavesTheRestAlone() throws Exception {
+        Guest guest = new InMemoryGuestDao(db).create(new Guest("Prueba Completado", "completado@example.com", "600000009"));
+        Room room = new InMemoryRoomDao(db).create(new Room("CMP1", TipoHabitacion.DOBLE, new BigDecimal("80.00")));
+        LocalDate today = LocalDate.now();
+
+        List<Reservation> past = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            past.add(create(guest, room, today.minusDays(40 - 4L * i), today.minusDays(38 - 4L * i), EstadoReserva.ACTIVA));
+        }
+        Reservation leavingToday = create(guest, room, today.minusDays(2), today, EstadoReserva.ACTIVA);
+        Reservation cancelled = create(guest, room, today.minusDays(60), today.minusDays(58), EstadoReserva.CANCELADA);
+        Reservation future = create(guest, room, today.plusDays(5), today.plusDays(7), EstadoReserva.ACTIVA);
+
+        // Bloques de 3, 3 y 1: el último incompleto termina la ejecución
+        CompletionReport report = job.runOnce();
+        assertEquals(7, report.getRowsCompleted());
+        assertEquals(3, report.getChunks());
+        assertEquals(today, report.getCheckedOutBefore());
+
+        for (Reservation reservation : past) {
+            assertEquals(EstadoReserva.COMPLETADA, estado(reservation));
+        }
+        // La salida de hoy todavía ocupa la habitación
+        assertEquals(EstadoReserva.ACTIVA, estado(leavingToday));
+        assertEquals(EstadoReserva.CANCELADA, estado(cancelled));
+        assertEquals(EstadoReserva.ACTIVA, estado(future));
+        assertEquals(2, reservationDao.findActiveReservations().size());
+
+        CompletionReport again = job.runOnce();
+        assertEquals(0, again.getRowsCompleted());
+        assertEquals(1, again.getChunks());
+    }
+
+    @Test
+    void exactMultipleOfTheChunkSizeNeedsOneMoreEmptyChunk() throws Exception {
+        Guest guest = new InMemoryGuestDao(db).create(new Guest("Prueba Completado", "completado2@example.com", "600000009"));
+        Room room = new InMemoryRoomDao(db).create(new Room("CMP2", TipoHabitacion.SIMPLE, new BigDecimal("60.00")));
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 2 * CHUNK_SIZE; i++) {
+            create(guest, room, today.minusDays(30 - 3L * i), today.minusDays(29 - 3L * i), EstadoReserva.ACTIVA);
+        }
+
+        CompletionReport report = job.runOnce();
+        assertEquals(2 * CHUNK_SIZE, report.getRowsCompleted());
+        assertEquals(3, report.getChunks());
+        assertSame(report, job.getLastReport());
+    }
+
+    private Reservation create(Guest guest, Room room, LocalDate checkIn, LocalDate checkOut,
+                               EstadoReserva estado) throws Exception {
+        Reservation reservation = new Reservation(guest.getId(), room.getId(), checkIn, checkOut, 1);
+        reservation.setMontoTotal(new BigDecimal("100.00"));
+        reservation.setEstado(estado);
+        return reservationDao.create(reservation);
+    }
+
+    private EstadoReserva estado(Reservation reservation) throws Exception {
+        return reservationDao.findById(reservation.getId()).get().getEstado();
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.cache.RoomTypeInventory;
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.dao.ReservationDao;
+import com.example.gestion_hotel.entity.EstadoReserva;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Muchos hilos reservando estancias solapadas en pocas habitaciones: nunca debe haber dos reservas ACTIVA solapadas
+class ReservationConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 250;
+    private static final int ROOMS = 3;
+    private static final int DAYS = 120;
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+
+        Guest guest = guestService.createGuest("Prueba Concurrencia", "concurrencia@example.com", "600000001");
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(roomService.createRoom("C" + i, TipoHabitacion.DOBLE, new BigDecimal("90.00")));
+        }
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Room room = rooms.get(random.nextInt(ROOMS));
+                    LocalDate checkIn = firstDay.plusDays(random.nextInt(DAYS));
+                    LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(3));
+                    try {
+                        reservationService.createReservation(guest.getId(), room.getId(), checkIn, checkOut, 2);
+                        booked.incrementAndGet();
+                    } catch (ServiceException e) {
+                        // Solo se admite el rechazo por falta de disponibilidad
+                        if (!e.getMessage().contains("no está disponible")) {
+                            throw e;
+                        }
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        System.out.printf("Reservas concurrentes: %d intentos, %d confirmadas, %d rechazadas, %.0f ops/s%n",
+                attempts, booked.get(), rejected.get(), attempts / (elapsedNanos / 1e9));
+
+        assertTrue(booked.get() > 0, "Ninguna reserva se confirmó");
+        ReservationDao reservationDao = DaoFactory.getInstance().reservationDao();
+        for (Room room : rooms) {
+            List<Reservation> active = new ArrayList<>();
+            for (Reservation r : reservationDao.findByRoomId(room.getId())) {
+                if (r.getEstado() == EstadoReserva.ACTIVA) {
+                    active.add(r);
+                }
+            }
+            active.sort(Comparator.comparing(Reservation::getFechaCheckIn));
+            for (int i = 1; i < active.size(); i++) {
+                Reservation previous = active.get(i - 1);
+                Reservation next = active.get(i);
+                // Los intervalos son cerrados: salir y entrar el mismo día también es un conflicto
+                if (!next.getFechaCheckIn().isAfter(previous.getFechaCheckOut())) {
+                    fail("Reservas solapadas en la habitación " + room.getNumero() + ": " + previous + " y " + next);
+                }
+            }
+            assertFalse(active.isEmpty(), "La habitación " + room.getNumero() + " no tiene reservas");
+        }
+    }
+
+    @Test
+    void cancelRacingUpdateIsNeitherLostNorReappliedToTheIndex() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+        ReservationDao reservationDao = DaoFactory.getInstance().reservationDao();
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+        RoomTypeInventory inventory = RoomTypeInventory.getInstance();
+        index.ensureLoaded();
+        inventory.rebuild();
+
+        Guest guest = guestService.createGuest("Prueba Cancelación", "cancelacion@example.com", "600000004");
+        Room room = roomService.createRoom("CU0", TipoHabitacion.DOBLE, new BigDecimal("90.00"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            LocalDate base = LocalDate.now().plusDays(200);
+            for (int i = 0; i < 150; i++) {
+                LocalDate checkIn = base.plusDays(i * 3L);
+                Reservation reservation = reservationService.createReservation(guest.getId(), room.getId(),
+                        checkIn, checkIn.plusDays(1), 2);
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> update = executor.submit(() -> {
+                    start.await();
+                    try {
+                        reservationService.updateReservation(reservation.getId(), null, null, 1);
+                    } catch (ServiceException e) {
+                        // Si la cancelación llegó antes, la reserva ya no es modificable
+                        if (!e.getMessage().contains("Solo se pueden modificar")) {
+                            throw e;
+                        }
+                    }
+                    return null;
+                });
+                Future<Boolean> cancel = executor.submit(() -> {
+                    start.await();
+                    return reservationService.cancelReservation(reservation.getId());
+                });
+                start.countDown();
+                update.get(1, TimeUnit.MINUTES);
+                assertTrue(cancel.get(1, TimeUnit.MINUTES));
+
+                assertEquals(EstadoReserva.CANCELADA, reservationDao.findById(reservation.getId()).get().getEstado(),
+                        "Cancelación perdida en la iteración " + i);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Ningún hook de una modificación debe volver a añadir una reserva ya cancelada
+        assertEquals(0, index.checkAndRepair());
+        assertFalse(inventory.checkAndRepair().hasDrift());
+    }
+}
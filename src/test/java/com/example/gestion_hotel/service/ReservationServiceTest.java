@@ -0,0 +1,112 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.RoomAvailabilityIndex;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.AppConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationServiceTest {
+
+    @Test
+    void updateIgnoresTheReservationBeingUpdated() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+
+        Guest guest = guestService.createGuest("Prueba Modificación", "modificacion@example.com", "600000007");
+        Room room = roomService.createRoom("MOD1", TipoHabitacion.DOBLE, new BigDecimal("80.00"));
+        LocalDate base = LocalDate.now().plusDays(400);
+        Reservation own = reservationService.createReservation(guest.getId(), room.getId(), base, base.plusDays(3), 2);
+        Reservation other = reservationService.createReservation(guest.getId(), room.getId(),
+                base.plusDays(10), base.plusDays(12), 2);
+
+        // Las nuevas fechas se solapan con las actuales de la misma reserva: no es un conflicto
+        Reservation moved = reservationService.updateReservation(own.getId(), base.plusDays(1), base.plusDays(5), null);
+        assertEquals(base.plusDays(5), moved.getFechaCheckOut());
+
+        // Hasta el día anterior a la entrada de la otra reserva sigue libre
+        reservationService.updateReservation(own.getId(), base.plusDays(1), base.plusDays(9), null);
+
+        // El día de salida también ocupa la habitación
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> reservationService.updateReservation(own.getId(), base.plusDays(1), base.plusDays(10), null));
+        assertTrue(e.getMessage().contains("no está disponible"), e.getMessage());
+        assertThrows(ServiceException.class,
+                () -> reservationService.updateReservation(own.getId(), base.plusDays(11), base.plusDays(14), null));
+
+        // La otra reserva también puede moverse sobre sus propias fechas
+        reservationService.updateReservation(other.getId(), base.plusDays(11), base.plusDays(13), null);
+        assertEquals(base.plusDays(9), reservationService.findReservationById(own.getId()).get().getFechaCheckOut());
+    }
+
+    @Test
+    void failedBulkChunkKeepsEarlierChunksCommitted() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+        RoomAvailabilityIndex index = RoomAvailabilityIndex.getInstance();
+        index.ensureLoaded();
+        int chunkSize = AppConfig.getInt("db.batch.size", 500);
+
+        Guest guest = guestService.createGuest("Prueba Lote Reservas", "lote.reservas@example.com", "600000008");
+        Room room = roomService.createRoom("LOTE-R1", TipoHabitacion.DOBLE, new BigDecimal("80.00"));
+        LocalDate base = LocalDate.now().plusDays(600);
+        reservationService.createReservation(guest.getId(), room.getId(),
+                base.plusDays(3L * chunkSize), base.plusDays(3L * chunkSize + 1), 2);
+
+        // Un bloque completo sin conflictos y un segundo bloque cuya única reserva choca con la existente
+        List<Reservation> batch = new ArrayList<>();
+        for (int i = 0; i <= chunkSize; i++) {
+            LocalDate checkIn = base.plusDays(3L * i);
+            batch.add(new Reservation(guest.getId(), room.getId(), checkIn, checkIn.plusDays(1), 2));
+        }
+
+        ServiceException e = assertThrows(ServiceException.class, () -> reservationService.createReservations(batch));
+        assertTrue(e.getMessage().startsWith("Reserva #" + (chunkSize + 1) + ":"), e.getMessage());
+
+        // El primer bloque quedó confirmado, con IDs en el orden del lote; el segundo no escribió nada
+        Set<Long> stored = new HashSet<>();
+        for (Reservation r : reservationService.findReservationsByGuest(guest.getId())) {
+            stored.add(r.getId());
+        }
+        assertEquals(chunkSize + 1, stored.size());
+        for (int i = 0; i < chunkSize; i++) {
+            assertTrue(stored.contains(batch.get(i).getId()), "reserva #" + (i + 1));
+            if (i > 0) {
+                assertTrue(batch.get(i).getId() > batch.get(i - 1).getId());
+            }
+        }
+        assertNull(batch.get(chunkSize).getId());
+
+        // El índice recibió el bloque confirmado
+        assertFalse(containsRoom(index, base.plusDays(3), base.plusDays(3), room.getId()));
+        assertTrue(containsRoom(index, base.plusDays(2), base.plusDays(2), room.getId()));
+    }
+
+    private static boolean containsRoom(RoomAvailabilityIndex index, LocalDate checkIn, LocalDate checkOut,
+                                        Long roomId) throws Exception {
+        for (Room room : index.findAvailableRooms(checkIn, checkOut, 2)) {
+            if (room.getId().equals(roomId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
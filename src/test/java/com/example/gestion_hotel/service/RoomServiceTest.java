@@ -0,0 +1,100 @@
+package com.example.gestion_hotel.service;
+
+import com.example.gestion_hotel.cache.RoomCatalog;
+import com.example.gestion_hotel.dao.DaoFactory;
+import com.example.gestion_hotel.entity.Guest;
+import com.example.gestion_hotel.entity.Reservation;
+import com.example.gestion_hotel.entity.Room;
+import com.example.gestion_hotel.entity.TipoHabitacion;
+import com.example.gestion_hotel.exception.ServiceException;
+import com.example.gestion_hotel.util.AppConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomServiceTest {
+
+    @Test
+    void failedChunkKeepsEarlierChunksInTheCatalog() throws Exception {
+        RoomService roomService = new RoomService();
+        int chunkSize = AppConfig.getInt("db.batch.size", 500);
+        roomService.createRoom("LOTE-DUP", TipoHabitacion.SIMPLE, new BigDecimal("60.00"));
+
+        // El primer bloque se confirma; el segundo choca con una habitación existente
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < chunkSize; i++) {
+            rooms.add(new Room("LOTE-" + i, TipoHabitacion.SIMPLE, new BigDecimal("60.00")));
+        }
+        Room duplicate = new Room("LOTE-DUP", TipoHabitacion.SIMPLE, new BigDecimal("60.00"));
+        rooms.add(duplicate);
+
+        ServiceException e = assertThrows(ServiceException.class, () -> roomService.createRooms(rooms));
+        assertTrue(e.getMessage().contains("(" + chunkSize + " habitaciones ya creadas)"), e.getMessage());
+
+        RoomCatalog.Snapshot snapshot = RoomCatalog.getInstance().snapshot();
+        for (int i = 0; i < chunkSize; i++) {
+            assertNotNull(snapshot.get(rooms.get(i).getId()), "habitación " + rooms.get(i).getNumero());
+        }
+        assertNull(duplicate.getId());
+    }
+
+    @Test
+    void calendarMarksCheckOutDaysAndWindowEdgesAsBooked() throws Exception {
+        GuestService guestService = new GuestService();
+        RoomService roomService = new RoomService();
+        ReservationService reservationService = new ReservationService();
+
+        Guest guest = guestService.createGuest("Prueba Calendario", "calendario@example.com", "600000012");
+        Room room = roomService.createRoom("CAL1", TipoHabitacion.SUITE, new BigDecimal("150.00"));
+        LocalDate from = LocalDate.now().plusDays(500);
+        int days = 30;
+
+        // Empieza antes de la ventana, una estancia en medio, otra que sigue después y una cancelada
+        reservationService.createReservation(guest.getId(), room.getId(), from.minusDays(3), from.plusDays(1), 2);
+        reservationService.createReservation(guest.getId(), room.getId(), from.plusDays(10), from.plusDays(12), 2);
+        reservationService.createReservation(guest.getId(), room.getId(), from.plusDays(28), from.plusDays(35), 2);
+        Reservation cancelled = reservationService.createReservation(guest.getId(), room.getId(),
+                from.plusDays(20), from.plusDays(22), 2);
+        reservationService.cancelReservation(cancelled.getId());
+
+        AvailabilityCalendar calendar = roomService.getAvailabilityCalendar(from, days);
+        AvailabilityCalendar.RoomCalendar roomCalendar = null;
+        for (AvailabilityCalendar.RoomCalendar candidate : calendar.getRooms()) {
+            if (candidate.getRoomId().equals(room.getId())) {
+                roomCalendar = candidate;
+            }
+        }
+        assertNotNull(roomCalendar);
+        assertTrue(calendar.getType(TipoHabitacion.SUITE).getRooms().contains(roomCalendar));
+
+        int[] booked = {0, 1, 10, 11, 12, 28, 29};
+        assertEquals(booked.length, roomCalendar.getBookedNights());
+        for (int day : booked) {
+            assertFalse(roomCalendar.isFree(day), "día " + day);
+        }
+        assertTrue(roomCalendar.isFree(2));
+        assertTrue(roomCalendar.isFree(9));
+        assertTrue(roomCalendar.isFree(13));
+        assertTrue(roomCalendar.isFree(21));
+
+        // Cada día coincide con la consulta de disponibilidad de una sola noche
+        for (int day = 0; day < days; day++) {
+            LocalDate date = calendar.dateOf(day);
+            boolean available = false;
+            for (Room free : DaoFactory.getInstance().roomDao().findAvailableRooms(date, date, 1)) {
+                available |= free.getId().equals(room.getId());
+            }
+            assertEquals(available, roomCalendar.isFree(day), date.toString());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.gestion_hotel.util;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolTest {
+    private static final String URL = "jdbc:pooltest:";
+
+    private static final CountingDriver DRIVER = new CountingDriver();
+
+    @BeforeAll
+    static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(DRIVER);
+    }
+
+    @AfterAll
+    static void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(DRIVER);
+    }
+
+    @Test
+    void fillMinIdleAndBorrowersNeverOpenMoreThanMaxSize() throws Exception {
+        DRIVER.reset();
+        // Mantenimiento cada milisegundo para que fillMinIdle compita con los préstamos
+        try (ConnectionPool pool = new ConnectionPool(URL, new Properties(), 2, 2,
+                5000, 600000, 30000, 1, 0, 1, 0)) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            try (Connection connection = pool.getConnection()) {
+                                connection.clearWarnings();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertTrue(DRIVER.maxOpen.get() <= 2, "conexiones físicas abiertas a la vez: " + DRIVER.maxOpen.get());
+            assertTrue(pool.getTotalConnections() <= 2);
+        }
+    }
+
+    @Test
+    void failedOpenReleasesTheReservedSlot() throws Exception {
+        DRIVER.reset();
+        try (ConnectionPool pool = new ConnectionPool(URL, new Properties(), 0, 1,
+                1000, 600000, 30000, 1, 0, 60000, 0)) {
+            DRIVER.failNext.set(true);
+            assertThrows(SQLException.class, pool::getConnection);
+            assertEquals(0, pool.getTotalConnections());
+            try (Connection connection = pool.getConnection()) {
+                assertFalse(connection.isClosed());
+                assertEquals(1, pool.getTotalConnections());
+            }
+        }
+    }
+
+    private static final class CountingDriver implements Driver {
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger maxOpen = new AtomicInteger();
+        private final AtomicBoolean failNext = new AtomicBoolean();
+
+        private void reset() {
+            open.set(0);
+            maxOpen.set(0);
+            failNext.set(false);
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            if (failNext.getAndSet(false)) {
+                throw new SQLException("Fallo simulado al conectar");
+            }
+            try {
+                // Apertura lenta, como una conexión de red real
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (closed.compareAndSet(false, true)) {
+                                    open.decrementAndGet();
+                                }
+                                return null;
+                            case "isClosed":
+                                return closed.get();
+                            case "isValid":
+                            case "getAutoCommit":
+                                return true;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "toString":
+                                return "CountingConnection";
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(URL);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getLogger(ConnectionPoolTest.class.getName());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.gestion_hotel.web;
+
+import com.example.gestion_hotel.exception.ServiceException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Una lista que falla a mitad no debe terminar con el chunk final: el cliente tiene que ver la conexión cortada
+class HttpExchangesTest {
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/completa", handler(false));
+        server.createContext("/fallida", handler(true));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void completeListEndsWithTheLastChunk() throws IOException {
+        Response response = get("/completa");
+        assertTrue(response.head.startsWith("HTTP/1.1 200"), response.head);
+        assertEquals("[\"a\",\"b\",\"c\"]", response.body);
+        assertTrue(response.complete);
+    }
+
+    @Test
+    void failedPageDropsTheConnection() throws IOException {
+        Response response = get("/fallida");
+        assertTrue(response.head.startsWith("HTTP/1.1 200"), response.head);
+        assertEquals("[\"a\",\"b\"", response.body);
+        assertFalse(response.complete);
+    }
+
+    private static ApiHandler handler(boolean failOnSecondPage) {
+        return new ApiHandler() {
+            @Override
+            protected void route(HttpExchange exchange, String method, String path) throws IOException, ServiceException {
+                Iterator<List<String>> pages = List.of(List.of("a", "b"), List.of("c")).iterator();
+                HttpExchanges.sendJsonArray(exchange, () -> {
+                    if (!pages.hasNext()) {
+                        return null;
+                    }
+                    List<String> page = pages.next();
+                    if (failOnSecondPage && page.contains("c")) {
+                        throw new ServiceException("Error al leer la página", new SQLException("conexión perdida"));
+                    }
+                    return page.iterator();
+                }, (out, item) -> out.write('"' + item + '"'));
+            }
+        };
+    }
+
+    // Petición con Connection: close; se leen los chunks hasta el último (tamaño 0) o hasta que se corte la conexión
+    private Response get(String path) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", server.getAddress().getPort())) {
+            socket.setSoTimeout(10_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            StringBuilder head = new StringBuilder();
+            for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                head.append(line).append('\n');
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (String size = readLine(in); size != null; size = readLine(in)) {
+                int length = Integer.parseInt(size.trim(), 16);
+                if (length == 0) {
+                    return new Response(head.toString(), body.toString(StandardCharsets.UTF_8), true);
+                }
+                body.write(in.readNBytes(length));
+                readLine(in);
+            }
+            return new Response(head.toString(), body.toString(StandardCharsets.UTF_8), false);
+        }
+    }
+
+    // Devuelve null si la conexión se cerró antes del fin de línea
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                return line.toString();
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return null;
+    }
+
+    private static final class Response {
+        private final String head;
+        private final String body;
+        private final boolean complete;
+
+        private Response(String head, String body, boolean complete) {
+            this.head = head;
+            this.body = body;
+            this.complete = complete;
+        }
+    }
+}